@@ -0,0 +1,88 @@
+package com.meetolio.backend.loadtest;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 負荷試験で作成したユーザー
+ *
+ * ログインは登録済みの全ユーザー、閲覧・更新はポートフォリオ作成済みのユーザーから選ぶ。
+ */
+final class AccountPool {
+
+    /** 登録済みのユーザー */
+    private final Accounts registered = new Accounts();
+
+    /** ポートフォリオ作成済みのユーザー */
+    private final Accounts withPortfolio = new Accounts();
+
+    /** ポートフォリオ未作成のユーザー */
+    private final Queue<Account> withoutPortfolio = new ConcurrentLinkedQueue<>();
+
+    void registered(Account account) {
+        registered.add(account);
+        withoutPortfolio.add(account);
+    }
+
+    void portfolioCreated(Account account) {
+        withPortfolio.add(account);
+    }
+
+    /** ポートフォリオ未作成のユーザーを1人取り出す（いなければnull） */
+    Account pollWithoutPortfolio() {
+        return withoutPortfolio.poll();
+    }
+
+    /** 登録済みのユーザーから一様に選ぶ（いなければnull） */
+    Account randomRegistered() {
+        return registered.random(1);
+    }
+
+    /** ポートフォリオ作成済みのユーザーから選ぶ（skewが大きいほど先に作成されたユーザーに偏る。いなければnull） */
+    Account randomWithPortfolio(double skew) {
+        return withPortfolio.random(skew);
+    }
+
+    int size() {
+        return registered.size.get();
+    }
+
+    int portfolioCount() {
+        return withPortfolio.size.get();
+    }
+
+    /** 追加のみのユーザー一覧（ランダムアクセスのため連番をキーとする） */
+    private static final class Accounts {
+
+        private final Map<Integer, Account> accounts = new ConcurrentHashMap<>();
+
+        private final AtomicInteger size = new AtomicInteger();
+
+        void add(Account account) {
+            accounts.put(size.getAndIncrement(), account);
+        }
+
+        Account random(double skew) {
+            int count = size.get();
+            if (count == 0) {
+                return null;
+            }
+            // 連番の採番から登録までの間は未登録のため、見つかるまで選び直す
+            while (true) {
+                double position = Math.pow(ThreadLocalRandom.current().nextDouble(), skew);
+                Account account = accounts.get((int) (position * count));
+                if (account != null) {
+                    return account;
+                }
+            }
+        }
+    }
+
+    /** ユーザー */
+    record Account(int userId, String email, String token) {
+    }
+}
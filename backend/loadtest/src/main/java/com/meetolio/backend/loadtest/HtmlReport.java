@@ -0,0 +1,199 @@
+package com.meetolio.backend.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.HdrHistogram.Histogram;
+
+import com.meetolio.backend.loadtest.LoadTestReport.EndpointResult;
+import com.meetolio.backend.loadtest.LoadTestReport.PhaseResult;
+
+/**
+ * 負荷試験の結果のHTML出力
+ *
+ * シナリオごとにエンドポイント別の表とレイテンシのパーセンタイル分布（横軸は99%, 99.9%...を等間隔にした対数軸）を出力する。
+ * ベースラインを指定した場合は前回値との差を併記し、分布には前回分を破線で重ねる。
+ */
+final class HtmlReport {
+
+    /** 前回比でこの割合を超えて変化した値を強調する */
+    private static final double HIGHLIGHT_THRESHOLD = 0.10;
+
+    /** 分布の横軸の最大（99.99%） */
+    private static final double MAX_NINES = 4;
+
+    private static final int CHART_WIDTH = 720;
+
+    private static final int CHART_HEIGHT = 280;
+
+    private static final int CHART_MARGIN = 48;
+
+    private static final String[] COLORS = { "#1f77b4", "#d62728", "#2ca02c", "#ff7f0e", "#9467bd", "#8c564b" };
+
+    private HtmlReport() {
+    }
+
+    static void write(Path path, LoadTestReport report, LoadTestReport baseline, String baselineName) throws IOException {
+        StringBuilder html = new StringBuilder(16 * 1024);
+        html.append("""
+                <!DOCTYPE html>
+                <html lang="ja">
+                <head>
+                <meta charset="UTF-8">
+                <title>Meetolio 負荷試験 %s</title>
+                <style>
+                body { font-family: sans-serif; margin: 24px; color: #222; }
+                table { border-collapse: collapse; margin: 8px 0 16px; }
+                th, td { border: 1px solid #ccc; padding: 4px 8px; text-align: right; font-size: 13px; }
+                th:first-child, td:first-child, td.text { text-align: left; }
+                th { background: #f4f4f4; }
+                .prev { color: #777; font-size: 11px; }
+                .worse { color: #c00; font-weight: bold; }
+                .better { color: #080; font-weight: bold; }
+                svg text { font-size: 11px; fill: #444; }
+                </style>
+                </head>
+                <body>
+                <h1>Meetolio 負荷試験</h1>
+                """.formatted(escape(report.startedAt())));
+        html.append("<p>開始: ").append(escape(report.startedAt()))
+                .append("<br>DB: ").append(escape(report.database()))
+                .append("<br>サーバー引数: ").append(escape(String.join(" ", report.serverArgs())));
+        if (baseline != null) {
+            html.append("<br>ベースライン: ").append(escape(baselineName))
+                    .append("（").append(escape(baseline.startedAt())).append("）");
+        }
+        html.append("</p>\n");
+
+        for (PhaseResult phase : report.phases()) {
+            html.append("<h2>").append(escape(phase.scenario())).append("</h2>\n<p>")
+                    .append(phase.targetRate() > 0 ? format("到着レート %.0f req/s", phase.targetRate()) : "クローズドモデル")
+                    .append(format("、同時実行数 %d、計測時間 %.1f 秒", phase.concurrency(), phase.seconds()))
+                    .append("</p>\n");
+            table(html, phase, baseline);
+            chart(html, phase, baseline);
+        }
+        html.append("</body>\n</html>\n");
+        Files.writeString(path, html);
+    }
+
+    private static void table(StringBuilder html, PhaseResult phase, LoadTestReport baseline) {
+        html.append("<table>\n<tr><th>エンドポイント</th><th>リクエスト数</th><th>スループット (req/s)</th><th>エラー率</th>"
+                + "<th>p50 (ms)</th><th>p90 (ms)</th><th>p99 (ms)</th><th>p99.9 (ms)</th><th>最大 (ms)</th><th>ステータス</th></tr>\n");
+        for (EndpointResult result : phase.endpoints()) {
+            EndpointResult previous = baseline != null ? baseline.find(phase.scenario(), result.endpoint()) : null;
+            html.append("<tr><td>").append(escape(result.endpoint())).append("</td>")
+                    .append("<td>").append(result.requests()).append("</td>");
+            cell(html, result.throughput(), previous != null ? previous.throughput() : null, "%.1f", true);
+            cell(html, result.errorRate() * 100, previous != null ? previous.errorRate() * 100 : null, "%.2f%%", false);
+            cell(html, result.latencyMs().p50(), previous != null ? previous.latencyMs().p50() : null, "%.2f", false);
+            cell(html, result.latencyMs().p90(), previous != null ? previous.latencyMs().p90() : null, "%.2f", false);
+            cell(html, result.latencyMs().p99(), previous != null ? previous.latencyMs().p99() : null, "%.2f", false);
+            cell(html, result.latencyMs().p999(), previous != null ? previous.latencyMs().p999() : null, "%.2f", false);
+            cell(html, result.latencyMs().max(), null, "%.2f", false);
+            html.append("<td class=\"text\">");
+            for (Map.Entry<String, Long> status : result.statuses().entrySet()) {
+                html.append(escape(status.getKey())).append(": ").append(status.getValue()).append(" ");
+            }
+            html.append("</td></tr>\n");
+        }
+        html.append("</table>\n");
+    }
+
+    /** 値のセル（前回値がある場合は併記し、閾値を超えて変化した場合は強調する） */
+    private static void cell(StringBuilder html, double value, Double previous, String pattern, boolean higherIsBetter) {
+        String style = "";
+        if (previous != null && previous > 0) {
+            double change = (value - previous) / previous;
+            if (Math.abs(change) > HIGHLIGHT_THRESHOLD) {
+                style = (change > 0) == higherIsBetter ? " class=\"better\"" : " class=\"worse\"";
+            }
+        }
+        html.append("<td").append(style).append(">").append(format(pattern, value));
+        if (previous != null) {
+            html.append("<br><span class=\"prev\">前回 ").append(format(pattern, previous)).append("</span>");
+        }
+        html.append("</td>");
+    }
+
+    /** レイテンシのパーセンタイル分布（SVG） */
+    private static void chart(StringBuilder html, PhaseResult phase, LoadTestReport baseline) {
+        List<Series> series = new ArrayList<>();
+        for (int i = 0; i < phase.endpoints().size(); i++) {
+            EndpointResult result = phase.endpoints().get(i);
+            String color = COLORS[i % COLORS.length];
+            series.add(new Series(result.endpoint(), color, false, result.decodeHistogram()));
+            EndpointResult previous = baseline != null ? baseline.find(phase.scenario(), result.endpoint()) : null;
+            if (previous != null) {
+                series.add(new Series(result.endpoint() + "（前回）", color, true, previous.decodeHistogram()));
+            }
+        }
+        series.removeIf(line -> line.histogram().getTotalCount() == 0);
+        if (series.isEmpty()) {
+            return;
+        }
+
+        // 縦軸の最大は99.99%の値（最大値に合わせると外れ値で全体が潰れるため）
+        double maxMillis = series.stream()
+                .mapToDouble(line -> line.histogram().getValueAtPercentile(99.99) / 1_000.0)
+                .max().orElse(1);
+        double plotWidth = CHART_WIDTH - CHART_MARGIN * 2;
+        double plotHeight = CHART_HEIGHT - CHART_MARGIN * 2;
+
+        html.append(format("<svg width=\"%d\" height=\"%d\" xmlns=\"http://www.w3.org/2000/svg\">\n",
+                CHART_WIDTH, CHART_HEIGHT + series.size() * 16));
+        html.append(format("<rect x=\"%d\" y=\"%d\" width=\"%.0f\" height=\"%.0f\" fill=\"none\" stroke=\"#999\"/>\n",
+                CHART_MARGIN, CHART_MARGIN, plotWidth, plotHeight));
+        String[] labels = { "0%", "90%", "99%", "99.9%", "99.99%" };
+        for (int nines = 0; nines <= MAX_NINES; nines++) {
+            double x = CHART_MARGIN + plotWidth * nines / MAX_NINES;
+            html.append(format("<line x1=\"%.1f\" y1=\"%d\" x2=\"%.1f\" y2=\"%.1f\" stroke=\"#eee\"/>",
+                    x, CHART_MARGIN, x, CHART_MARGIN + plotHeight));
+            html.append(format("<text x=\"%.1f\" y=\"%.1f\" text-anchor=\"middle\">%s</text>\n",
+                    x, CHART_MARGIN + plotHeight + 14, labels[nines]));
+        }
+        for (int tick = 0; tick <= 4; tick++) {
+            double y = CHART_MARGIN + plotHeight - plotHeight * tick / 4;
+            html.append(format("<text x=\"%d\" y=\"%.1f\" text-anchor=\"end\">%.1f ms</text>\n",
+                    CHART_MARGIN - 4, y + 4, maxMillis * tick / 4));
+        }
+
+        for (int i = 0; i < series.size(); i++) {
+            Series line = series.get(i);
+            html.append("<polyline fill=\"none\" stroke=\"").append(line.color()).append("\" stroke-width=\"1.5\"")
+                    .append(line.dashed() ? " stroke-dasharray=\"4 3\"" : "").append(" points=\"");
+            for (int step = 0; step <= 80; step++) {
+                double nines = MAX_NINES * step / 80;
+                double percentile = 100 * (1 - Math.pow(10, -nines));
+                double millis = line.histogram().getValueAtPercentile(percentile) / 1_000.0;
+                double x = CHART_MARGIN + plotWidth * nines / MAX_NINES;
+                double y = CHART_MARGIN + plotHeight - plotHeight * Math.min(millis, maxMillis) / maxMillis;
+                html.append(format("%.1f,%.1f ", x, y));
+            }
+            html.append("\"/>\n");
+            double legendY = CHART_HEIGHT + i * 16;
+            html.append(format("<line x1=\"%d\" y1=\"%.1f\" x2=\"%d\" y2=\"%.1f\" stroke=\"%s\" stroke-width=\"2\"%s/>",
+                    CHART_MARGIN, legendY - 4, CHART_MARGIN + 24, legendY - 4, line.color(),
+                    line.dashed() ? " stroke-dasharray=\"4 3\"" : ""));
+            html.append(format("<text x=\"%d\" y=\"%.1f\">%s</text>\n", CHART_MARGIN + 30, legendY, escape(line.name())));
+        }
+        html.append("</svg>\n");
+    }
+
+    private static String format(String pattern, Object... args) {
+        return String.format(Locale.ROOT, pattern, args);
+    }
+
+    private static String escape(String value) {
+        return value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+
+    /** 分布の1系列 */
+    private record Series(String name, String color, boolean dashed, Histogram histogram) {
+    }
+}
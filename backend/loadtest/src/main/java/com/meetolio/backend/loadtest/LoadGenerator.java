@@ -0,0 +1,64 @@
+package com.meetolio.backend.loadtest;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 負荷の生成
+ *
+ * 到着レートを指定した場合（オープンモデル）は、応答を待たずに一定間隔でリクエストを送る。
+ * 同時実行数が上限に達した場合は空くまで送信が遅れるが、レイテンシは予定した送信時刻から計るため遅れた分も含まれる。
+ * 到着レートが0の場合（クローズドモデル）は、同時実行数の分だけ応答を受けたら次を送る。
+ */
+final class LoadGenerator {
+
+    private LoadGenerator() {
+    }
+
+    /** リクエストを1件送る処理（引数は予定した送信時刻） */
+    @FunctionalInterface
+    interface Task {
+        void run(long scheduledNanos);
+    }
+
+    /** durationの間負荷をかけ、送信中のものが完了するまでの経過時間（ナノ秒）を返す */
+    static long run(Duration duration, int concurrency, double rate, Task task) throws InterruptedException {
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            if (rate > 0) {
+                Semaphore permits = new Semaphore(concurrency);
+                double intervalNanos = 1_000_000_000.0 / rate;
+                for (long i = 0;; i++) {
+                    long scheduled = start + (long) (i * intervalNanos);
+                    if (scheduled >= end) {
+                        break;
+                    }
+                    for (long wait = scheduled - System.nanoTime(); wait > 0; wait = scheduled - System.nanoTime()) {
+                        LockSupport.parkNanos(wait);
+                    }
+                    permits.acquire();
+                    executor.submit(() -> {
+                        try {
+                            task.run(scheduled);
+                        } finally {
+                            permits.release();
+                        }
+                    });
+                }
+            } else {
+                for (int i = 0; i < concurrency; i++) {
+                    executor.submit(() -> {
+                        while (System.nanoTime() < end) {
+                            task.run(System.nanoTime());
+                        }
+                    });
+                }
+            }
+        }
+        return System.nanoTime() - start;
+    }
+}
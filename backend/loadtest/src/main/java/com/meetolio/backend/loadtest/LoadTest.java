@@ -0,0 +1,165 @@
+package com.meetolio.backend.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.meetolio.backend.loadtest.LoadTestReport.EndpointResult;
+import com.meetolio.backend.loadtest.LoadTestReport.PhaseResult;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+/**
+ * バックエンドの負荷試験
+ *
+ * DB（接続先の指定がなければ組み込みPostgreSQL）とバックエンドのjarを起動し、ポートフォリオ付きのユーザーを作成してから、
+ * シナリオを順に実行する。結果は出力先ディレクトリに load-test-日時.json / .html として保存する。
+ * 引数は LoadTestOptions を参照。
+ */
+public class LoadTest {
+
+    /** 結果ファイル名の日時 */
+    private static final DateTimeFormatter FILE_NAME_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    /** ユーザー作成の同時実行数 */
+    private static final int SEED_CONCURRENCY = 16;
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        LocalDateTime startedAt = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        String name = "load-test-" + startedAt.format(FILE_NAME_FORMAT);
+        Files.createDirectories(options.output());
+        LoadTestReport baseline = options.baseline() != null ? LoadTestReport.readJson(options.baseline()) : null;
+
+        EmbeddedPostgres embedded = null;
+        String jdbcUrl = options.jdbcUrl();
+        String username = options.username();
+        if (jdbcUrl == null) {
+            System.out.println("組み込みPostgreSQLを起動します");
+            embedded = EmbeddedPostgres.builder().start();
+            jdbcUrl = embedded.getJdbcUrl("postgres", "postgres");
+            username = "postgres";
+        }
+
+        List<PhaseResult> phases = new ArrayList<>();
+        try {
+            Path serverLog = options.output().resolve(name + "-server.log");
+            Process server = startServer(options, jdbcUrl, username, serverLog);
+            try {
+                String baseUrl = "http://localhost:" + options.port();
+                waitUntilHealthy("http://localhost:" + managementPort(options), server, Duration.ofSeconds(120),
+                        serverLog);
+
+                AccountPool accounts = new AccountPool();
+                Workload workload = new Workload(baseUrl, accounts, options.mix(), options.readSkew());
+                System.out.printf("ポートフォリオ付きのユーザーを%d人作成します%n", options.seedUsers());
+                workload.seed(options.seedUsers(), SEED_CONCURRENCY);
+                System.out.printf("作成済み: ユーザー %d人、ポートフォリオ %d件%n", accounts.size(), accounts.portfolioCount());
+
+                if (!options.warmup().isZero()) {
+                    System.out.printf("ウォームアップ（%d秒、mixed）%n", options.warmup().toSeconds());
+                    Recording ignored = new Recording(false);
+                    LoadGenerator.run(options.warmup(), options.concurrency().get(Scenario.MIXED),
+                            options.rate().get(Scenario.MIXED),
+                            scheduled -> workload.execute(Scenario.MIXED, scheduled, ignored));
+                }
+
+                for (Scenario scenario : options.scenarios()) {
+                    int concurrency = options.concurrency().get(scenario);
+                    double rate = options.rate().get(scenario);
+                    Recording recording = new Recording(true);
+                    long elapsedNanos = LoadGenerator.run(options.duration(), concurrency, rate,
+                            scheduled -> workload.execute(scenario, scheduled, recording));
+                    PhaseResult phase = PhaseResult.of(scenario, elapsedNanos, rate, concurrency, recording);
+                    phases.add(phase);
+                    print(phase);
+                }
+            } finally {
+                server.destroy();
+                server.waitFor();
+            }
+        } finally {
+            if (embedded != null) {
+                embedded.close();
+            }
+        }
+
+        LoadTestReport report = new LoadTestReport(startedAt.toString(), embedded != null ? "embedded" : jdbcUrl,
+                options.serverArgs(), phases);
+        Path json = options.output().resolve(name + ".json");
+        Path html = options.output().resolve(name + ".html");
+        report.writeJson(json);
+        HtmlReport.write(html, report, baseline,
+                options.baseline() != null ? options.baseline().getFileName().toString() : null);
+        System.out.println("結果: " + json);
+        System.out.println("      " + html);
+    }
+
+    /** バックエンドの起動（ログはserverLogへ出力） */
+    private static Process startServer(LoadTestOptions options, String jdbcUrl, String username, Path serverLog)
+            throws IOException {
+        List<String> command = new ArrayList<>(List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-jar", options.jar().toString(),
+                "--server.port=" + options.port(),
+                "--management.server.port=" + managementPort(options),
+                "--spring.datasource.url=" + jdbcUrl,
+                "--spring.datasource.username=" + username,
+                "--spring.datasource.password=" + options.password(),
+                "--spring.devtools.restart.enabled=false",
+                // 同じ送信元から登録・ログインを繰り返すため、レート制限は無効にする
+                "--meetolio.rate-limit.enabled=false"));
+        command.addAll(options.serverArgs());
+        return new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(serverLog.toFile())
+                .start();
+    }
+
+    /** actuatorのポート（サーバーのポートの次） */
+    private static int managementPort(LoadTestOptions options) {
+        return options.port() + 1;
+    }
+
+    private static void waitUntilHealthy(String managementUrl, Process server, Duration timeout, Path serverLog)
+            throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!server.isAlive()) {
+                throw new IllegalStateException("サーバーが終了しました（ログ: " + serverLog + "）");
+            }
+            try {
+                HttpResponse<Void> response = client.send(
+                        HttpRequest.newBuilder(URI.create(managementUrl + "/actuator/health")).build(),
+                        HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // 起動待ち
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException("サーバーが起動しませんでした（ログ: " + serverLog + "）");
+    }
+
+    private static void print(PhaseResult phase) {
+        for (EndpointResult result : phase.endpoints()) {
+            System.out.printf("%-9s %-28s %8d req %8.1f req/s  p50 %8.2f ms  p99 %8.2f ms  p99.9 %8.2f ms  errors %.2f%%%n",
+                    phase.scenario(), result.endpoint(), result.requests(), result.throughput(),
+                    result.latencyMs().p50(), result.latencyMs().p99(), result.latencyMs().p999(),
+                    result.errorRate() * 100);
+        }
+    }
+}
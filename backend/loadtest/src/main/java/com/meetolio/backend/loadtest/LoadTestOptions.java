@@ -0,0 +1,101 @@
+package com.meetolio.backend.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 負荷試験のオプション
+ *
+ * 引数は --名前=値 の形式で、-- 以降はサーバー起動時の追加引数とする。
+ * 同時実行数・到着レートは --concurrency.signup=8 のようにシナリオ別に上書きできる。
+ */
+record LoadTestOptions(
+        Path jar, // バックエンドのjar
+        Path output, // 結果の出力先ディレクトリ
+        String jdbcUrl, // DB接続先（nullは組み込みPostgreSQLを起動）
+        String username, // DBユーザー名
+        String password, // DBパスワード
+        int port, // サーバーのポート
+        Duration warmup, // 計測前のウォームアップ時間（混合シナリオ、結果には含めない）
+        Duration duration, // シナリオごとの計測時間
+        List<Scenario> scenarios, // 実行するシナリオ（指定順に実行）
+        Map<Scenario, Integer> concurrency, // シナリオごとの同時実行数の上限
+        Map<Scenario, Double> rate, // シナリオごとの到着レート（リクエスト/秒、0はクローズドモデル）
+        Map<Scenario, Integer> mix, // 混合シナリオの操作の比率
+        int seedUsers, // 計測前に作成するポートフォリオ付きユーザー数
+        double readSkew, // 閲覧の偏り（1は一様、大きいほど一部のポートフォリオに集中する）
+        Path baseline, // 比較対象の前回の結果JSON（nullは比較しない）
+        List<String> serverArgs // サーバー起動時の追加引数
+) {
+
+    /** 混合シナリオの既定の比率（イベント当日は閲覧が大半を占める想定） */
+    private static final String DEFAULT_MIX = "signup:5,login:10,portfolio:15,read:70";
+
+    static LoadTestOptions parse(String[] args) {
+        int separator = Arrays.asList(args).indexOf("--");
+        List<String> serverArgs = separator >= 0 ? List.of(args).subList(separator + 1, args.length) : List.of();
+        Map<String, String> options = new HashMap<>();
+        for (String arg : separator >= 0 ? Arrays.copyOf(args, separator) : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("引数は --名前=値 の形式で指定してください: " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+
+        int defaultConcurrency = Integer.parseInt(options.getOrDefault("concurrency", "64"));
+        double defaultRate = Double.parseDouble(options.getOrDefault("rate", "200"));
+        Map<Scenario, Integer> concurrency = new EnumMap<>(Scenario.class);
+        Map<Scenario, Double> rate = new EnumMap<>(Scenario.class);
+        for (Scenario scenario : Scenario.values()) {
+            String concurrencyValue = options.get("concurrency." + scenario.label());
+            String rateValue = options.get("rate." + scenario.label());
+            concurrency.put(scenario, concurrencyValue != null ? Integer.parseInt(concurrencyValue) : defaultConcurrency);
+            rate.put(scenario, rateValue != null ? Double.parseDouble(rateValue) : defaultRate);
+        }
+
+        Map<Scenario, Integer> mix = new LinkedHashMap<>();
+        for (String entry : options.getOrDefault("mix", DEFAULT_MIX).split(",")) {
+            String[] weight = entry.split(":");
+            Scenario scenario = Scenario.of(weight[0].strip());
+            if (scenario == Scenario.MIXED) {
+                throw new IllegalArgumentException("混合シナリオの比率にmixedは指定できません");
+            }
+            mix.put(scenario, Integer.parseInt(weight[1].strip()));
+        }
+
+        String jdbcUrl = options.get("jdbc-url");
+        String baseline = options.get("baseline");
+        return new LoadTestOptions(
+                Path.of(required(options, "jar")),
+                Path.of(options.getOrDefault("output", "build/results/load-test")),
+                jdbcUrl == null || jdbcUrl.isBlank() ? null : jdbcUrl,
+                options.getOrDefault("username", "postgres"),
+                options.getOrDefault("password", "postgres"),
+                Integer.parseInt(options.getOrDefault("port", "18082")),
+                Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10"))),
+                Duration.ofSeconds(Long.parseLong(options.getOrDefault("seconds", "30"))),
+                Arrays.stream(options.getOrDefault("scenarios", "signup,login,portfolio,read,mixed").split(","))
+                        .map(String::strip).map(Scenario::of).toList(),
+                concurrency,
+                rate,
+                mix,
+                Integer.parseInt(options.getOrDefault("seed-users", "200")),
+                Double.parseDouble(options.getOrDefault("read-skew", "3")),
+                baseline == null || baseline.isBlank() ? null : Path.of(baseline),
+                serverArgs);
+    }
+
+    private static String required(Map<String, String> options, String name) {
+        String value = options.get(name);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("--" + name + " を指定してください");
+        }
+        return value;
+    }
+}
@@ -0,0 +1,116 @@
+package com.meetolio.backend.loadtest;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+
+import org.HdrHistogram.Histogram;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * 負荷試験の結果（JSONとして保存し、次回の実行でベースラインとして読み込む）
+ *
+ * レイテンシのヒストグラムは圧縮してBase64で保持するため、保存した結果から任意のパーセンタイルを再計算できる。
+ */
+record LoadTestReport(
+        String startedAt, // 開始日時
+        String database, // DB接続先（embeddedは組み込みPostgreSQL）
+        List<String> serverArgs, // サーバー起動時の追加引数
+        List<PhaseResult> phases // シナリオごとの結果
+) {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    void writeJson(Path path) throws IOException {
+        OBJECT_MAPPER.writeValue(path.toFile(), this);
+    }
+
+    static LoadTestReport readJson(Path path) throws IOException {
+        return OBJECT_MAPPER.readValue(path.toFile(), LoadTestReport.class);
+    }
+
+    /** 同じシナリオ・エンドポイントの結果（なければnull） */
+    EndpointResult find(String scenario, String endpoint) {
+        return phases.stream()
+                .filter(phase -> phase.scenario().equals(scenario))
+                .flatMap(phase -> phase.endpoints().stream())
+                .filter(result -> result.endpoint().equals(endpoint))
+                .findFirst()
+                .orElse(null);
+    }
+
+    /** シナリオの結果 */
+    record PhaseResult(
+            String scenario, // シナリオ名
+            double seconds, // 実際の計測時間（送信中のものの完了待ちを含む）
+            double targetRate, // 到着レート（0はクローズドモデル）
+            int concurrency, // 同時実行数の上限
+            List<EndpointResult> endpoints // エンドポイント別の結果
+    ) {
+
+        static PhaseResult of(Scenario scenario, long elapsedNanos, double rate, int concurrency, Recording recording) {
+            double seconds = elapsedNanos / 1_000_000_000.0;
+            List<EndpointResult> endpoints = new ArrayList<>();
+            recording.endpoints().forEach((endpoint, recorded) -> endpoints.add(EndpointResult.of(endpoint, seconds,
+                    recorded.latency(), recorded.errors(), recorded.statuses())));
+            return new PhaseResult(scenario.label(), seconds, rate, concurrency, endpoints);
+        }
+    }
+
+    /** エンドポイントの結果 */
+    record EndpointResult(
+            String endpoint, // 「メソッド パス」
+            long requests, // リクエスト数
+            double throughput, // スループット（リクエスト/秒）
+            long errors, // エラー件数（4xx・5xx・通信エラー）
+            double errorRate, // エラー率
+            Map<String, Long> statuses, // ステータスコード（通信エラーは例外名）別の件数
+            Latency latencyMs, // レイテンシ（ミリ秒）
+            String histogram // レイテンシ（マイクロ秒）のヒストグラム（HdrHistogramの圧縮形式をBase64化したもの）
+    ) {
+
+        static EndpointResult of(String endpoint, double seconds, Histogram latency, long errors,
+                Map<String, Long> statuses) {
+            long requests = latency.getTotalCount();
+            return new EndpointResult(endpoint, requests, requests / seconds, errors,
+                    requests > 0 ? errors / (double) requests : 0, statuses, Latency.of(latency), encode(latency));
+        }
+
+        /** 保存したヒストグラムの復元 */
+        Histogram decodeHistogram() {
+            try {
+                return Histogram.decodeFromCompressedByteBuffer(ByteBuffer.wrap(Base64.getDecoder().decode(histogram)), 0);
+            } catch (DataFormatException e) {
+                throw new IllegalStateException("ヒストグラムの復元に失敗しました: " + endpoint, e);
+            }
+        }
+
+        private static String encode(Histogram histogram) {
+            ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+            int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+            return Base64.getEncoder().encodeToString(Arrays.copyOf(buffer.array(), length));
+        }
+    }
+
+    /** レイテンシの要約（ミリ秒） */
+    record Latency(double mean, double p50, double p90, double p99, double p999, double max) {
+
+        static Latency of(Histogram histogram) {
+            return new Latency(
+                    histogram.getMean() / 1_000,
+                    histogram.getValueAtPercentile(50) / 1_000.0,
+                    histogram.getValueAtPercentile(90) / 1_000.0,
+                    histogram.getValueAtPercentile(99) / 1_000.0,
+                    histogram.getValueAtPercentile(99.9) / 1_000.0,
+                    histogram.getMaxValue() / 1_000.0);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.meetolio.backend.loadtest;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * 1シナリオ分のエンドポイント別の計測結果
+ *
+ * レイテンシは予定した送信時刻からの経過時間（マイクロ秒）で記録するため、
+ * サーバーの処理待ちで送信が遅れた分も含まれる（coordinated omissionの補正）。
+ */
+final class Recording {
+
+    /** 記録するレイテンシの有効桁数 */
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    /** エンドポイント別の計測結果（キーは「メソッド パス」） */
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    /** 記録するかどうか（ウォームアップ中はfalse） */
+    private final boolean enabled;
+
+    Recording(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /** 応答の記録（statusは通信エラーの場合は例外のクラス名） */
+    void record(String endpoint, long latencyNanos, String status, boolean error) {
+        if (!enabled) {
+            return;
+        }
+        Endpoint recorded = endpoints.computeIfAbsent(endpoint, key -> new Endpoint());
+        recorded.latency.recordValue(Math.max(1, latencyNanos / 1_000));
+        recorded.statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+        if (error) {
+            recorded.errors.increment();
+        }
+    }
+
+    /** エンドポイント名順の計測結果 */
+    Map<String, Endpoint> endpoints() {
+        return new TreeMap<>(endpoints);
+    }
+
+    /** エンドポイントの計測結果 */
+    static final class Endpoint {
+
+        /** レイテンシ（マイクロ秒、範囲は自動で拡張する） */
+        private final Histogram latency = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+
+        /** ステータスコード別の件数 */
+        private final Map<String, LongAdder> statuses = new ConcurrentHashMap<>();
+
+        /** エラー件数（4xx・5xx・通信エラー） */
+        private final LongAdder errors = new LongAdder();
+
+        Histogram latency() {
+            return latency;
+        }
+
+        long errors() {
+            return errors.sum();
+        }
+
+        Map<String, Long> statuses() {
+            Map<String, Long> counts = new TreeMap<>();
+            statuses.forEach((status, count) -> counts.put(status, count.sum()));
+            return counts;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.meetolio.backend.loadtest;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/** 負荷試験のシナリオ */
+enum Scenario {
+
+    /** ユーザー登録の集中（受付開始直後など） */
+    SIGNUP("signup"),
+
+    /** ログインの集中 */
+    LOGIN("login"),
+
+    /** ポートフォリオの作成・更新（未作成のユーザーは作成、作成済みは更新） */
+    PORTFOLIO("portfolio"),
+
+    /** 公開ポートフォリオの閲覧（GET /api/portfolio/{userId}） */
+    READ("read"),
+
+    /** 上記の混合（比率は --mix で指定） */
+    MIXED("mixed");
+
+    /** 引数・結果での名前 */
+    private final String label;
+
+    Scenario(String label) {
+        this.label = label;
+    }
+
+    String label() {
+        return label;
+    }
+
+    static Scenario of(String label) {
+        return Arrays.stream(values())
+                .filter(scenario -> scenario.label.equals(label))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("シナリオは"
+                        + Arrays.stream(values()).map(Scenario::label).collect(Collectors.joining(", "))
+                        + "のいずれかを指定してください: " + label));
+    }
+}
@@ -0,0 +1,255 @@
+package com.meetolio.backend.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meetolio.backend.loadtest.AccountPool.Account;
+
+/**
+ * シナリオごとのリクエスト
+ *
+ * 1回の呼び出しで1リクエストを送り、結果をRecordingに記録する。
+ * 作成したユーザーはAccountPoolに追加し、以降のログイン・ポートフォリオ作成・閲覧の対象とする。
+ */
+final class Workload {
+
+    private static final String SIGNUP = "POST /api/auth/signup";
+
+    private static final String LOGIN = "POST /api/auth/login";
+
+    private static final String CREATE_PORTFOLIO = "POST /api/portfolio";
+
+    private static final String UPDATE_PORTFOLIO = "PUT /api/portfolio/{userId}";
+
+    private static final String GET_PORTFOLIO = "GET /api/portfolio/{userId}";
+
+    /** 負荷試験ユーザーのパスワード */
+    private static final String PASSWORD = "load-test-password";
+
+    /** 1リクエストのタイムアウト */
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    /** 自己紹介の例（実際の入力に近い長さにする） */
+    private static final String DESCRIPTION = "はじめまして。Webアプリケーションの開発をしています。"
+            + "普段はSpring BootとReactを使ったサービス開発を担当しており、最近はパフォーマンス改善に取り組んでいます。"
+            + "勉強会やハッカソンにもよく参加しているので、見かけたら気軽に声をかけてください。";
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final String baseUrl;
+
+    private final AccountPool accounts;
+
+    private final Map<Scenario, Integer> mix;
+
+    private final int totalWeight;
+
+    private final double readSkew;
+
+    /** メールアドレスの重複を避けるための実行ごとの識別子（既存のDBに対して繰り返し実行できるように） */
+    private final String runId = UUID.randomUUID().toString().substring(0, 8);
+
+    /** メールアドレスの連番 */
+    private final AtomicLong sequence = new AtomicLong();
+
+    Workload(String baseUrl, AccountPool accounts, Map<Scenario, Integer> mix, double readSkew) {
+        this.baseUrl = baseUrl;
+        this.accounts = accounts;
+        this.mix = mix;
+        this.totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+        this.readSkew = readSkew;
+    }
+
+    /** シナリオのリクエストを1件送る（scheduledNanosは予定した送信時刻） */
+    void execute(Scenario scenario, long scheduledNanos, Recording recording) {
+        switch (scenario) {
+            case SIGNUP -> signup(scheduledNanos, recording);
+            case LOGIN -> login(scheduledNanos, recording);
+            case PORTFOLIO -> savePortfolio(scheduledNanos, recording);
+            case READ -> readPortfolio(scheduledNanos, recording);
+            case MIXED -> execute(pick(), scheduledNanos, recording);
+        }
+    }
+
+    /** ポートフォリオ付きのユーザーを作成（計測対象外。同時実行数concurrencyで送る） */
+    void seed(int users, int concurrency) throws InterruptedException {
+        Recording ignored = new Recording(false);
+        Semaphore permits = new Semaphore(concurrency);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < users; i++) {
+                permits.acquire();
+                executor.submit(() -> {
+                    try {
+                        signup(System.nanoTime(), ignored);
+                        savePortfolio(System.nanoTime(), ignored);
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        }
+    }
+
+    /** 新規登録 */
+    private void signup(long scheduledNanos, Recording recording) {
+        String email = "load-" + runId + "-" + sequence.incrementAndGet() + "@example.com";
+        HttpResponse<String> response = send(SIGNUP, post("/api/auth/signup", credentials(email), null),
+                scheduledNanos, recording);
+        if (response != null && response.statusCode() == 201) {
+            String token = readTree(response.body()).path("accessToken").asText();
+            accounts.registered(new Account(userId(token), email, token));
+        }
+    }
+
+    /** ログイン（ユーザーがいなければ新規登録） */
+    private void login(long scheduledNanos, Recording recording) {
+        Account account = accounts.randomRegistered();
+        if (account == null) {
+            signup(scheduledNanos, recording);
+            return;
+        }
+        send(LOGIN, post("/api/auth/login", credentials(account.email()), null), scheduledNanos, recording);
+    }
+
+    /** ポートフォリオ作成（未作成のユーザーがいなければ作成済みのものを更新） */
+    private void savePortfolio(long scheduledNanos, Recording recording) {
+        Account created = accounts.pollWithoutPortfolio();
+        if (created != null) {
+            Map<String, Object> body = portfolio(created);
+            body.put("userId", created.userId());
+            HttpResponse<String> response = send(CREATE_PORTFOLIO, post("/api/portfolio", json(body), created.token()),
+                    scheduledNanos, recording);
+            if (response != null && response.statusCode() == 201) {
+                accounts.portfolioCreated(created);
+            }
+            return;
+        }
+
+        Account account = accounts.randomWithPortfolio(1);
+        if (account == null) {
+            signup(scheduledNanos, recording);
+            return;
+        }
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/portfolio/" + account.userId()))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .header("Authorization", "Bearer " + account.token())
+                .PUT(HttpRequest.BodyPublishers.ofString(json(portfolio(account))))
+                .build();
+        send(UPDATE_PORTFOLIO, request, scheduledNanos, recording);
+    }
+
+    /** 公開ポートフォリオの閲覧（未ログイン、条件付きリクエストなしの初回閲覧） */
+    private void readPortfolio(long scheduledNanos, Recording recording) {
+        Account account = accounts.randomWithPortfolio(readSkew);
+        if (account == null) {
+            savePortfolio(scheduledNanos, recording);
+            return;
+        }
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/portfolio/" + account.userId()))
+                .timeout(REQUEST_TIMEOUT)
+                .GET()
+                .build();
+        send(GET_PORTFOLIO, request, scheduledNanos, recording);
+    }
+
+    /** 送信して記録（通信エラーの場合はnull） */
+    private HttpResponse<String> send(String endpoint, HttpRequest request, long scheduledNanos, Recording recording) {
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            int status = response.statusCode();
+            recording.record(endpoint, System.nanoTime() - scheduledNanos, Integer.toString(status), status >= 400);
+            return response;
+        } catch (IOException e) {
+            recording.record(endpoint, System.nanoTime() - scheduledNanos, e.getClass().getSimpleName(), true);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    /** 混合シナリオの比率に従って選ぶ */
+    private Scenario pick() {
+        int value = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Map.Entry<Scenario, Integer> weight : mix.entrySet()) {
+            value -= weight.getValue();
+            if (value < 0) {
+                return weight.getKey();
+            }
+        }
+        throw new IllegalStateException("混合シナリオの比率が不正です: " + mix);
+    }
+
+    private HttpRequest post(String path, String body, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+
+    private String credentials(String email) {
+        return json(Map.of("email", email, "password", PASSWORD));
+    }
+
+    /** ポートフォリオの入力例 */
+    private static Map<String, Object> portfolio(Account account) {
+        Map<String, Object> portfolio = new LinkedHashMap<>();
+        portfolio.put("name", "負荷 太郎" + account.userId());
+        portfolio.put("nameKana", "フカ タロウ");
+        portfolio.put("company", "Meetolio株式会社");
+        portfolio.put("occupation", "ソフトウェアエンジニア");
+        portfolio.put("description", DESCRIPTION + " (" + ThreadLocalRandom.current().nextInt(1000) + ")");
+        portfolio.put("email", account.email());
+        portfolio.put("github", "https://github.com/load-" + account.userId());
+        portfolio.put("website", "https://example.com/" + account.userId());
+        return portfolio;
+    }
+
+    /** アクセストークン（JWT）のsubからユーザーIDを取り出す */
+    private int userId(String token) {
+        byte[] payload = Base64.getUrlDecoder().decode(token.split("\\.")[1]);
+        return readTree(new String(payload, StandardCharsets.UTF_8)).path("sub").asInt();
+    }
+
+    private String json(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private JsonNode readTree(String json) {
+        try {
+            return objectMapper.readTree(json);
+        } catch (IOException e) {
+            throw new IllegalStateException("JSONの解析に失敗しました: " + json, e);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.meetolio.backend.bench;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 起動モード別の起動時間・メモリ使用量の比較
+ *
+ * 展開済みのバックエンド（./gradlew extractBootJar）を各モードで順に起動し、
+ * プロセス起動から GET /api/portfolio/{userId} が初めて200を返すまでの時間と、その時点のRSSを計測する。
+ * 引数: 展開先ディレクトリ 結果JSONパス 起動回数 userId [サーバー起動時の追加引数...]
+ */
+public class StartupComparison {
+
+    private static final int PORT = 18081;
+
+    private static final String BASE_URL = "http://localhost:" + PORT;
+
+    /** モードごとのJVM引数・アプリケーション引数 */
+    private static final Map<String, Mode> MODES = new LinkedHashMap<>();
+
+    static {
+        MODES.put("default", new Mode(List.of(), List.of()));
+        MODES.put("aot", new Mode(List.of("-Dspring.aot.enabled=true"), List.of()));
+        MODES.put("fast", new Mode(
+                List.of("-Dspring.aot.enabled=true", "-XX:SharedArchiveFile=application.jsa"),
+                List.of("--spring.profiles.active=fast")));
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path appDirectory = Path.of(args[0]);
+        Path output = Path.of(args[1]);
+        int runs = Integer.parseInt(args[2]);
+        String userId = args[3];
+        List<String> serverArgs = Arrays.asList(args).subList(4, args.length);
+
+        if (!Files.exists(appDirectory.resolve("application.jsa"))) {
+            throw new IllegalStateException("CDSアーカイブがありません（./gradlew cdsArchive で作成してください）");
+        }
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(BASE_URL + "/api/portfolio/" + userId)).GET().build();
+
+        StringBuilder json = new StringBuilder("{\n");
+        for (Map.Entry<String, Mode> mode : MODES.entrySet()) {
+            long[] startupNanos = new long[runs];
+            long[] rssKilobytes = new long[runs];
+            for (int run = 0; run < runs; run++) {
+                long start = System.nanoTime();
+                Process server = startServer(appDirectory, mode.getValue(), serverArgs);
+                try {
+                    waitUntilOk(client, request, server, Duration.ofSeconds(120));
+                    startupNanos[run] = System.nanoTime() - start;
+                    rssKilobytes[run] = rssKilobytes(server.pid());
+                } finally {
+                    server.destroy();
+                    server.waitFor();
+                }
+            }
+
+            double startupMillis = median(startupNanos) / 1_000_000.0;
+            double rssMegabytes = median(rssKilobytes) / 1024.0;
+            System.out.printf("%-8s first request %8.0f ms  RSS %6.1f MB  (median of %d)%n",
+                    mode.getKey(), startupMillis, rssMegabytes, runs);
+            json.append(String.format("  \"%s\": {\"firstRequestMs\": %.0f, \"rssMb\": %.1f, \"runs\": %d},%n",
+                    mode.getKey(), startupMillis, rssMegabytes, runs));
+        }
+        json.setLength(json.length() - 2);
+        json.append("\n}\n");
+        Files.createDirectories(output.getParent());
+        Files.writeString(output, json);
+    }
+
+    /** 指定モードでサーバーを起動（CDSアーカイブは展開先ディレクトリからの相対パスで指定するため、そこで起動する） */
+    private static Process startServer(Path appDirectory, Mode mode, List<String> serverArgs) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(mode.jvmArgs());
+        command.addAll(List.of("-jar", "backend-0.0.1-SNAPSHOT.jar",
+                "--server.port=" + PORT,
+                "--spring.devtools.restart.enabled=false",
+                "--meetolio.rate-limit.enabled=false"));
+        command.addAll(mode.args());
+        command.addAll(serverArgs);
+        return new ProcessBuilder(command)
+                .directory(appDirectory.toFile())
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.DISCARD)
+                .start();
+    }
+
+    private static void waitUntilOk(HttpClient client, HttpRequest request, Process server, Duration timeout)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!server.isAlive()) {
+                throw new IllegalStateException("サーバーが終了しました: exitCode=" + server.exitValue());
+            }
+            try {
+                if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // 起動待ち
+            }
+            Thread.sleep(20);
+        }
+        throw new IllegalStateException("サーバーが起動しませんでした");
+    }
+
+    /** プロセスの常駐メモリ（/proc/{pid}/status のVmRSS。Linux以外は0） */
+    private static long rssKilobytes(long pid) throws IOException {
+        Path status = Path.of("/proc", Long.toString(pid), "status");
+        if (!Files.exists(status)) {
+            return 0;
+        }
+        for (String line : Files.readAllLines(status)) {
+            if (line.startsWith("VmRSS:")) {
+                return Long.parseLong(line.replaceAll("\\D", ""));
+            }
+        }
+        return 0;
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    private record Mode(List<String> jvmArgs, List<String> args) {
+    }
+}
@@ -0,0 +1,201 @@
+package com.meetolio.backend.bench;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * プラットフォームスレッドと仮想スレッドのスループット・p99比較
+ *
+ * バックエンドのjarを各モードで順に起動し、GET /api/portfolio/{userId} とログインに負荷をかける。
+ * 引数: jarパス 結果JSONパス 同時実行数 計測秒数 [サーバー起動時の追加引数...]
+ */
+public class ThreadModeComparison {
+
+    private static final int PORT = 18080;
+
+    private static final String BASE_URL = "http://localhost:" + PORT;
+
+    private static final Pattern TOKEN_PATTERN = Pattern.compile("\"accessToken\"\\s*:\\s*\"([^\"]+)\"");
+
+    public static void main(String[] args) throws Exception {
+        Path jar = Path.of(args[0]);
+        Path output = Path.of(args[1]);
+        int concurrency = Integer.parseInt(args[2]);
+        Duration duration = Duration.ofSeconds(Long.parseLong(args[3]));
+        List<String> serverArgs = Arrays.asList(args).subList(4, args.length);
+
+        Map<String, Map<String, Result>> results = new LinkedHashMap<>();
+        for (String mode : List.of("platform", "virtual")) {
+            Process server = startServer(jar, mode, serverArgs);
+            try {
+                waitUntilHealthy(Duration.ofSeconds(90));
+                results.put(mode, run(concurrency, duration));
+            } finally {
+                server.destroy();
+                server.waitFor();
+            }
+        }
+
+        StringBuilder json = new StringBuilder("{\n");
+        results.forEach((mode, byScenario) -> {
+            byScenario.forEach((scenario, result) -> {
+                System.out.printf("%-9s %-10s %10.1f req/s  p50 %8.2f ms  p99 %8.2f ms  errors %d%n",
+                        mode, scenario, result.throughput(), result.p50Millis(), result.p99Millis(), result.errors());
+                json.append(String.format(
+                        "  \"%s.%s\": {\"throughput\": %.1f, \"p50Ms\": %.3f, \"p99Ms\": %.3f, \"errors\": %d},%n",
+                        mode, scenario, result.throughput(), result.p50Millis(), result.p99Millis(), result.errors()));
+            });
+        });
+        json.setLength(json.length() - 2);
+        json.append("\n}\n");
+        Files.createDirectories(output.getParent());
+        Files.writeString(output, json);
+    }
+
+    /** 指定モードでサーバーを起動 */
+    private static Process startServer(Path jar, String mode, List<String> serverArgs) throws IOException {
+        List<String> command = new ArrayList<>(List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-jar", jar.toString(),
+                "--server.port=" + PORT,
+                "--spring.devtools.restart.enabled=false",
+                // 同じ送信元からログインを繰り返すため、レート制限は無効にする
+                "--meetolio.rate-limit.enabled=false"));
+        if (mode.equals("virtual")) {
+            command.add("--spring.profiles.active=virtual");
+        }
+        command.addAll(serverArgs);
+        return new ProcessBuilder(command)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.DISCARD)
+                .start();
+    }
+
+    private static void waitUntilHealthy(Duration timeout) throws InterruptedException {
+        HttpClient client = HttpClient.newHttpClient();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                HttpResponse<Void> response = client.send(
+                        HttpRequest.newBuilder(URI.create(BASE_URL + "/actuator/health")).build(),
+                        HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // 起動待ち
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException("サーバーが起動しませんでした");
+    }
+
+    /** テストユーザーを作成し、各シナリオを計測 */
+    private static Map<String, Result> run(int concurrency, Duration duration) throws Exception {
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        String email = "bench-" + UUID.randomUUID() + "@example.com";
+        String credentials = "{\"email\":\"" + email + "\",\"password\":\"bench-password\"}";
+
+        HttpResponse<String> signup = client.send(post("/api/auth/signup", credentials), HttpResponse.BodyHandlers.ofString());
+        Matcher matcher = TOKEN_PATTERN.matcher(signup.body());
+        if (!matcher.find()) {
+            throw new IllegalStateException("ユーザー登録に失敗しました: " + signup.body());
+        }
+        String token = matcher.group(1);
+        int userId = Integer.parseInt(new String(Base64.getUrlDecoder().decode(token.split("\\.")[1]))
+                .replaceAll(".*\"sub\"\\s*:\\s*\"(\\d+)\".*", "$1"));
+        client.send(HttpRequest.newBuilder(URI.create(BASE_URL + "/api/portfolio"))
+                .header("Content-Type", "application/json")
+                .header("Authorization", "Bearer " + token)
+                .POST(HttpRequest.BodyPublishers.ofString("{\"userId\":" + userId + ",\"name\":\"Bench\"}"))
+                .build(), HttpResponse.BodyHandlers.discarding());
+
+        Map<String, Result> results = new LinkedHashMap<>();
+        results.put("portfolio", measure(client, concurrency, duration,
+                HttpRequest.newBuilder(URI.create(BASE_URL + "/api/portfolio/" + userId)).GET().build()));
+        results.put("login", measure(client, concurrency, duration, post("/api/auth/login", credentials)));
+        return results;
+    }
+
+    private static HttpRequest post(String path, String body) {
+        return HttpRequest.newBuilder(URI.create(BASE_URL + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    /** 同時実行数concurrencyでdurationの間リクエストを送り続ける */
+    private static Result measure(HttpClient client, int concurrency, Duration duration, HttpRequest request)
+            throws InterruptedException {
+        long[][] latencies = new long[concurrency][];
+        int[] counts = new int[concurrency];
+        AtomicLong errors = new AtomicLong();
+        long end = System.nanoTime() + duration.toNanos();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                int worker = i;
+                executor.submit(() -> {
+                    long[] samples = new long[1024];
+                    int count = 0;
+                    while (System.nanoTime() < end) {
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() >= 400) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (IOException | InterruptedException e) {
+                            errors.incrementAndGet();
+                        }
+                        if (count == samples.length) {
+                            samples = Arrays.copyOf(samples, count * 2);
+                        }
+                        samples[count++] = System.nanoTime() - start;
+                    }
+                    latencies[worker] = samples;
+                    counts[worker] = count;
+                });
+            }
+        }
+
+        int total = Arrays.stream(counts).sum();
+        long[] all = new long[total];
+        int offset = 0;
+        for (int i = 0; i < concurrency; i++) {
+            System.arraycopy(latencies[i], 0, all, offset, counts[i]);
+            offset += counts[i];
+        }
+        Arrays.sort(all);
+        return new Result(total / (double) duration.toSeconds(), percentile(all, 0.50), percentile(all, 0.99),
+                errors.get());
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return Double.NaN;
+        }
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)] / 1_000_000.0;
+    }
+
+    private record Result(double throughput, double p50Millis, double p99Millis, long errors) {
+    }
+}
@@ -0,0 +1,56 @@
+package com.meetolio.backend.common.qr;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** QRコードの生成コスト（ポートフォリオページのURL・vCard相当のデータ。キャッシュミス時の1回分） */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QrCodeBenchmark {
+
+    /** データのバイト数（URL相当、日本語を含むvCard相当） */
+    @Param({ "40", "600" })
+    private int length;
+
+    private byte[] data;
+
+    @Setup
+    public void setup() {
+        StringBuilder text = new StringBuilder();
+        while (text.length() < length) {
+            text.append("https://meetolio.example/portfolio/205005 ");
+        }
+        data = text.substring(0, length).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public QrCode encode() {
+        return QrCode.encode(data, QrCode.ErrorCorrection.M);
+    }
+
+    @Benchmark
+    public byte[] encodePng() {
+        return QrCodeRenderer.render(QrCode.encode(data, QrCode.ErrorCorrection.M), QrCodeFormat.PNG, 256);
+    }
+
+    @Benchmark
+    public byte[] encodeSvg() {
+        return QrCodeRenderer.render(QrCode.encode(data, QrCode.ErrorCorrection.M), QrCodeFormat.SVG, 256);
+    }
+}
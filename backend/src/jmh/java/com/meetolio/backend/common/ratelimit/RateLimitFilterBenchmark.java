@@ -0,0 +1,108 @@
+package com.meetolio.backend.common.ratelimit;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+
+/** RateLimitFilter・TokenBucketLimiterの許可時の1リクエストあたりのコスト（ユーザーIDごとのルール、4スレッドで同じキー・別のキー） */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class RateLimitFilterBenchmark {
+
+    private RateLimitFilter filter;
+
+    private TokenBucketLimiter limiter;
+
+    private final FilterChain filterChain = (req, res) -> {
+    };
+
+    @Setup
+    public void setup() {
+        // 拒否されないよう上限を十分大きくする
+        RateLimitProperties.Rule rule = new RateLimitProperties.Rule();
+        rule.setName("api-user");
+        rule.setPath("/api/**");
+        rule.setKey(RateLimitKey.USER);
+        rule.setLimit(Integer.MAX_VALUE);
+        rule.setPeriod(Duration.ofSeconds(1));
+
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setEnabled(true);
+        properties.setMaxKeys(100_000);
+        properties.setRules(List.of(rule));
+        filter = new RateLimitFilter(properties, new ObjectMapper(), new SimpleMeterRegistry());
+        limiter = new TokenBucketLimiter(Integer.MAX_VALUE, Duration.ofSeconds(1), Integer.MAX_VALUE, 100_000,
+                false);
+    }
+
+    /** スレッドごとのリクエスト（sharedKeyがtrueなら全スレッドが同じユーザー） */
+    @State(Scope.Thread)
+    public static class ThreadRequest {
+
+        private static final AtomicInteger NEXT_USER_ID = new AtomicInteger();
+
+        @Param({ "true", "false" })
+        private boolean sharedKey;
+
+        private MockHttpServletRequest request;
+
+        private MockHttpServletResponse response;
+
+        private Integer userId;
+
+        @Setup
+        public void setup() {
+            request = new MockHttpServletRequest("GET", "/api/portfolio/12345");
+            response = new MockHttpServletResponse();
+            userId = sharedKey ? 1 : NEXT_USER_ID.incrementAndGet();
+            SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(userId, null, null));
+        }
+
+        @TearDown
+        public void tearDown() {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @Benchmark
+    public long tryAcquire(ThreadRequest state) {
+        return limiter.tryAcquire(state.userId);
+    }
+
+    @Benchmark
+    public int doFilter(ThreadRequest state) throws ServletException, IOException {
+        filter.doFilter(state.request, state.response, filterChain);
+        return state.response.getStatus();
+    }
+}
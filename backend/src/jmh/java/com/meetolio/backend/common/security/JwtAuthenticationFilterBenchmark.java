@@ -0,0 +1,73 @@
+package com.meetolio.backend.common.security;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+
+/** JwtAuthenticationFilterの1リクエストあたりのコスト（有効・無効・トークンなし、検証済みトークンキャッシュの有無） */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    @Param({ "valid", "invalid", "missing" })
+    private String token;
+
+    @Param({ "true", "false" })
+    private boolean tokenCache;
+
+    private JwtAuthenticationFilter filter;
+
+    private MockHttpServletRequest request;
+
+    private MockHttpServletResponse response;
+
+    private final FilterChain filterChain = (req, res) -> {
+    };
+
+    @Setup
+    public void setup() {
+        JwtService jwtService = new JwtService(new SimpleMeterRegistry());
+        filter = new JwtAuthenticationFilter(
+                new VerifiedTokenCache(jwtService, tokenCache, 10_000, Duration.ofMinutes(30), new SimpleMeterRegistry()));
+        request = new MockHttpServletRequest("GET", "/api/account/me");
+        response = new MockHttpServletResponse();
+
+        switch (token) {
+            case "valid" -> request.addHeader("Authorization", "Bearer " + jwtService.generateToken(12345));
+            case "invalid" -> request.addHeader("Authorization", "Bearer " + jwtService.generateToken(12345) + "x");
+            default -> {
+            }
+        }
+    }
+
+    @Benchmark
+    public Object doFilter() throws ServletException, IOException {
+        filter.doFilter(request, response, filterChain);
+        Object authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+}
@@ -0,0 +1,62 @@
+package com.meetolio.backend.common.view;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/** PortfolioViewCounterの閲覧1件あたりの記録コスト（4スレッドで同じポートフォリオ・別のポートフォリオ。書き込みは行わない） */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class PortfolioViewCounterBenchmark {
+
+    private PortfolioViewCounter counter;
+
+    @Setup
+    public void setup() {
+        // 計測中に書き込みが走らないよう、間隔・件数を十分大きくする
+        counter = new PortfolioViewCounter(null, Duration.ofHours(1), Integer.MAX_VALUE, Duration.ofSeconds(1),
+                new SimpleMeterRegistry());
+    }
+
+    /** スレッドごとの閲覧対象（sharedKeyがtrueなら全スレッドが同じポートフォリオ） */
+    @State(Scope.Thread)
+    public static class Viewer {
+
+        private static final AtomicInteger NEXT_USER_ID = new AtomicInteger(1);
+
+        @Param({ "true", "false" })
+        private boolean sharedKey;
+
+        private int userId;
+
+        @Setup
+        public void setup() {
+            userId = sharedKey ? 0 : NEXT_USER_ID.getAndIncrement();
+        }
+    }
+
+    @Benchmark
+    public void record(Viewer viewer) {
+        counter.record(viewer.userId);
+    }
+}
@@ -0,0 +1,71 @@
+package com.meetolio.backend.converter;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.meetolio.backend.dto.PortfolioResponseDto;
+import com.meetolio.backend.entity.PortfolioEntity;
+
+/** Entity→DTO変換のベンチマーク（従来のリクエスト毎ModelMapper生成との比較） */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PortfolioMappingBenchmark {
+
+    private PortfolioEntity entity;
+
+    private ModelMapper sharedModelMapper;
+
+    @Setup
+    public void setup() {
+        entity = new PortfolioEntity();
+        entity.setUserId(1);
+        entity.setName("山田 太郎");
+        entity.setNameKana("ヤマダ タロウ");
+        entity.setCompany("Meetolio");
+        entity.setOccupation("エンジニア");
+        entity.setDescription("よろしくお願いします");
+        entity.setNameCardImgUrl("/img/card.png");
+        entity.setEmail("taro@example.com");
+        entity.setTwitter("https://x.com/taro");
+        entity.setLinkedin("https://www.linkedin.com/in/taro");
+        entity.setGithub("https://github.com/taro");
+        entity.setWebsite("https://taro.example.com");
+        entity.setCreatedAt(LocalDateTime.of(2025, 1, 1, 9, 0));
+        entity.setUpdatedAt(LocalDateTime.of(2025, 1, 2, 9, 0));
+        sharedModelMapper = new ModelMapper();
+    }
+
+    /** 変更前の実装（リクエスト毎にModelMapperを生成） */
+    @Benchmark
+    public PortfolioResponseDto modelMapperPerCall() {
+        return new ModelMapper().map(entity, PortfolioResponseDto.class);
+    }
+
+    /** ModelMapperを使い回した場合（参考値） */
+    @Benchmark
+    public PortfolioResponseDto modelMapperShared() {
+        return sharedModelMapper.map(entity, PortfolioResponseDto.class);
+    }
+
+    /** PortfolioConverter */
+    @Benchmark
+    public PortfolioResponseDto converter() {
+        return PortfolioConverter.toResponseDto(entity);
+    }
+}
@@ -0,0 +1,66 @@
+package com.meetolio.backend.dto;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.meetolio.backend.common.error.ErrorResponseDto;
+
+/** レスポンスDTOのJacksonシリアライズのベンチマーク（Spring Bootと同じ既定設定のObjectMapper） */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    private ObjectWriter writer;
+
+    private PortfolioResponseDto portfolioResponseDto;
+
+    private ErrorResponseDto errorResponseDto;
+
+    @Setup
+    public void setup() {
+        writer = Jackson2ObjectMapperBuilder.json().build().writer();
+
+        portfolioResponseDto = new PortfolioResponseDto();
+        portfolioResponseDto.setUserId(1);
+        portfolioResponseDto.setName("山田 太郎");
+        portfolioResponseDto.setNameKana("ヤマダ タロウ");
+        portfolioResponseDto.setCompany("Meetolio");
+        portfolioResponseDto.setOccupation("エンジニア");
+        portfolioResponseDto.setDescription("よろしくお願いします。".repeat(20));
+        portfolioResponseDto.setNameCardImgUrl("/img/card.png");
+        portfolioResponseDto.setEmail("taro@example.com");
+        portfolioResponseDto.setTwitter("https://x.com/taro");
+        portfolioResponseDto.setLinkedin("https://www.linkedin.com/in/taro");
+        portfolioResponseDto.setGithub("https://github.com/taro");
+        portfolioResponseDto.setWebsite("https://taro.example.com");
+
+        errorResponseDto = new ErrorResponseDto(404, "ポートフォリオが見つかりません");
+    }
+
+    @Benchmark
+    public byte[] portfolioResponse() throws JsonProcessingException {
+        return writer.writeValueAsBytes(portfolioResponseDto);
+    }
+
+    @Benchmark
+    public byte[] errorResponse() throws JsonProcessingException {
+        return writer.writeValueAsBytes(errorResponseDto);
+    }
+}
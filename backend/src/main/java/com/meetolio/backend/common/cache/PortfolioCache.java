@@ -0,0 +1,110 @@
+package com.meetolio.backend.common.cache;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.meetolio.backend.common.event.PortfolioChangedEvent;
+import com.meetolio.backend.common.event.PortfolioResyncEvent;
+import com.meetolio.backend.entity.PortfolioEntity;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * ポートフォリオ読み取りキャッシュ
+ *
+ * キャッシュしたEntityは複数リクエストで共有されるため、呼び出し側で変更しないこと。
+ * 読み込み（DBアクセス）はキャッシュのロック外で呼び出し元スレッドが行うため、
+ * 仮想スレッドでもキャリアスレッドをピン留めしない。
+ */
+@Component
+public class PortfolioCache {
+
+    /** キャッシュ名（メトリクスのタグ） */
+    private static final String CACHE_NAME = "portfolio";
+
+    /** キャッシュ本体（存在しないポートフォリオもOptional.emptyで保持する） */
+    private final AsyncCache<Integer, Optional<PortfolioEntity>> cache;
+
+    /** 変更による明示的な破棄の件数 */
+    private final Counter invalidations;
+
+    public PortfolioCache(
+            @Value("${meetolio.cache.portfolio.maximum-size}") long maximumSize,
+            @Value("${meetolio.cache.portfolio.ttl}") Duration ttl,
+            MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+        this.invalidations = Counter.builder("cache.invalidations")
+                .tag("cache", CACHE_NAME)
+                .description("変更通知によるキャッシュ破棄件数")
+                .register(meterRegistry);
+
+        // ヒット・ミス・サイズ/TTLによる追い出し件数を公開
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /** 取得（未キャッシュ時はloaderで読み込む。同一userIdの同時ミスは1回の読み込みを共有する） */
+    public PortfolioEntity get(Integer userId, Function<Integer, PortfolioEntity> loader) {
+        return SingleFlight.get(cache, userId, loader);
+    }
+
+    /** 一括取得（未キャッシュ分のみloaderでまとめて読み込む。結果に含まれないuserIdは存在しないものとする） */
+    public Map<Integer, PortfolioEntity> getAll(Iterable<Integer> userIds,
+            Function<Set<Integer>, Map<Integer, PortfolioEntity>> loader) {
+        return SingleFlight.getAll(cache, userIds, loader);
+    }
+
+    /** キャッシュ済みの分のみ取得（読み込みは行わない。存在しないことがキャッシュ済みのものはOptional.empty） */
+    public Map<Integer, Optional<PortfolioEntity>> getAllPresent(Iterable<Integer> userIds) {
+        Map<Integer, Optional<PortfolioEntity>> present = new HashMap<>();
+        for (Integer userId : userIds) {
+            CompletableFuture<Optional<PortfolioEntity>> cached = cache.getIfPresent(userId);
+            // 他スレッドが読み込み中のものは待たずに未キャッシュとして扱う
+            if (cached != null && cached.isDone() && !cached.isCompletedExceptionally()) {
+                present.put(userId, cached.join());
+            }
+        }
+        return present;
+    }
+
+    /** 破棄 */
+    public void evict(Integer userId) {
+        cache.synchronous().invalidate(userId);
+        invalidations.increment();
+    }
+
+    /** 全件破棄 */
+    public void evictAll() {
+        cache.synchronous().invalidateAll();
+    }
+
+    /** ポートフォリオ変更時（コミット後）に該当エントリを破棄 */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPortfolioChanged(PortfolioChangedEvent event) {
+        evict(event.userId());
+    }
+
+    /** 全件再同期時にキャッシュを全件破棄 */
+    @EventListener
+    public void onPortfolioResync(PortfolioResyncEvent event) {
+        evictAll();
+    }
+}
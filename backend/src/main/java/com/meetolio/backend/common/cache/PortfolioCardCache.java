@@ -0,0 +1,59 @@
+package com.meetolio.backend.common.cache;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * ポートフォリオのvCard・QRコードのキャッシュ
+ *
+ * キーにポートフォリオの更新日時を含めるため、変更後に古い出力が返ることはなく、変更時の破棄も行わない
+ * （古いエントリは参照されなくなり、上限・TTLで追い出される）。上限はバイト数で指定する。
+ * 生成はCPU処理のみ（URLのQRコードで約0.3ミリ秒、vCardのQRコードで数ミリ秒）のため、同一キーの同時ミスはCaffeineのロック内で1回だけ生成する。
+ * 生成中は同じビンの他のキーも待たされるため、rendererの中でDBアクセスや、このキャッシュへの入れ子の呼び出しを行わないこと。
+ */
+@Component
+public class PortfolioCardCache {
+
+    /** キャッシュ名（メトリクスのタグ） */
+    private static final String CACHE_NAME = "portfolio-card";
+
+    /** 1エントリの固定分の推定サイズ（バイト） */
+    private static final int ENTRY_OVERHEAD = 128;
+
+    /** キャッシュ本体 */
+    private final Cache<Key, byte[]> cache;
+
+    public PortfolioCardCache(
+            @Value("${meetolio.cache.card.maximum-weight}") DataSize maximumWeight,
+            @Value("${meetolio.cache.card.ttl}") Duration ttl,
+            MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumWeight.toBytes())
+                .<Key, byte[]>weigher((key, body) -> ENTRY_OVERHEAD + body.length)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /** 取得（未キャッシュ時はrendererで生成する。rendererからこのキャッシュを呼び出さないこと）。返したバイト配列は共有されるため変更しないこと */
+    public byte[] get(Integer userId, LocalDateTime updatedAt, String format, int size, Supplier<byte[]> renderer) {
+        return cache.get(new Key(userId, updatedAt, format, size), key -> renderer.get());
+    }
+
+    /** キャッシュのキー（formatは出力の種類、sizeは画像の1辺のピクセル数。vCardは0） */
+    private record Key(Integer userId, LocalDateTime updatedAt, String format, int size) {
+    }
+}
@@ -0,0 +1,212 @@
+package com.meetolio.backend.common.cache;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.meetolio.backend.common.event.PortfolioChangedEvent;
+import com.meetolio.backend.common.event.PortfolioResyncEvent;
+import com.meetolio.backend.repository.PortfolioRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * ポートフォリオ変更のノード間通知
+ *
+ * 変更時にPostgreSQLのNOTIFYを発行し、専用接続でLISTENした他ノードの通知を
+ * remoteのPortfolioChangedEventとして再発行する。
+ */
+@Slf4j
+@Component
+public class PortfolioChangeNotifier implements SmartLifecycle {
+
+    /** 通知チャネル名 */
+    private static final String CHANNEL = "portfolio_changed";
+
+    /** 通知待ちのポーリング間隔（ミリ秒） */
+    private static final int POLL_TIMEOUT_MILLIS = 1000;
+
+    /** 1回の通知のペイロードの上限（PostgreSQLの上限8000バイト未満） */
+    private static final int MAX_PAYLOAD_LENGTH = 7900;
+
+    /** 再接続までの待機時間（ミリ秒） */
+    private static final long RECONNECT_DELAY_MILLIS = 5000;
+
+    /** 自ノードの識別子（自身が発行した通知を無視するため） */
+    private final String nodeId = UUID.randomUUID().toString();
+
+    /** ポートフォリオRepository */
+    private final PortfolioRepository portfolioRepository;
+
+    /** イベント発行 */
+    private final ApplicationEventPublisher eventPublisher;
+
+    /** DB接続設定（LISTEN用の専用接続に使用） */
+    private final DataSourceProperties dataSourceProperties;
+
+    /** ノード間通知の有効・無効 */
+    private final boolean enabled;
+
+    /** LISTENスレッド */
+    private volatile Thread listenerThread;
+
+    public PortfolioChangeNotifier(PortfolioRepository portfolioRepository, ApplicationEventPublisher eventPublisher, DataSourceProperties dataSourceProperties,
+            @Value("${meetolio.cache.portfolio.cross-node-invalidation}") boolean enabled) {
+        this.portfolioRepository = portfolioRepository;
+        this.eventPublisher = eventPublisher;
+        this.dataSourceProperties = dataSourceProperties;
+        this.enabled = enabled;
+    }
+
+    /**
+     * 変更をNOTIFYで通知（コミット時に配信される）
+     *
+     * トランザクション内の変更はコミット直前にまとめ、ペイロードの上限ごとに1回のNOTIFYで送る。
+     */
+    @EventListener
+    public void onPortfolioChanged(PortfolioChangedEvent event) {
+        if (!enabled || event.remote()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            notifyChanged(Set.of(event.userId()));
+            return;
+        }
+
+        PendingNotifications pending = (PendingNotifications) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingNotifications();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.userIds.add(event.userId());
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        Thread thread = new Thread(this::listen, "portfolio-change-listener");
+        thread.setDaemon(true);
+        listenerThread = thread;
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        Thread thread = listenerThread;
+        listenerThread = null;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return listenerThread != null;
+    }
+
+    /** LISTENループ（接続断時は再接続する） */
+    private void listen() {
+        boolean reconnecting = false;
+        while (isRunning()) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+
+                // 切断中の通知は受け取れないため、再接続時は全件再同期する
+                if (reconnecting) {
+                    eventPublisher.publishEvent(new PortfolioResyncEvent());
+                }
+                reconnecting = true;
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (isRunning()) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        handle(notification.getParameter());
+                    }
+                }
+            } catch (SQLException e) {
+                log.warn("ポートフォリオ変更通知の受信に失敗しました。再接続します: {}", e.getMessage());
+                reconnecting = true;
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MILLIS);
+                } catch (InterruptedException ie) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /** NOTIFYの発行（形式は "ノードID:ユーザーID,ユーザーID,..."、上限を超える分は複数回に分ける） */
+    private void notifyChanged(Set<Integer> userIds) {
+        StringBuilder payload = new StringBuilder(nodeId).append(':');
+        int headerLength = payload.length();
+        for (Integer userId : userIds) {
+            String id = userId.toString();
+            if (payload.length() > headerLength && payload.length() + 1 + id.length() > MAX_PAYLOAD_LENGTH) {
+                portfolioRepository.notifyChanged(payload.toString());
+                payload.setLength(headerLength);
+            }
+            if (payload.length() > headerLength) {
+                payload.append(',');
+            }
+            payload.append(id);
+        }
+        portfolioRepository.notifyChanged(payload.toString());
+    }
+
+    /** 通知の処理（形式は "ノードID:ユーザーID,ユーザーID,..."） */
+    private void handle(String payload) {
+        int separator = payload.lastIndexOf(':');
+        if (separator < 0 || nodeId.equals(payload.substring(0, separator))) {
+            return;
+        }
+        for (String id : payload.substring(separator + 1).split(",")) {
+            try {
+                eventPublisher.publishEvent(PortfolioChangedEvent.remote(Integer.valueOf(id)));
+            } catch (NumberFormatException e) {
+                log.warn("不正なポートフォリオ変更通知を無視しました: {}", payload);
+                return;
+            }
+        }
+    }
+
+    /** トランザクション内で変更されたユーザーID（コミット直前にまとめて通知する） */
+    private final class PendingNotifications implements TransactionSynchronization {
+
+        private final Set<Integer> userIds = new LinkedHashSet<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            notifyChanged(userIds);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(PortfolioChangeNotifier.this);
+        }
+    }
+}
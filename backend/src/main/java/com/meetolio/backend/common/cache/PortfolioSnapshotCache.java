@@ -0,0 +1,83 @@
+package com.meetolio.backend.common.cache;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.meetolio.backend.common.event.PortfolioChangedEvent;
+import com.meetolio.backend.common.event.PortfolioResyncEvent;
+import com.meetolio.backend.entity.PortfolioSnapshotEntity;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * ポートフォリオスナップショットのキャッシュ
+ *
+ * 上限は件数ではなくバイト数で指定する。読み込みはPortfolioCacheと同様に呼び出し元スレッドがキャッシュのロック外で行う（SingleFlight）。
+ * キャッシュしたEntityのバイト配列は複数リクエストで共有されるため、呼び出し側で変更しないこと。
+ */
+@Component
+public class PortfolioSnapshotCache {
+
+    /** キャッシュ名（メトリクスのタグ） */
+    private static final String CACHE_NAME = "portfolio-snapshot";
+
+    /** 1エントリの固定分の推定サイズ（バイト） */
+    private static final int ENTRY_OVERHEAD = 128;
+
+    /** キャッシュ本体（存在しないポートフォリオもOptional.emptyで保持する） */
+    private final AsyncCache<Integer, Optional<PortfolioSnapshotEntity>> cache;
+
+    public PortfolioSnapshotCache(
+            @Value("${meetolio.cache.snapshot.maximum-weight}") DataSize maximumWeight,
+            @Value("${meetolio.cache.snapshot.ttl}") Duration ttl,
+            MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumWeight.toBytes())
+                .<Integer, Optional<PortfolioSnapshotEntity>>weigher((userId, snapshot) -> snapshot
+                        .map(s -> ENTRY_OVERHEAD + s.getJson().length + s.getJsonGzip().length + s.getHtml().length)
+                        .orElse(ENTRY_OVERHEAD))
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /** 取得（未キャッシュ時はloaderで読み込む。同一userIdの同時ミスは1回の読み込みを共有する） */
+    public PortfolioSnapshotEntity get(Integer userId, Function<Integer, PortfolioSnapshotEntity> loader) {
+        return SingleFlight.get(cache, userId, loader);
+    }
+
+    /** キャッシュ済みの場合のみ取得（読み込みは行わない。未キャッシュ・読み込み中はnull、存在しないことがキャッシュ済みのものはOptional.empty） */
+    public Optional<PortfolioSnapshotEntity> getIfPresent(Integer userId) {
+        CompletableFuture<Optional<PortfolioSnapshotEntity>> cached = cache.getIfPresent(userId);
+        if (cached == null || !cached.isDone() || cached.isCompletedExceptionally()) {
+            return null;
+        }
+        return cached.join();
+    }
+
+    /** ポートフォリオ変更時（コミット後）に該当エントリを破棄 */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPortfolioChanged(PortfolioChangedEvent event) {
+        cache.synchronous().invalidate(event.userId());
+    }
+
+    /** 全件再同期時にキャッシュを全件破棄 */
+    @EventListener
+    public void onPortfolioResync(PortfolioResyncEvent event) {
+        cache.synchronous().invalidateAll();
+    }
+}
@@ -0,0 +1,90 @@
+package com.meetolio.backend.common.cache;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+
+/**
+ * AsyncCacheの呼び出し元スレッドでの読み込み
+ *
+ * 未キャッシュのキーには未完了のfutureを登録し、登録したスレッドがキャッシュのロック外で読み込む。
+ * 同じキーの同時ミスは登録済みのfutureの完了を待つ。読み込みが例外・エラーで終わった場合もfutureを失敗として完了させ
+ * （失敗したfutureはキャッシュから取り除かれる）、待っているスレッドが永久に待ち続けることはない。
+ */
+final class SingleFlight {
+
+    private SingleFlight() {
+    }
+
+    /** 取得（未キャッシュ時はloaderで読み込む。存在しないもの（null）もOptional.emptyでキャッシュする） */
+    static <K, V> V get(AsyncCache<K, Optional<V>> cache, K key, Function<K, V> loader) {
+        CompletableFuture<Optional<V>> loading = new CompletableFuture<>();
+        CompletableFuture<Optional<V>> result = cache.get(key, (k, executor) -> loading);
+
+        // 自スレッドが登録した場合のみ読み込む（呼び出し元のトランザクション内で実行する）
+        if (result == loading) {
+            try {
+                loading.complete(Optional.ofNullable(loader.apply(key)));
+            } catch (Throwable e) {
+                loading.completeExceptionally(e);
+                throw e;
+            }
+        }
+
+        return join(result).orElse(null);
+    }
+
+    /** 一括取得（未キャッシュ分のみloaderでまとめて読み込む。結果に含まれないキーは存在しないものとする） */
+    static <K, V> Map<K, V> getAll(AsyncCache<K, Optional<V>> cache, Iterable<K> keys,
+            Function<Set<K>, Map<K, V>> loader) {
+        CompletableFuture<Map<K, Optional<V>>> loading = new CompletableFuture<>();
+        AtomicReference<Set<K>> keysToLoad = new AtomicReference<>();
+        CompletableFuture<Map<K, Optional<V>>> result = cache.getAll(keys, (missingKeys, executor) -> {
+            keysToLoad.set(Set.copyOf(missingKeys));
+            return loading;
+        });
+
+        // 未キャッシュ分がある場合のみ、呼び出し元スレッドでまとめて読み込む
+        Set<K> missing = keysToLoad.get();
+        if (missing != null) {
+            try {
+                Map<K, V> loaded = loader.apply(missing);
+                Map<K, Optional<V>> values = new HashMap<>(missing.size() * 2);
+                for (K key : missing) {
+                    values.put(key, Optional.ofNullable(loaded.get(key)));
+                }
+                loading.complete(values);
+            } catch (Throwable e) {
+                loading.completeExceptionally(e);
+                throw e;
+            }
+        }
+
+        Map<K, Optional<V>> values = join(result);
+        Map<K, V> present = new HashMap<>(values.size() * 2);
+        values.forEach((key, value) -> value.ifPresent(v -> present.put(key, v)));
+        return present;
+    }
+
+    /** 読み込み完了を待つ（読み込み時の例外・エラーはそのまま再送出） */
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.meetolio.backend.common.card;
+
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.meetolio.backend.entity.PortfolioEntity;
+
+/**
+ * ポートフォリオのvCard（RFC 6350、バージョン4.0）の生成
+ *
+ * 氏名は姓名に分けずにそのまま使う。フリガナ・SNSのURLは主要な連絡先アプリが読む拡張プロパティで出力する。
+ */
+@Component
+public class PortfolioVCardRenderer {
+
+    /** 1行の最大オクテット数（超える行は折り返す） */
+    private static final int MAX_LINE_OCTETS = 75;
+
+    /** REVの形式（UTC） */
+    private static final DateTimeFormatter REVISION_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+
+    /** 氏名未入力時の表示名 */
+    private static final String DEFAULT_NAME = "Meetolio";
+
+    /** ポートフォリオページのURL（{userId}を置換） */
+    private final String pageUrl;
+
+    public PortfolioVCardRenderer(@Value("${meetolio.snapshot.page-url}") String pageUrl) {
+        this.pageUrl = pageUrl;
+    }
+
+    /** ポートフォリオページのURL */
+    public String pageUrl(Integer userId) {
+        return pageUrl.replace("{userId}", userId.toString());
+    }
+
+    /** vCardの生成（UTF-8、改行はCRLF） */
+    public byte[] render(PortfolioEntity entity) {
+        return render(entity, true);
+    }
+
+    /** QRコード用のvCardの生成（自己紹介は長さに上限がなくQRコードに収まらないことがあるため、NOTEを含めない） */
+    public byte[] renderForQrCode(PortfolioEntity entity) {
+        return render(entity, false);
+    }
+
+    private byte[] render(PortfolioEntity entity, boolean includeNote) {
+        String name = isBlank(entity.getName()) ? DEFAULT_NAME : entity.getName().strip();
+
+        StringBuilder vcard = new StringBuilder(512);
+        line(vcard, "BEGIN:VCARD");
+        line(vcard, "VERSION:4.0");
+        property(vcard, "FN", name);
+        line(vcard, "N:" + escape(name) + ";;;;");
+        property(vcard, "X-PHONETIC-LAST-NAME", entity.getNameKana());
+        property(vcard, "ORG", entity.getCompany());
+        property(vcard, "TITLE", entity.getOccupation());
+        property(vcard, "EMAIL;TYPE=work", entity.getEmail());
+        property(vcard, "URL", pageUrl(entity.getUserId()));
+        urlProperty(vcard, "URL", entity.getWebsite());
+        urlProperty(vcard, "X-SOCIALPROFILE;TYPE=twitter", entity.getTwitter());
+        urlProperty(vcard, "X-SOCIALPROFILE;TYPE=linkedin", entity.getLinkedin());
+        urlProperty(vcard, "X-SOCIALPROFILE;TYPE=github", entity.getGithub());
+        if (includeNote) {
+            property(vcard, "NOTE", entity.getDescription());
+        }
+        if (entity.getUpdatedAt() != null) {
+            line(vcard, "REV:" + entity.getUpdatedAt().atZone(ZoneId.systemDefault())
+                    .withZoneSameInstant(ZoneOffset.UTC).format(REVISION_FORMAT));
+        }
+        line(vcard, "END:VCARD");
+        return vcard.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /** テキスト値のプロパティ（空の場合は出力しない） */
+    private static void property(StringBuilder vcard, String name, String value) {
+        if (!isBlank(value)) {
+            line(vcard, name + ":" + escape(value.strip()));
+        }
+    }
+
+    /** URL値のプロパティ（http(s)の絶対URLのみ出力する） */
+    private static void urlProperty(StringBuilder vcard, String name, String value) {
+        if (!isBlank(value)) {
+            String url = value.strip();
+            if (url.startsWith("https://") || url.startsWith("http://")) {
+                line(vcard, name + ":" + url.replaceAll("[\\r\\n]", ""));
+            }
+        }
+    }
+
+    /** 1行の出力（75オクテットを超える場合はCRLF+空白で折り返す。UTF-8の文字の途中では折り返さない） */
+    private static void line(StringBuilder vcard, String line) {
+        int octets = 0;
+        for (int i = 0; i < line.length();) {
+            int codePoint = line.codePointAt(i);
+            int length = utf8Length(codePoint);
+            if (octets + length > MAX_LINE_OCTETS) {
+                vcard.append("\r\n ");
+                octets = 1;
+            }
+            vcard.appendCodePoint(codePoint);
+            octets += length;
+            i += Character.charCount(codePoint);
+        }
+        vcard.append("\r\n");
+    }
+
+    /** テキスト値のエスケープ（バックスラッシュ・カンマ・セミコロン・改行） */
+    private static String escape(String value) {
+        StringBuilder escaped = new StringBuilder(value.length() + 8);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> escaped.append("\\\\");
+                case ',' -> escaped.append("\\,");
+                case ';' -> escaped.append("\\;");
+                case '\n' -> escaped.append("\\n");
+                case '\r' -> {
+                    if (i + 1 >= value.length() || value.charAt(i + 1) != '\n') {
+                        escaped.append("\\n");
+                    }
+                }
+                default -> escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    private static int utf8Length(int codePoint) {
+        return codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
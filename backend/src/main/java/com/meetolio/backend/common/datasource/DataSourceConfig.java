@@ -0,0 +1,109 @@
+package com.meetolio.backend.common.datasource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.sql.init.SqlInitializationProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.support.JdbcTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * データソースConfig（書き込みはプライマリ、読み取り専用トランザクションはレプリカ）
+ *
+ * 接続は最初のSQL実行時に取得するため、キャッシュヒットのみのトランザクションは接続を使わない。
+ * レプリカの接続設定はURL以外プライマリと同じ（spring.datasource.username/password/hikari）。
+ */
+@Configuration
+public class DataSourceConfig {
+
+    /** プライマリ（spring.datasource.*の設定で作成） */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /** レプリカ（meetolio.datasource.replica.urlsごとに接続プールを作成） */
+    @Bean
+    public ReplicaRoutingDataSource replicaDataSource(HikariDataSource primaryDataSource,
+            DataSourceProperties properties, Environment environment, ReadYourWrites readYourWrites,
+            @Value("${meetolio.datasource.replica.urls}") List<String> urls,
+            @Value("${meetolio.datasource.replica.health-check-interval}") Duration healthCheckInterval,
+            @Value("${meetolio.datasource.replica.max-lag}") Duration maxLag,
+            @Value("${meetolio.datasource.replica.connection-timeout}") Duration connectionTimeout,
+            MeterRegistry meterRegistry) {
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (String url : urls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            HikariDataSource replica = properties.initializeDataSourceBuilder().type(HikariDataSource.class)
+                    .url(url.strip()).build();
+            Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(replica));
+            replica.setPoolName("replica-" + (replicas.size() + 1));
+            replica.setReadOnly(true);
+            // 停止したレプリカで待ち続けないよう短くする（取得できなければプライマリから読む）
+            replica.setConnectionTimeout(connectionTimeout.toMillis());
+            // レプリカが停止していても起動できるようにする（接続できるまで読み取りはプライマリ）
+            replica.setInitializationFailTimeout(-1);
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.add(replica);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, readYourWrites, healthCheckInterval, maxLag,
+                meterRegistry);
+    }
+
+    /** アプリケーションが使うデータソース（読み取り専用トランザクションのみレプリカへ振り分ける） */
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaRoutingDataSource replicaDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        if (replicaDataSource.hasReplicas()) {
+            dataSource.setReadOnlyDataSource(replicaDataSource);
+        }
+        return dataSource;
+    }
+
+    /** schema.sqlの適用（meetolio.schema.skip-if-unchanged=trueの場合、前回適用時から変更がなければ省略） */
+    @Bean
+    public VersionedSchemaInitializer dataSourceScriptDatabaseInitializer(DataSource dataSource,
+            SqlInitializationProperties properties,
+            @Value("${meetolio.schema.skip-if-unchanged}") boolean skipIfUnchanged) {
+        return new VersionedSchemaInitializer(dataSource, properties, skipIfUnchanged);
+    }
+
+    /** トランザクションマネージャー（書き込みトランザクションのコミット時に、ログイン中のユーザーの書き込みを記録） */
+    @Bean
+    public PlatformTransactionManager transactionManager(DataSource dataSource, ReadYourWrites readYourWrites) {
+        return new JdbcTransactionManager(dataSource) {
+            @Override
+            protected void doCommit(DefaultTransactionStatus status) {
+                super.doCommit(status);
+                if (!status.isReadOnly()) {
+                    readYourWrites.recordWriteByCurrentUser();
+                }
+            }
+        };
+    }
+}
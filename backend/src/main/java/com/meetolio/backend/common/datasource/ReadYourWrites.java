@@ -0,0 +1,93 @@
+package com.meetolio.backend.common.datasource;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.meetolio.backend.common.event.PortfolioChangedEvent;
+
+/**
+ * 書き込み直後の読み取りをプライマリへ送る判定（レプリケーション遅延で古いデータを読まないため）
+ *
+ * 次の場合は、読み取り専用トランザクションでもプライマリから読む（期間はsticky-primary-window）。
+ * <ul>
+ * <li>ログイン中のユーザーが直近に書き込みトランザクションをコミットした場合（自分の変更が見える）</li>
+ * <li>直近に変更されたポートフォリオをキャッシュへ読み込む場合（他ノードでの変更を含む。古い値を長くキャッシュしない）</li>
+ * </ul>
+ */
+@Component
+public class ReadYourWrites {
+
+    /** プライマリから読む指定（readFromPrimary内でのみtrue） */
+    private static final ThreadLocal<Boolean> PRIMARY_REQUESTED = new ThreadLocal<>();
+
+    /** 直近に書き込んだ・変更されたユーザーID（期間経過で消える） */
+    private final Cache<Integer, Boolean> recentWrites;
+
+    public ReadYourWrites(@Value("${meetolio.datasource.sticky-primary-window}") Duration window) {
+        this.recentWrites = window.isZero() ? null
+                : Caffeine.newBuilder().expireAfterWrite(window).maximumSize(100_000).build();
+    }
+
+    /** 書き込みを記録 */
+    public void recordWrite(Integer userId) {
+        if (recentWrites != null && userId != null) {
+            recentWrites.put(userId, Boolean.TRUE);
+        }
+    }
+
+    /** ログイン中のユーザーの書き込みを記録（未ログインの場合は何もしない） */
+    public void recordWriteByCurrentUser() {
+        recordWrite(currentUserId());
+    }
+
+    /** 直近に書き込まれたかどうか */
+    public boolean isRecent(Integer userId) {
+        return recentWrites != null && userId != null && recentWrites.getIfPresent(userId) != null;
+    }
+
+    /** 現在の読み取りをプライマリから行うべきかどうか */
+    public boolean shouldReadFromPrimary() {
+        return Boolean.TRUE.equals(PRIMARY_REQUESTED.get()) || isRecent(currentUserId());
+    }
+
+    /** userIdsのいずれかが直近に変更されていれば、reader内の読み取りをプライマリから行う（接続取得前に呼ぶこと） */
+    public <T> T readFromPrimaryIfRecent(Collection<Integer> userIds, Supplier<T> reader) {
+        if (recentWrites == null || userIds.stream().noneMatch(this::isRecent)) {
+            return reader.get();
+        }
+        return readFromPrimary(reader);
+    }
+
+    /** reader内の読み取りをプライマリから行う（接続取得前に呼ぶこと） */
+    public <T> T readFromPrimary(Supplier<T> reader) {
+        if (Boolean.TRUE.equals(PRIMARY_REQUESTED.get())) {
+            return reader.get();
+        }
+        PRIMARY_REQUESTED.set(Boolean.TRUE);
+        try {
+            return reader.get();
+        } finally {
+            PRIMARY_REQUESTED.remove();
+        }
+    }
+
+    /** ポートフォリオ変更時（他ノードでの変更を含む）に記録 */
+    @EventListener
+    public void onPortfolioChanged(PortfolioChangedEvent event) {
+        recordWrite(event.userId());
+    }
+
+    private static Integer currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof Integer userId ? userId : null;
+    }
+}
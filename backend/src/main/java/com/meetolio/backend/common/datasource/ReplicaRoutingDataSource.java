@@ -0,0 +1,205 @@
+package com.meetolio.backend.common.datasource;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 読み取り専用トランザクションの接続先（レプリカのラウンドロビン）
+ *
+ * レプリカは定期的に疎通と遅延を確認し、接続できない・遅延がmax-lagを超えたものは次の確認で回復するまで除外する。
+ * 使えるレプリカがない場合と、書き込み直後の読み取り（ReadYourWrites）はプライマリから読む。
+ * プライマリの接続も読み取り専用にして返す（返却時にプールが元に戻す）。
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements DisposableBean {
+
+    /** メトリクス名のプレフィックス */
+    private static final String METRIC_NAME = "meetolio.datasource";
+
+    /**
+     * レプリケーション遅延（秒）
+     *
+     * プライマリから受信中で、受信済みのWALをすべて適用済みなら0（更新がない間は最終適用時刻が古くなるため）。
+     * 受信が止まっている場合は最終適用時刻からの経過時間とする。プライマリに接続している場合も0。
+     */
+    private static final String LAG_QUERY = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() THEN 0
+                WHEN pg_last_wal_receive_lsn() <= pg_last_wal_replay_lsn()
+                    AND EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming') THEN 0
+                ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp())::float8, 'Infinity')
+            END""";
+
+    /** プライマリ */
+    private final DataSource primary;
+
+    /** レプリカ */
+    private final List<Replica> replicas;
+
+    /** 書き込み直後の読み取りの判定 */
+    private final ReadYourWrites readYourWrites;
+
+    /** 許容するレプリケーション遅延 */
+    private final Duration maxLag;
+
+    /** 現在使えるレプリカ（確認のたびに差し替える） */
+    private volatile List<Replica> healthy = List.of();
+
+    /** ラウンドロビンの位置 */
+    private final AtomicInteger next = new AtomicInteger();
+
+    /** 疎通・遅延の確認用スレッド */
+    private final ScheduledExecutorService healthChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "replica-health-check");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /** 接続先ごとの読み取り件数 */
+    private final Counter replicaReads;
+    private final Counter primaryReads;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<HikariDataSource> replicas, ReadYourWrites readYourWrites,
+            Duration healthCheckInterval, Duration maxLag, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.readYourWrites = readYourWrites;
+        this.maxLag = maxLag;
+        this.replicas = new ArrayList<>(replicas.size());
+        for (HikariDataSource dataSource : replicas) {
+            Replica replica = new Replica(dataSource);
+            this.replicas.add(replica);
+            Gauge.builder(METRIC_NAME + ".replica.lag", replica, r -> r.lagSeconds)
+                    .tag("pool", dataSource.getPoolName())
+                    .description("レプリケーション遅延（未確認・接続不可の場合はNaN）").baseUnit("seconds")
+                    .register(meterRegistry);
+            Gauge.builder(METRIC_NAME + ".replica.healthy", replica, r -> healthy.contains(r) ? 1 : 0)
+                    .tag("pool", dataSource.getPoolName())
+                    .description("読み取りの接続先として使えるかどうか").register(meterRegistry);
+        }
+        this.replicaReads = Counter.builder(METRIC_NAME + ".reads").tag("target", "replica")
+                .description("読み取り専用トランザクションの接続先").register(meterRegistry);
+        this.primaryReads = Counter.builder(METRIC_NAME + ".reads").tag("target", "primary")
+                .description("読み取り専用トランザクションの接続先").register(meterRegistry);
+
+        // 最初の確認が終わるまではプライマリから読む
+        if (!this.replicas.isEmpty()) {
+            healthChecker.scheduleWithFixedDelay(this::checkReplicas, 0, healthCheckInterval.toMillis(),
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /** レプリカが設定されているかどうか */
+    public boolean hasReplicas() {
+        return !replicas.isEmpty();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!readYourWrites.shouldReadFromPrimary()) {
+            List<Replica> candidates = healthy;
+            if (!candidates.isEmpty()) {
+                Replica replica = candidates.get(Math.floorMod(next.getAndIncrement(), candidates.size()));
+                try {
+                    Connection connection = replica.dataSource.getConnection();
+                    replicaReads.increment();
+                    return connection;
+                } catch (SQLException e) {
+                    // 次の確認で回復するまで除外し、今回はプライマリから読む
+                    markUnhealthy(replica, e);
+                }
+            }
+        }
+        Connection connection = primary.getConnection();
+        connection.setReadOnly(true);
+        primaryReads.increment();
+        return connection;
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        // 認証情報を指定した接続はレプリカのプールでは作れないため、プライマリから読む
+        Connection connection = primary.getConnection(username, password);
+        connection.setReadOnly(true);
+        primaryReads.increment();
+        return connection;
+    }
+
+    @Override
+    public void destroy() {
+        healthChecker.shutdownNow();
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+
+    /** 全レプリカの疎通・遅延を確認し、使えるものだけを接続先にする */
+    private void checkReplicas() {
+        List<Replica> available = new ArrayList<>(replicas.size());
+        for (Replica replica : replicas) {
+            boolean wasHealthy = healthy.contains(replica);
+            try (Connection connection = replica.dataSource.getConnection();
+                    Statement statement = connection.createStatement();
+                    ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+                resultSet.next();
+                replica.lagSeconds = resultSet.getDouble(1);
+                if (replica.lagSeconds * 1000 <= maxLag.toMillis()) {
+                    available.add(replica);
+                    if (!wasHealthy) {
+                        log.info("レプリカを読み取りの接続先にします: {}, 遅延{}秒", replica.name(), replica.lagSeconds);
+                    }
+                } else if (wasHealthy) {
+                    log.warn("レプリケーション遅延が上限を超えたため除外します: {}, 遅延{}秒", replica.name(), replica.lagSeconds);
+                }
+            } catch (SQLException | RuntimeException e) {
+                replica.lagSeconds = Double.NaN;
+                if (wasHealthy) {
+                    log.warn("レプリカに接続できないため除外します: {}", replica.name(), e);
+                }
+            }
+        }
+        healthy = List.copyOf(available);
+    }
+
+    private synchronized void markUnhealthy(Replica replica, SQLException cause) {
+        List<Replica> current = healthy;
+        if (current.contains(replica)) {
+            List<Replica> remaining = new ArrayList<>(current);
+            remaining.remove(replica);
+            healthy = List.copyOf(remaining);
+            log.warn("レプリカに接続できないため除外します: {}", replica.name(), cause);
+        }
+    }
+
+    /** レプリカ */
+    private static final class Replica {
+        private final HikariDataSource dataSource;
+        private volatile double lagSeconds = Double.NaN;
+
+        Replica(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        String name() {
+            return dataSource.getPoolName();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.meetolio.backend.common.datasource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.sql.init.SqlDataSourceScriptDatabaseInitializer;
+import org.springframework.boot.autoconfigure.sql.init.SqlInitializationProperties;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * schema.sqlの適用（skipIfUnchangedの場合は、前回適用時から内容が変わっていなければ省略する）
+ *
+ * バージョンはスキーマファイルの内容のSHA-256で、適用後にschema_versionテーブルへ記録する。
+ * DBを手動で変更した場合は再適用されないため、開発時は無効（毎回適用）のままにする。
+ */
+@Slf4j
+public class VersionedSchemaInitializer extends SqlDataSourceScriptDatabaseInitializer {
+
+    /** 既定のスキーマファイル（spring.sql.init.schema-locations未指定時。Spring Bootの既定と同じ） */
+    private static final List<String> DEFAULT_SCHEMA_LOCATIONS = List.of(
+            "optional:classpath*:schema-all.sql", "optional:classpath*:schema.sql");
+
+    /** 前回適用時から変わっていなければ省略する */
+    private final boolean skipIfUnchanged;
+
+    /** スキーマファイル */
+    private final List<String> schemaLocations;
+
+    /** バージョンの読み書き用 */
+    private final JdbcTemplate jdbcTemplate;
+
+    public VersionedSchemaInitializer(DataSource dataSource, SqlInitializationProperties properties,
+            boolean skipIfUnchanged) {
+        super(dataSource, properties);
+        this.skipIfUnchanged = skipIfUnchanged;
+        this.schemaLocations = properties.getSchemaLocations() != null ? properties.getSchemaLocations()
+                : DEFAULT_SCHEMA_LOCATIONS;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public boolean initializeDatabase() {
+        if (!skipIfUnchanged) {
+            return super.initializeDatabase();
+        }
+
+        String version = schemaVersion();
+        if (version.equals(appliedVersion())) {
+            log.info("スキーマは適用済みのため省略します: version={}", version.substring(0, 12));
+            return false;
+        }
+
+        boolean initialized = super.initializeDatabase();
+        if (initialized) {
+            jdbcTemplate.update("""
+                    INSERT INTO schema_version (id, version) VALUES (1, ?)
+                    ON CONFLICT (id) DO UPDATE SET version = EXCLUDED.version, applied_at = CURRENT_TIMESTAMP""",
+                    version);
+            log.info("スキーマを適用しました: version={}", version.substring(0, 12));
+        }
+        return initialized;
+    }
+
+    /** 適用済みのバージョン（未適用・テーブルなしはnull） */
+    private String appliedVersion() {
+        try {
+            List<String> versions = jdbcTemplate.queryForList("SELECT version FROM schema_version WHERE id = 1",
+                    String.class);
+            return versions.isEmpty() ? null : versions.get(0);
+        } catch (DataAccessException e) {
+            return null;
+        }
+    }
+
+    /** スキーマファイルの内容のSHA-256 */
+    private String schemaVersion() {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+            for (String location : schemaLocations) {
+                String pattern = location.startsWith("optional:") ? location.substring("optional:".length()) : location;
+                for (Resource resource : resolver.getResources(pattern)) {
+                    if (!resource.exists()) {
+                        continue;
+                    }
+                    try (InputStream inputStream = resource.getInputStream()) {
+                        digest.update(inputStream.readAllBytes());
+                    }
+                }
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
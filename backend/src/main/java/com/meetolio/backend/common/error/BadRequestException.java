@@ -0,0 +1,8 @@
+package com.meetolio.backend.common.error;
+
+/** リクエスト不正Exception */
+public class BadRequestException extends RuntimeException {
+    public BadRequestException(String message) {
+        super(message);
+    }
+}
@@ -1,5 +1,6 @@
 package com.meetolio.backend.common.error;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -10,6 +11,14 @@ import org.springframework.security.access.AccessDeniedException;
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    /** リクエスト不正エラー */
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<ErrorResponseDto> handleBadRequest(BadRequestException ex) {
+        final HttpStatus STATUS = HttpStatus.BAD_REQUEST;
+        ErrorResponseDto errorResponseDto = new ErrorResponseDto(STATUS.value(), ex.getMessage());
+        return ResponseEntity.status(STATUS).body(errorResponseDto);
+    }
+
     /** 認証エラー */
     @ExceptionHandler(UnauthorizedException.class)
     public ResponseEntity<ErrorResponseDto> handleUnauthorize(UnauthorizedException ex) {
@@ -34,6 +43,24 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(STATUS).body(errorResponseDto);
     }
 
+    /** 事前条件エラー */
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ErrorResponseDto> handlePreconditionFailed(PreconditionFailedException ex) {
+        final HttpStatus STATUS = HttpStatus.PRECONDITION_FAILED;
+        ErrorResponseDto errorResponseDto = new ErrorResponseDto(STATUS.value(), ex.getMessage());
+        return ResponseEntity.status(STATUS).body(errorResponseDto);
+    }
+
+    /** 過負荷エラー */
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ErrorResponseDto> handleServiceUnavailable(ServiceUnavailableException ex) {
+        final HttpStatus STATUS = HttpStatus.SERVICE_UNAVAILABLE;
+        ErrorResponseDto errorResponseDto = new ErrorResponseDto(STATUS.value(), ex.getMessage());
+        return ResponseEntity.status(STATUS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(errorResponseDto);
+    }
+
     /** 認可エラー */
     @ExceptionHandler(AccessDeniedException.class)
     public ResponseEntity<ErrorResponseDto> handleIllegalArgument(AccessDeniedException ex) {
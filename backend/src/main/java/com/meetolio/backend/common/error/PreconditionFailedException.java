@@ -0,0 +1,8 @@
+package com.meetolio.backend.common.error;
+
+/** 事前条件エラーException */
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,16 @@
+package com.meetolio.backend.common.error;
+
+import lombok.Getter;
+
+/** 一時的な過負荷エラーException */
+@Getter
+public class ServiceUnavailableException extends RuntimeException {
+
+    /** 再試行までの秒数（Retry-Afterヘッダー） */
+    private final long retryAfterSeconds;
+
+    public ServiceUnavailableException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,20 @@
+package com.meetolio.backend.common.event;
+
+/**
+ * ポートフォリオ変更イベント
+ *
+ * @param userId 変更されたポートフォリオのユーザーID
+ * @param remote 他ノードからの通知で発生したイベントの場合true
+ */
+public record PortfolioChangedEvent(Integer userId, boolean remote) {
+
+    /** 自ノードでの変更イベント */
+    public static PortfolioChangedEvent local(Integer userId) {
+        return new PortfolioChangedEvent(userId, false);
+    }
+
+    /** 他ノードでの変更イベント */
+    public static PortfolioChangedEvent remote(Integer userId) {
+        return new PortfolioChangedEvent(userId, true);
+    }
+}
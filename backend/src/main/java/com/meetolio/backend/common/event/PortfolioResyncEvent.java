@@ -0,0 +1,10 @@
+package com.meetolio.backend.common.event;
+
+/**
+ * ポートフォリオ全件再同期イベント
+ *
+ * ノード間通知の切断などで変更イベントを取りこぼした可能性がある場合に発行する。
+ * 受け取った側はポートフォリオ由来の状態（キャッシュ・索引など）を全件作り直す。
+ */
+public record PortfolioResyncEvent() {
+}
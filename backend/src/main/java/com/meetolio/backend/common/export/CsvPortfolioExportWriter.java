@@ -0,0 +1,70 @@
+package com.meetolio.backend.common.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import com.meetolio.backend.dto.PortfolioResponseDto;
+
+/**
+ * CSV形式（RFC 4180）のエクスポート出力
+ *
+ * Excelで文字化けしないよう先頭にBOMを付ける。
+ * 数式として解釈される値（=, +, -, @ で始まる値）は先頭に ' を付けて無害化する。
+ */
+public class CsvPortfolioExportWriter implements PortfolioExportWriter {
+
+    /** 見出し行 */
+    private static final String[] HEADER = { "userId", "name", "nameKana", "company", "occupation", "description",
+            "nameCardImgUrl", "email", "twitter", "linkedin", "github", "website" };
+
+    /** 出力先 */
+    private final Writer writer;
+
+    public CsvPortfolioExportWriter(OutputStream outputStream) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        writer.write('\uFEFF');
+        writeRow((Object[]) HEADER);
+    }
+
+    @Override
+    public void write(PortfolioResponseDto portfolio) throws IOException {
+        writeRow(portfolio.getUserId(), portfolio.getName(), portfolio.getNameKana(), portfolio.getCompany(),
+                portfolio.getOccupation(), portfolio.getDescription(), portfolio.getNameCardImgUrl(),
+                portfolio.getEmail(), portfolio.getTwitter(), portfolio.getLinkedin(), portfolio.getGithub(),
+                portfolio.getWebsite());
+    }
+
+    @Override
+    public void finish() throws IOException {
+        writer.flush();
+    }
+
+    private void writeRow(Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (values[i] != null) {
+                writeField(values[i].toString());
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    private void writeField(String value) throws IOException {
+        if (!value.isEmpty() && "=+-@".indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,44 @@
+package com.meetolio.backend.common.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meetolio.backend.common.error.BadRequestException;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/** エクスポート形式 */
+@Getter
+@RequiredArgsConstructor
+public enum ExportFormat {
+
+    NDJSON("application/x-ndjson;charset=UTF-8", "ndjson"),
+    CSV("text/csv;charset=UTF-8", "csv");
+
+    /** Content-Type */
+    private final String contentType;
+
+    /** ファイル拡張子（形式の指定にも使う） */
+    private final String extension;
+
+    /** 形式名からの変換（不正な値はBadRequestException） */
+    public static ExportFormat of(String name) {
+        for (ExportFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(name)) {
+                return format;
+            }
+        }
+        // TODO: メッセージ共通化
+        throw new BadRequestException("エクスポート形式はndjsonまたはcsvで指定してください");
+    }
+
+    /** 出力の生成 */
+    public PortfolioExportWriter open(OutputStream outputStream, ObjectMapper objectMapper) throws IOException {
+        return switch (this) {
+            case NDJSON -> new NdjsonPortfolioExportWriter(outputStream, objectMapper);
+            case CSV -> new CsvPortfolioExportWriter(outputStream);
+        };
+    }
+}
@@ -0,0 +1,37 @@
+package com.meetolio.backend.common.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.meetolio.backend.dto.PortfolioResponseDto;
+
+/** NDJSON形式（1行1オブジェクト）のエクスポート出力 */
+public class NdjsonPortfolioExportWriter implements PortfolioExportWriter {
+
+    /** 出力先 */
+    private final JsonGenerator generator;
+
+    /** DTOの書き出し用 */
+    private final ObjectWriter objectWriter;
+
+    public NdjsonPortfolioExportWriter(OutputStream outputStream, ObjectMapper objectMapper) throws IOException {
+        this.generator = objectMapper.getFactory().createGenerator(outputStream);
+        this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.generator.setRootValueSeparator(null);
+        this.objectWriter = objectMapper.writerFor(PortfolioResponseDto.class);
+    }
+
+    @Override
+    public void write(PortfolioResponseDto portfolio) throws IOException {
+        objectWriter.writeValue(generator, portfolio);
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void finish() throws IOException {
+        generator.close();
+    }
+}
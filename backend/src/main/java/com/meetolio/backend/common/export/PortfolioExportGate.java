@@ -0,0 +1,86 @@
+package com.meetolio.backend.common.export;
+
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Component;
+
+import com.meetolio.backend.common.error.ServiceUnavailableException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * ポートフォリオエクスポートの実行可否
+ *
+ * エクスポートはメールアドレスを含む全件を返すため、インポートと同じ運営者のみに許可する。
+ * ダウンロードの間はDB接続とサーバー側のカーソルを保持し続けるため、同時実行数を制限し、超えた場合は待たずに503とする。
+ */
+@Component
+public class PortfolioExportGate {
+
+    /** メトリクス名のプレフィックス */
+    private static final String METRIC_NAME = "meetolio.portfolio.export";
+
+    /** 実行を許可するユーザーID */
+    private final Set<Integer> operatorUserIds;
+
+    /** 同時実行数の上限 */
+    private final int maxConcurrent;
+
+    /** 実行中のエクスポートの枠 */
+    private final Semaphore permits;
+
+    /** 上限を超えた場合のRetry-After秒数 */
+    private final long retryAfterSeconds;
+
+    /** 同時実行数の上限による拒否件数 */
+    private final Counter rejections;
+
+    public PortfolioExportGate(@Value("${meetolio.portfolio.operator-user-ids}") Set<Integer> operatorUserIds,
+            @Value("${meetolio.portfolio.export.max-concurrent}") int maxConcurrent,
+            @Value("${meetolio.portfolio.export.retry-after-seconds}") long retryAfterSeconds,
+            MeterRegistry meterRegistry) {
+        this.operatorUserIds = Set.copyOf(operatorUserIds);
+        this.maxConcurrent = Math.max(1, maxConcurrent);
+        this.permits = new Semaphore(this.maxConcurrent);
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.rejections = Counter.builder(METRIC_NAME + ".rejected")
+                .description("同時実行数の上限により拒否したエクスポート件数").register(meterRegistry);
+        Gauge.builder(METRIC_NAME + ".active", this, gate -> gate.maxConcurrent - gate.permits.availablePermits())
+                .description("実行中のエクスポート数").register(meterRegistry);
+    }
+
+    /** 実行枠の取得（運営者以外はAccessDeniedException、上限に達している場合はServiceUnavailableException） */
+    public Permit acquire(Integer userId) {
+        if (userId == null || !operatorUserIds.contains(userId)) {
+            throw new AccessDeniedException("エクスポートの権限がありません");
+        }
+        if (!permits.tryAcquire()) {
+            rejections.increment();
+            // TODO: メッセージ共通化
+            throw new ServiceUnavailableException("エクスポートが混み合っています。しばらくしてから再度お試しください", retryAfterSeconds);
+        }
+        return new Permit();
+    }
+
+    /** 実行枠（closeで返却する。複数回のcloseは1回のみ有効） */
+    public final class Permit implements AutoCloseable {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit() {
+        }
+
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        }
+    }
+}
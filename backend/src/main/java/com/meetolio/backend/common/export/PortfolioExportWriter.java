@@ -0,0 +1,15 @@
+package com.meetolio.backend.common.export;
+
+import java.io.IOException;
+
+import com.meetolio.backend.dto.PortfolioResponseDto;
+
+/** ポートフォリオのエクスポート出力（1件ずつ書き出し、保持しない） */
+public interface PortfolioExportWriter {
+
+    /** 1件の書き出し */
+    void write(PortfolioResponseDto portfolio) throws IOException;
+
+    /** 書き出しの完了（バッファの掃き出し。出力先はクローズしない） */
+    void finish() throws IOException;
+}
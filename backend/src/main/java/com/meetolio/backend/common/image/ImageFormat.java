@@ -0,0 +1,34 @@
+package com.meetolio.backend.common.image;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/** 保存できる画像形式 */
+@Getter
+@RequiredArgsConstructor
+public enum ImageFormat {
+
+    JPEG("image/jpeg", "jpg", "jpeg"),
+    PNG("image/png", "png", "png");
+
+    /** Content-Type */
+    private final String contentType;
+
+    /** ファイル拡張子 */
+    private final String extension;
+
+    /** ImageIOの形式名 */
+    private final String imageIoName;
+
+    /** 先頭バイトから形式を判定（対象外の形式はnull） */
+    public static ImageFormat detect(byte[] header, int length) {
+        if (length >= 3 && (header[0] & 0xFF) == 0xFF && (header[1] & 0xFF) == 0xD8 && (header[2] & 0xFF) == 0xFF) {
+            return JPEG;
+        }
+        if (length >= 8 && (header[0] & 0xFF) == 0x89 && header[1] == 'P' && header[2] == 'N' && header[3] == 'G'
+                && header[4] == '\r' && header[5] == '\n' && header[6] == 0x1A && header[7] == '\n') {
+            return PNG;
+        }
+        return null;
+    }
+}
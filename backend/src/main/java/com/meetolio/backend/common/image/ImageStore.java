@@ -0,0 +1,177 @@
+package com.meetolio.backend.common.image;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.regex.Pattern;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.meetolio.backend.common.error.BadRequestException;
+
+/**
+ * 画像のローカル保存（内容アドレス方式）
+ *
+ * 画像はSHA-256ハッシュをファイル名として保存するため、同じ画像は1つだけ保存され、保存後に内容が変わることはない。
+ * 配置: {storage-dir}/originals/ab/abcd...jpg、{storage-dir}/thumbnails/{幅}/ab/abcd...jpg
+ */
+@Component
+public class ImageStore {
+
+    /** ハッシュ（ファイル名）の形式 */
+    private static final Pattern HASH_PATTERN = Pattern.compile("[0-9a-f]{64}");
+
+    /** 形式判定に読む先頭バイト数 */
+    private static final int HEADER_LENGTH = 8;
+
+    /** 保存先ルート */
+    private final Path root;
+
+    /** 許可する最大画素数（展開時のメモリ使用量を制限する） */
+    private final long maxPixels;
+
+    public ImageStore(@Value("${meetolio.image.storage-dir}") Path root,
+            @Value("${meetolio.image.max-pixels}") long maxPixels) throws IOException {
+        this.root = root.toAbsolutePath().normalize();
+        this.maxPixels = maxPixels;
+        Files.createDirectories(this.root.resolve("tmp"));
+    }
+
+    /** 画像の保存（ハッシュを計算しながら一時ファイルに書き出し、未保存の場合のみ配置する） */
+    public StoredImage store(InputStream inputStream) throws IOException {
+        Path temp = Files.createTempFile(root.resolve("tmp"), "upload-", ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            long size;
+            try (DigestInputStream in = new DigestInputStream(inputStream, digest);
+                    OutputStream out = Files.newOutputStream(temp)) {
+                size = in.transferTo(out);
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+
+            ImageFormat format = detectFormat(temp);
+            // TODO: メッセージ共通化
+            if (format == null) {
+                throw new BadRequestException("JPEGまたはPNG形式の画像を指定してください");
+            }
+            checkDimensions(temp);
+
+            Path target = originalPath(hash, format);
+            if (!Files.exists(target)) {
+                Files.createDirectories(target.getParent());
+                try {
+                    Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                } catch (FileAlreadyExistsException e) {
+                    // 同じ画像が同時に保存された場合
+                }
+            }
+            return new StoredImage(hash, format, size);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /** 元画像の取得（存在しない場合はnull） */
+    public StoredFile findOriginal(String hash) {
+        if (!HASH_PATTERN.matcher(hash).matches()) {
+            return null;
+        }
+        for (ImageFormat format : ImageFormat.values()) {
+            Path path = originalPath(hash, format);
+            if (Files.isRegularFile(path)) {
+                return new StoredFile(path, format);
+            }
+        }
+        return null;
+    }
+
+    /** サムネイルの配置先 */
+    public Path thumbnailPath(String hash, int width, ImageFormat format) {
+        return root.resolve("thumbnails").resolve(Integer.toString(width)).resolve(hash.substring(0, 2))
+                .resolve(hash + "." + format.getExtension());
+    }
+
+    /** ファイルの配置（一時ファイルに書き出してから移動するため、書きかけのファイルは見えない） */
+    public void writeAtomically(Path target, FileWriter writer) throws IOException {
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(root.resolve("tmp"), "write-", ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                writer.write(out);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private Path originalPath(String hash, ImageFormat format) {
+        return root.resolve("originals").resolve(hash.substring(0, 2)).resolve(hash + "." + format.getExtension());
+    }
+
+    private static ImageFormat detectFormat(Path path) throws IOException {
+        try (InputStream in = Files.newInputStream(path)) {
+            byte[] header = new byte[HEADER_LENGTH];
+            int length = in.readNBytes(header, 0, HEADER_LENGTH);
+            return ImageFormat.detect(header, length);
+        }
+    }
+
+    /** 画像サイズの確認（ヘッダーのみ読み、画素は展開しない） */
+    private void checkDimensions(Path path) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(path.toFile())) {
+            Iterator<ImageReader> readers = in != null ? ImageIO.getImageReaders(in) : null;
+            if (readers == null || !readers.hasNext()) {
+                throw new BadRequestException("画像を読み込めません");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > maxPixels) {
+                    throw new BadRequestException("画像の画素数が大きすぎます");
+                }
+            } catch (IOException e) {
+                throw new BadRequestException("画像を読み込めません");
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** ファイルへの書き出し処理 */
+    @FunctionalInterface
+    public interface FileWriter {
+        void write(OutputStream out) throws IOException;
+    }
+
+    /** 保存した画像 */
+    public record StoredImage(String hash, ImageFormat format, long size) {
+    }
+
+    /** 保存済みのファイル */
+    public record StoredFile(Path path, ImageFormat format) {
+    }
+}
@@ -0,0 +1,150 @@
+package com.meetolio.backend.common.image;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.imageio.ImageIO;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * サムネイル生成
+ *
+ * 専用スレッドプールで非同期に生成する。待ち行列が満杯の場合は依頼を破棄し、次に要求された時に再度依頼する。
+ */
+@Slf4j
+@Component
+public class ThumbnailGenerator implements DisposableBean {
+
+    /** 画像保存 */
+    private final ImageStore imageStore;
+
+    /** サムネイルの幅（ピクセル） */
+    @Getter
+    private final List<Integer> widths;
+
+    /** 生成用スレッドプール */
+    private final ThreadPoolExecutor executor;
+
+    /** 生成中の画像のハッシュ（同じ画像の重複生成を防ぐ） */
+    private final Set<String> inProgress = ConcurrentHashMap.newKeySet();
+
+    public ThumbnailGenerator(ImageStore imageStore,
+            @Value("${meetolio.image.thumbnail.widths}") List<Integer> widths,
+            @Value("${meetolio.image.thumbnail.threads}") int threads,
+            @Value("${meetolio.image.thumbnail.queue-capacity}") int queueCapacity,
+            MeterRegistry meterRegistry) {
+        this.imageStore = imageStore;
+        this.widths = List.copyOf(widths);
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-thumbnail-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        // 待ち行列の長さ・実行中スレッド数などを公開
+        new ExecutorServiceMetrics(executor, "image-thumbnail", List.of(Tag.of("pool", "image-thumbnail")))
+                .bindTo(meterRegistry);
+    }
+
+    /** 未生成のサムネイルの生成を依頼 */
+    public void request(String hash) {
+        if (!inProgress.add(hash)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    generate(hash);
+                } catch (IOException | RuntimeException e) {
+                    log.warn("サムネイルの生成に失敗しました: {}", hash, e);
+                } finally {
+                    inProgress.remove(hash);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inProgress.remove(hash);
+            log.debug("サムネイル生成の待ち行列が満杯のため破棄しました: {}", hash);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /** 全サイズのサムネイルを生成（元画像の展開は1回） */
+    private void generate(String hash) throws IOException {
+        ImageStore.StoredFile original = imageStore.findOriginal(hash);
+        if (original == null) {
+            return;
+        }
+        BufferedImage source = null;
+        for (int width : widths) {
+            Path target = imageStore.thumbnailPath(hash, width, original.format());
+            if (Files.exists(target)) {
+                continue;
+            }
+            if (source == null) {
+                source = ImageIO.read(original.path().toFile());
+                if (source == null) {
+                    throw new IOException("画像を読み込めません");
+                }
+            }
+            BufferedImage thumbnail = scale(source, width, original.format() == ImageFormat.PNG);
+            imageStore.writeAtomically(target,
+                    out -> ImageIO.write(thumbnail, original.format().getImageIoName(), out));
+        }
+    }
+
+    /** 縮小（元画像より大きくはしない。大きく縮小する場合は半分ずつ縮小して画質を保つ） */
+    private static BufferedImage scale(BufferedImage source, int width, boolean alpha) {
+        int targetWidth = Math.min(width, source.getWidth());
+        int targetHeight = Math.max(1, (int) Math.round((double) source.getHeight() * targetWidth / source.getWidth()));
+        int type = alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+
+        BufferedImage current = source;
+        int currentWidth = source.getWidth();
+        int currentHeight = source.getHeight();
+        do {
+            currentWidth = Math.max(targetWidth, currentWidth / 2);
+            currentHeight = currentWidth == targetWidth ? targetHeight : Math.max(targetHeight, currentHeight / 2);
+            BufferedImage next = new BufferedImage(currentWidth, currentHeight, type);
+            Graphics2D graphics = next.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(current, 0, 0, currentWidth, currentHeight, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = next;
+        } while (currentWidth > targetWidth);
+        return current;
+    }
+}
@@ -0,0 +1,12 @@
+package com.meetolio.backend.common.mybatis;
+
+import org.apache.ibatis.type.ArrayTypeHandler;
+
+/** byte[][]をPostgreSQLのbytea[]として渡すTypeHandler（標準のArrayTypeHandlerはbyte[]の配列型名を解決できない） */
+public class ByteaArrayTypeHandler extends ArrayTypeHandler {
+
+    @Override
+    protected String resolveTypeName(Class<?> type) {
+        return byte[].class.equals(type) ? "bytea" : super.resolveTypeName(type);
+    }
+}
@@ -0,0 +1,37 @@
+package com.meetolio.backend.common.mybatis;
+
+import org.mybatis.spring.mapper.MapperFactoryBean;
+import org.springframework.beans.factory.config.ConstructorArgumentValues;
+import org.springframework.beans.factory.support.MergedBeanDefinitionPostProcessor;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.core.ResolvableType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+/**
+ * MapperFactoryBeanのbean定義にMapperの型を設定する（Spring AOTで生成するbean定義用）
+ *
+ * スキャン時のbean定義はMapperインターフェースをクラス名（文字列）で持つため、そのままでは生成したコードから
+ * コンストラクター引数を解決できず、FactoryBeanの型（MapperFactoryBean&lt;PortfolioRepository&gt;など）も分からない。
+ */
+@Component
+class MapperFactoryBeanAotPostProcessor implements MergedBeanDefinitionPostProcessor {
+
+    @Override
+    public void postProcessMergedBeanDefinition(RootBeanDefinition beanDefinition, Class<?> beanType, String beanName) {
+        if (!MapperFactoryBean.class.isAssignableFrom(beanType)
+                || !beanDefinition.getResolvableType().hasUnresolvableGenerics()) {
+            return;
+        }
+        Object mapperInterface = beanDefinition.getPropertyValues().get("mapperInterface");
+        if (mapperInterface instanceof String className) {
+            mapperInterface = ClassUtils.resolveClassName(className, beanType.getClassLoader());
+        }
+        if (mapperInterface instanceof Class<?> type) {
+            ConstructorArgumentValues constructorArgumentValues = new ConstructorArgumentValues();
+            constructorArgumentValues.addIndexedArgumentValue(0, type);
+            beanDefinition.setConstructorArgumentValues(constructorArgumentValues);
+            beanDefinition.setTargetType(ResolvableType.forClassWithGenerics(beanType, type));
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.meetolio.backend.common.mybatis;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Mapperステートメントごとの処理時間・件数の計測と、遅いステートメントの記録
+ *
+ * ステートメントID（Mapper名.メソッド名）・種別・成否ごとのメーターを初回に作成して保持し、以降はMapの参照のみで記録する。
+ * Cursorを返す走査は、結果の読み込みではなくクエリの実行（最初の結果まで）の時間を記録し、件数は記録しない。
+ * 閾値を超えたステートメントはSQL（パラメータ値は含めない）をログに出し、設定により実行計画も取得する。
+ */
+@Slf4j
+@Component
+@Intercepts({
+        @Signature(type = Executor.class, method = "update", args = { MappedStatement.class, Object.class }),
+        @Signature(type = Executor.class, method = "query",
+                args = { MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class }),
+        @Signature(type = Executor.class, method = "query",
+                args = { MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class }),
+        @Signature(type = Executor.class, method = "queryCursor",
+                args = { MappedStatement.class, Object.class, RowBounds.class }),
+})
+public class MapperMetricsInterceptor implements Interceptor {
+
+    /** メトリクス名 */
+    private static final String METRIC_NAME = "mybatis.statement";
+
+    /** 件数のヒストグラムの上限（超える件数は最大のバケットに入る） */
+    private static final int MAX_EXPECTED_ROWS = 10_000;
+
+    /** メトリクス登録先 */
+    private final MeterRegistry meterRegistry;
+
+    /** N+1の検出 */
+    private final RepeatedStatementDetector repeatedStatementDetector;
+
+    /** 遅いステートメントの実行計画の取得 */
+    private final SlowQueryExplainer slowQueryExplainer;
+
+    /** 遅いステートメントとしてログに出す処理時間 */
+    private final long slowThresholdNanos;
+
+    /** ステートメントIDごとのメーター */
+    private final Map<String, StatementMeters> meters = new ConcurrentHashMap<>();
+
+    public MapperMetricsInterceptor(MeterRegistry meterRegistry, RepeatedStatementDetector repeatedStatementDetector,
+            SlowQueryExplainer slowQueryExplainer,
+            @Value("${meetolio.mybatis.slow-query.threshold}") Duration slowThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.repeatedStatementDetector = repeatedStatementDetector;
+        this.slowQueryExplainer = slowQueryExplainer;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        Object[] args = invocation.getArgs();
+        MappedStatement statement = (MappedStatement) args[0];
+        StatementMeters statementMeters = meters.computeIfAbsent(statement.getId(), id -> new StatementMeters(statement));
+        repeatedStatementDetector.record(statement.getId());
+
+        long start = System.nanoTime();
+        boolean succeeded = false;
+        int rows = -1;
+        try {
+            Object result = invocation.proceed();
+            succeeded = true;
+            if (result instanceof List<?> list) {
+                rows = list.size();
+            } else if (result instanceof Integer count) {
+                rows = count;
+            }
+            return result;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            (succeeded ? statementMeters.success : statementMeters.error).record(elapsed, TimeUnit.NANOSECONDS);
+            if (rows >= 0) {
+                statementMeters.rows.record(rows);
+            }
+            if (elapsed > slowThresholdNanos) {
+                BoundSql boundSql = args.length == 6 ? (BoundSql) args[5] : statement.getBoundSql(args[1]);
+                log.warn("遅いステートメント: statement={} {}ms rows={} sql={}", statement.getId(),
+                        TimeUnit.NANOSECONDS.toMillis(elapsed), rows, boundSql.getSql().replaceAll("\\s+", " ").strip());
+                if (succeeded) {
+                    slowQueryExplainer.submit(statement, args[1], boundSql);
+                }
+            }
+        }
+    }
+
+    /** 1ステートメント分のメーター */
+    private final class StatementMeters {
+
+        private final Timer success;
+
+        private final Timer error;
+
+        private final DistributionSummary rows;
+
+        StatementMeters(MappedStatement statement) {
+            String name = MapperStatementNames.shortName(statement.getId());
+            String type = statement.getSqlCommandType().name().toLowerCase(Locale.ROOT);
+            this.success = timer(name, type, "success");
+            this.error = timer(name, type, "error");
+            this.rows = DistributionSummary.builder(METRIC_NAME + ".rows")
+                    .tag("statement", name)
+                    .tag("type", type)
+                    .description("Mapperステートメントの取得・更新件数")
+                    .minimumExpectedValue(1.0)
+                    .maximumExpectedValue((double) MAX_EXPECTED_ROWS)
+                    .register(meterRegistry);
+        }
+
+        private Timer timer(String name, String type, String outcome) {
+            return Timer.builder(METRIC_NAME)
+                    .tag("statement", name)
+                    .tag("type", type)
+                    .tag("outcome", outcome)
+                    .description("Mapperステートメントの処理時間")
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.meetolio.backend.common.mybatis;
+
+import org.mybatis.spring.mapper.MapperScannerConfigurer;
+import org.springframework.beans.factory.aot.BeanRegistrationExcludeFilter;
+import org.springframework.beans.factory.support.RegisteredBean;
+
+/**
+ * Spring AOT（ビルド時のBean定義生成）からMapperScannerConfigurerを除外する
+ *
+ * Mapperのbean定義はビルド時に生成済みのため、起動時に再度スキャンすると同名のbean定義と競合して起動に失敗する。
+ */
+class MapperScannerAotExcludeFilter implements BeanRegistrationExcludeFilter {
+
+    @Override
+    public boolean isExcludedFromAotProcessing(RegisteredBean registeredBean) {
+        return MapperScannerConfigurer.class.isAssignableFrom(registeredBean.getBeanClass());
+    }
+}
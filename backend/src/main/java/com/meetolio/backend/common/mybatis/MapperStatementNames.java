@@ -0,0 +1,14 @@
+package com.meetolio.backend.common.mybatis;
+
+/** ステートメントIDの表示名 */
+final class MapperStatementNames {
+
+    private MapperStatementNames() {
+    }
+
+    /** パッケージ名を除いた "Mapper名.メソッド名" */
+    static String shortName(String statementId) {
+        int packageEnd = statementId.lastIndexOf('.', statementId.lastIndexOf('.') - 1);
+        return statementId.substring(packageEnd + 1);
+    }
+}
@@ -0,0 +1,90 @@
+package com.meetolio.backend.common.mybatis;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 1リクエスト内で同じステートメントが繰り返し実行されたことの検出（N+1の検出）
+ *
+ * サンプリング対象のリクエストでのみステートメントIDごとの実行回数を数え、
+ * リクエスト終了時に閾値を超えたものをログとメトリクス（mybatis.statement.repeated）に記録する。
+ * リクエスト外（バックグラウンド処理など）の実行は数えない。
+ */
+@Slf4j
+@Component
+public class RepeatedStatementDetector extends OncePerRequestFilter {
+
+    /** 実行中リクエストのステートメントIDごとの実行回数（サンプリング対象外のリクエストではnull） */
+    private static final ThreadLocal<Map<String, int[]>> COUNTS = new ThreadLocal<>();
+
+    /** メトリクス登録先 */
+    private final MeterRegistry meterRegistry;
+
+    /** 警告する実行回数（これを超えた場合） */
+    private final int threshold;
+
+    /** 対象とするリクエストの割合（0〜1） */
+    private final double sampleRate;
+
+    public RepeatedStatementDetector(MeterRegistry meterRegistry,
+            @Value("${meetolio.mybatis.repeated-statement.threshold}") int threshold,
+            @Value("${meetolio.mybatis.repeated-statement.sample-rate}") double sampleRate) {
+        this.meterRegistry = meterRegistry;
+        this.threshold = threshold;
+        this.sampleRate = sampleRate;
+    }
+
+    /** ステートメントの実行を記録（サンプリング対象のリクエスト内でのみ数える） */
+    public void record(String statementId) {
+        Map<String, int[]> counts = COUNTS.get();
+        if (counts != null) {
+            counts.computeIfAbsent(statementId, id -> new int[1])[0]++;
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (sampleRate <= 0 || (sampleRate < 1 && ThreadLocalRandom.current().nextDouble() >= sampleRate)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Map<String, int[]> counts = new HashMap<>();
+        COUNTS.set(counts);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            COUNTS.remove();
+            report(request, counts);
+        }
+    }
+
+    private void report(HttpServletRequest request, Map<String, int[]> counts) {
+        counts.forEach((statementId, count) -> {
+            if (count[0] > threshold) {
+                log.warn("1リクエストで同じステートメントが{}回実行されました（N+1の可能性）: {} {} statement={}",
+                        count[0], request.getMethod(), request.getRequestURI(), statementId);
+                Counter.builder("mybatis.statement.repeated")
+                        .tag("statement", MapperStatementNames.shortName(statementId))
+                        .description("1リクエスト内で閾値を超えて繰り返し実行されたステートメントの件数")
+                        .register(meterRegistry)
+                        .increment();
+            }
+        });
+    }
+}
@@ -0,0 +1,142 @@
+package com.meetolio.backend.common.mybatis;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.scripting.defaults.DefaultParameterHandler;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 遅いステートメントの実行計画の取得（EXPLAIN (ANALYZE, BUFFERS)）
+ *
+ * ANALYZEはクエリを実際にもう一度実行するため、対象はSELECT文のみ（{@code <select>}で定義したUPDATE ... RETURNINGなどは除く）とし、
+ * 読み取り専用トランザクションで実行してロールバックする。
+ * 取得は専用スレッド1本で行い、待ち行列が満杯の場合・同じステートメントを最近取得した場合は取得しない。
+ */
+@Slf4j
+@Component
+public class SlowQueryExplainer implements DisposableBean {
+
+    /** 待ち行列の上限 */
+    private static final int QUEUE_CAPACITY = 10;
+
+    /** 接続先（アプリケーションと同じDB） */
+    private final DataSource dataSource;
+
+    /** 有効・無効 */
+    private final boolean enabled;
+
+    /** 遅いステートメントのうち取得する割合（0〜1） */
+    private final double sampleRate;
+
+    /** 同じステートメントを再度取得するまでの間隔 */
+    private final long minIntervalNanos;
+
+    /** EXPLAINの実行のタイムアウト */
+    private final Duration timeout;
+
+    /** ステートメントIDごとの最終取得時刻（System.nanoTime） */
+    private final Map<String, Long> lastExplained = new ConcurrentHashMap<>();
+
+    /** 取得用スレッド */
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(QUEUE_CAPACITY), runnable -> {
+                Thread thread = new Thread(runnable, "slow-query-explainer");
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.AbortPolicy());
+
+    public SlowQueryExplainer(DataSource dataSource,
+            @Value("${meetolio.mybatis.slow-query.explain.enabled}") boolean enabled,
+            @Value("${meetolio.mybatis.slow-query.explain.sample-rate}") double sampleRate,
+            @Value("${meetolio.mybatis.slow-query.explain.min-interval}") Duration minInterval,
+            @Value("${meetolio.mybatis.slow-query.explain.timeout}") Duration timeout) {
+        this.dataSource = dataSource;
+        this.enabled = enabled;
+        this.sampleRate = sampleRate;
+        this.minIntervalNanos = minInterval.toNanos();
+        this.timeout = timeout;
+    }
+
+    /** 実行計画の取得を予約（対象外・間引き対象の場合は何もしない） */
+    public void submit(MappedStatement statement, Object parameter, BoundSql boundSql) {
+        if (!enabled || statement.getSqlCommandType() != SqlCommandType.SELECT || !isSelect(boundSql.getSql())
+                || ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+
+        // 同じステートメントは間隔をあけて取得する
+        long now = System.nanoTime();
+        Long previous = lastExplained.get(statement.getId());
+        if (previous != null && now - previous < minIntervalNanos) {
+            return;
+        }
+        if (previous == null ? lastExplained.putIfAbsent(statement.getId(), now) != null
+                : !lastExplained.replace(statement.getId(), previous, now)) {
+            return;
+        }
+
+        try {
+            executor.execute(() -> explain(statement, parameter, boundSql));
+        } catch (RejectedExecutionException e) {
+            log.debug("実行計画の取得待ちが満杯のため取得しません: {}", statement.getId());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /** SQLがSELECT文かどうか */
+    private static boolean isSelect(String sql) {
+        String trimmed = sql.stripLeading();
+        return trimmed.regionMatches(true, 0, "SELECT", 0, 6);
+    }
+
+    private void explain(MappedStatement statement, Object parameter, BoundSql boundSql) {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            connection.setReadOnly(true);
+            try {
+                try (Statement setup = connection.createStatement()) {
+                    setup.execute("SET LOCAL statement_timeout = " + timeout.toMillis());
+                }
+                StringBuilder plan = new StringBuilder();
+                try (PreparedStatement explain = connection.prepareStatement("EXPLAIN (ANALYZE, BUFFERS) " + boundSql.getSql())) {
+                    new DefaultParameterHandler(statement, parameter, boundSql).setParameters(explain);
+                    try (ResultSet resultSet = explain.executeQuery()) {
+                        while (resultSet.next()) {
+                            plan.append('\n').append(resultSet.getString(1));
+                        }
+                    }
+                }
+                log.warn("遅いステートメントの実行計画: statement={}{}", statement.getId(), plan);
+            } finally {
+                connection.rollback();
+            }
+        } catch (SQLException | RuntimeException e) {
+            log.warn("実行計画の取得に失敗しました: statement={}: {}", statement.getId(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,559 @@
+package com.meetolio.backend.common.qr;
+
+import java.util.Arrays;
+
+/**
+ * QRコード（JIS X 0510 / ISO/IEC 18004）のエンコーダー
+ *
+ * 8bitバイトモードのみ対応し、型番（1〜40）はデータが収まる最小のものを選ぶ。
+ * 同じ型番に収まる場合は、指定より高い誤り訂正レベルを使う。
+ */
+public final class QrCode {
+
+    /** 最大の型番 */
+    private static final int MAX_VERSION = 40;
+
+    /** マスク評価のペナルティ（同色の連続、2x2の同色ブロック、ファインダー類似パターン、明暗の偏り） */
+    private static final int PENALTY_N1 = 3;
+    private static final int PENALTY_N2 = 3;
+    private static final int PENALTY_N3 = 40;
+    private static final int PENALTY_N4 = 10;
+
+    /** ブロックあたりの誤り訂正コード語数（[誤り訂正レベル][型番]） */
+    private static final int[][] ECC_CODEWORDS_PER_BLOCK = {
+            { -1, 7, 10, 15, 20, 26, 18, 20, 24, 30, 18, 20, 24, 26, 30, 22, 24, 28, 30, 28, 28, 28, 28, 30, 30, 26,
+                    28, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30 },
+            { -1, 10, 16, 26, 18, 24, 16, 18, 22, 22, 26, 30, 22, 22, 24, 24, 28, 28, 26, 26, 26, 26, 28, 28, 28, 28,
+                    28, 28, 28, 28, 28, 28, 28, 28, 28, 28, 28, 28, 28, 28, 28 },
+            { -1, 13, 22, 18, 26, 18, 24, 18, 22, 20, 24, 28, 26, 24, 20, 30, 24, 28, 28, 26, 30, 28, 30, 30, 30, 30,
+                    28, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30 },
+            { -1, 17, 28, 22, 16, 22, 28, 26, 26, 24, 28, 24, 28, 22, 24, 24, 30, 28, 28, 26, 28, 30, 24, 30, 30, 30,
+                    30, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30, 30 },
+    };
+
+    /** 誤り訂正ブロック数（[誤り訂正レベル][型番]） */
+    private static final int[][] NUM_ERROR_CORRECTION_BLOCKS = {
+            { -1, 1, 1, 1, 1, 1, 2, 2, 2, 2, 4, 4, 4, 4, 4, 6, 6, 6, 6, 7, 8, 8, 9, 9, 10, 12, 12, 12, 13, 14, 15, 16,
+                    17, 18, 19, 19, 20, 21, 22, 24, 25 },
+            { -1, 1, 1, 1, 2, 2, 4, 4, 4, 5, 5, 5, 8, 9, 9, 10, 10, 11, 13, 14, 16, 17, 17, 18, 20, 21, 23, 25, 26, 28,
+                    29, 31, 33, 35, 37, 38, 40, 43, 45, 47, 49 },
+            { -1, 1, 1, 2, 2, 4, 4, 6, 6, 8, 8, 8, 10, 12, 16, 12, 17, 16, 18, 21, 20, 23, 23, 25, 27, 29, 34, 34, 35,
+                    38, 40, 43, 45, 48, 51, 53, 56, 59, 62, 65, 68 },
+            { -1, 1, 1, 2, 4, 4, 4, 5, 6, 8, 8, 11, 11, 16, 16, 18, 16, 19, 21, 25, 25, 25, 34, 30, 32, 35, 37, 40, 42,
+                    45, 48, 51, 54, 57, 60, 63, 66, 70, 74, 77, 81 },
+    };
+
+    /** GF(2^8)（原始多項式0x11D）の指数表（乗算で添字の和を剰余なしで引けるよう2周分）・対数表 */
+    private static final int[] GF_EXP = new int[512];
+    private static final int[] GF_LOG = new int[256];
+
+    static {
+        int value = 1;
+        for (int i = 0; i < 255; i++) {
+            GF_EXP[i] = value;
+            GF_EXP[i + 255] = value;
+            GF_LOG[value] = i;
+            value <<= 1;
+            if (value >= 0x100) {
+                value ^= 0x11D;
+            }
+        }
+    }
+
+    /** 誤り訂正レベル（宣言順に訂正能力が高い） */
+    public enum ErrorCorrection {
+        L(1), M(0), Q(3), H(2);
+
+        /** 形式情報に埋め込む値 */
+        private final int formatBits;
+
+        ErrorCorrection(int formatBits) {
+            this.formatBits = formatBits;
+        }
+    }
+
+    /** 型番 */
+    private final int version;
+
+    /** 1辺のモジュール数 */
+    private final int size;
+
+    /** 誤り訂正レベル */
+    private final ErrorCorrection errorCorrection;
+
+    /** モジュール（[y][x]、trueが暗） */
+    private final boolean[][] modules;
+
+    /** 機能パターン（マスクの対象外）のモジュール */
+    private final boolean[][] isFunction;
+
+    /** 指定バイト数のデータが最大の型番に収まるか */
+    public static boolean canEncode(int length, ErrorCorrection errorCorrection) {
+        return 4 + 16 + (long) length * 8 <= numDataCodewords(MAX_VERSION, errorCorrection) * 8L;
+    }
+
+    /** エンコード（データが最大容量を超える場合はIllegalArgumentException。事前にcanEncodeで確認すること） */
+    public static QrCode encode(byte[] data, ErrorCorrection errorCorrection) {
+        int version = 1;
+        int dataUsedBits;
+        while (true) {
+            dataUsedBits = 4 + (version <= 9 ? 8 : 16) + data.length * 8;
+            if (dataUsedBits <= numDataCodewords(version, errorCorrection) * 8) {
+                break;
+            }
+            if (version == MAX_VERSION) {
+                throw new IllegalArgumentException("QRコードに収まらないデータです: " + data.length + "バイト");
+            }
+            version++;
+        }
+
+        // 同じ型番に収まるなら誤り訂正レベルを上げる
+        for (ErrorCorrection higher : ErrorCorrection.values()) {
+            if (higher.ordinal() > errorCorrection.ordinal()
+                    && dataUsedBits <= numDataCodewords(version, higher) * 8) {
+                errorCorrection = higher;
+            }
+        }
+
+        // モード指示子・文字数指示子・データ・終端パターン・埋め草コード語
+        int capacityBits = numDataCodewords(version, errorCorrection) * 8;
+        BitBuffer bits = new BitBuffer(capacityBits);
+        bits.append(0b0100, 4);
+        bits.append(data.length, version <= 9 ? 8 : 16);
+        for (byte b : data) {
+            bits.append(b & 0xFF, 8);
+        }
+        bits.append(0, Math.min(4, capacityBits - bits.length()));
+        bits.append(0, (8 - bits.length() % 8) % 8);
+        for (int pad = 0xEC; bits.length() < capacityBits; pad ^= 0xEC ^ 0x11) {
+            bits.append(pad, 8);
+        }
+
+        return new QrCode(version, errorCorrection, bits.toBytes());
+    }
+
+    private QrCode(int version, ErrorCorrection errorCorrection, byte[] dataCodewords) {
+        this.version = version;
+        this.size = version * 4 + 17;
+        this.errorCorrection = errorCorrection;
+        this.modules = new boolean[size][size];
+        this.isFunction = new boolean[size][size];
+
+        drawFunctionPatterns();
+        drawCodewords(addEccAndInterleave(dataCodewords));
+
+        // ペナルティが最小のマスクを選ぶ
+        int bestMask = 0;
+        int minPenalty = Integer.MAX_VALUE;
+        for (int mask = 0; mask < 8; mask++) {
+            applyMask(mask);
+            drawFormatBits(mask);
+            int penalty = penaltyScore();
+            if (penalty < minPenalty) {
+                bestMask = mask;
+                minPenalty = penalty;
+            }
+            applyMask(mask);
+        }
+        applyMask(bestMask);
+        drawFormatBits(bestMask);
+    }
+
+    /** 型番 */
+    public int version() {
+        return version;
+    }
+
+    /** 1辺のモジュール数 */
+    public int size() {
+        return size;
+    }
+
+    /** 誤り訂正レベル（指定より上がっている場合がある） */
+    public ErrorCorrection errorCorrection() {
+        return errorCorrection;
+    }
+
+    /** モジュールが暗かどうか（範囲外は明） */
+    public boolean isDark(int x, int y) {
+        return 0 <= x && x < size && 0 <= y && y < size && modules[y][x];
+    }
+
+    /** タイミングパターン・位置検出パターン・位置合わせパターン・形式情報・型番情報 */
+    private void drawFunctionPatterns() {
+        for (int i = 0; i < size; i++) {
+            setFunctionModule(6, i, i % 2 == 0);
+            setFunctionModule(i, 6, i % 2 == 0);
+        }
+
+        drawFinderPattern(3, 3);
+        drawFinderPattern(size - 4, 3);
+        drawFinderPattern(3, size - 4);
+
+        int[] positions = alignmentPatternPositions();
+        int count = positions.length;
+        for (int i = 0; i < count; i++) {
+            for (int j = 0; j < count; j++) {
+                // 位置検出パターンと重なる3か所は除く
+                if (!(i == 0 && j == 0 || i == 0 && j == count - 1 || i == count - 1 && j == 0)) {
+                    drawAlignmentPattern(positions[i], positions[j]);
+                }
+            }
+        }
+
+        // 形式情報はマスク決定後に書き直すため、ここでは領域の確保のみ
+        drawFormatBits(0);
+        drawVersion();
+    }
+
+    /** 形式情報（誤り訂正レベルとマスク。BCH(15,5)符号） */
+    private void drawFormatBits(int mask) {
+        int data = errorCorrection.formatBits << 3 | mask;
+        int remainder = data;
+        for (int i = 0; i < 10; i++) {
+            remainder = (remainder << 1) ^ ((remainder >>> 9) * 0x537);
+        }
+        int bits = (data << 10 | remainder) ^ 0x5412;
+
+        // 左上
+        for (int i = 0; i <= 5; i++) {
+            setFunctionModule(8, i, bit(bits, i));
+        }
+        setFunctionModule(8, 7, bit(bits, 6));
+        setFunctionModule(8, 8, bit(bits, 7));
+        setFunctionModule(7, 8, bit(bits, 8));
+        for (int i = 9; i < 15; i++) {
+            setFunctionModule(14 - i, 8, bit(bits, i));
+        }
+
+        // 右上・左下
+        for (int i = 0; i < 8; i++) {
+            setFunctionModule(size - 1 - i, 8, bit(bits, i));
+        }
+        for (int i = 8; i < 15; i++) {
+            setFunctionModule(8, size - 15 + i, bit(bits, i));
+        }
+        setFunctionModule(8, size - 8, true);
+    }
+
+    /** 型番情報（型番7以上。BCH(18,6)符号） */
+    private void drawVersion() {
+        if (version < 7) {
+            return;
+        }
+        int remainder = version;
+        for (int i = 0; i < 12; i++) {
+            remainder = (remainder << 1) ^ ((remainder >>> 11) * 0x1F25);
+        }
+        int bits = version << 12 | remainder;
+
+        for (int i = 0; i < 18; i++) {
+            boolean dark = bit(bits, i);
+            int a = size - 11 + i % 3;
+            int b = i / 3;
+            setFunctionModule(a, b, dark);
+            setFunctionModule(b, a, dark);
+        }
+    }
+
+    /** 位置検出パターン（分離パターンを含む） */
+    private void drawFinderPattern(int x, int y) {
+        for (int dy = -4; dy <= 4; dy++) {
+            for (int dx = -4; dx <= 4; dx++) {
+                int distance = Math.max(Math.abs(dx), Math.abs(dy));
+                int xx = x + dx;
+                int yy = y + dy;
+                if (0 <= xx && xx < size && 0 <= yy && yy < size) {
+                    setFunctionModule(xx, yy, distance != 2 && distance != 4);
+                }
+            }
+        }
+    }
+
+    /** 位置合わせパターン */
+    private void drawAlignmentPattern(int x, int y) {
+        for (int dy = -2; dy <= 2; dy++) {
+            for (int dx = -2; dx <= 2; dx++) {
+                setFunctionModule(x + dx, y + dy, Math.max(Math.abs(dx), Math.abs(dy)) != 1);
+            }
+        }
+    }
+
+    /** 位置合わせパターンの中心座標（昇順） */
+    private int[] alignmentPatternPositions() {
+        if (version == 1) {
+            return new int[0];
+        }
+        int count = version / 7 + 2;
+        int step = (version * 8 + count * 3 + 5) / (count * 4 - 4) * 2;
+        int[] positions = new int[count];
+        positions[0] = 6;
+        for (int i = count - 1, position = size - 7; i >= 1; i--, position -= step) {
+            positions[i] = position;
+        }
+        return positions;
+    }
+
+    private void setFunctionModule(int x, int y, boolean dark) {
+        modules[y][x] = dark;
+        isFunction[y][x] = true;
+    }
+
+    /** データをブロックに分けて誤り訂正コード語を付け、インターリーブする */
+    private byte[] addEccAndInterleave(byte[] data) {
+        int numBlocks = NUM_ERROR_CORRECTION_BLOCKS[errorCorrection.ordinal()][version];
+        int blockEccLength = ECC_CODEWORDS_PER_BLOCK[errorCorrection.ordinal()][version];
+        int rawCodewords = numRawDataModules(version) / 8;
+        int numShortBlocks = numBlocks - rawCodewords % numBlocks;
+        int shortBlockLength = rawCodewords / numBlocks;
+
+        // 短いブロックはデータが1コード語少ない（長いブロックと位置を揃えるため、その位置は空けておく）
+        byte[] divisor = reedSolomonDivisor(blockEccLength);
+        byte[][] blocks = new byte[numBlocks][];
+        for (int i = 0, offset = 0; i < numBlocks; i++) {
+            int dataLength = shortBlockLength - blockEccLength + (i < numShortBlocks ? 0 : 1);
+            byte[] blockData = Arrays.copyOfRange(data, offset, offset + dataLength);
+            offset += dataLength;
+            byte[] block = Arrays.copyOf(blockData, shortBlockLength + 1);
+            byte[] ecc = reedSolomonRemainder(blockData, divisor);
+            System.arraycopy(ecc, 0, block, block.length - blockEccLength, blockEccLength);
+            blocks[i] = block;
+        }
+
+        byte[] result = new byte[rawCodewords];
+        int index = 0;
+        for (int i = 0; i < shortBlockLength + 1; i++) {
+            for (int j = 0; j < numBlocks; j++) {
+                if (i != shortBlockLength - blockEccLength || j >= numShortBlocks) {
+                    result[index++] = blocks[j][i];
+                }
+            }
+        }
+        return result;
+    }
+
+    /** コード語の配置（右下から2列ずつジグザグに） */
+    private void drawCodewords(byte[] codewords) {
+        int bitIndex = 0;
+        int totalBits = codewords.length * 8;
+        for (int right = size - 1; right >= 1; right -= 2) {
+            if (right == 6) {
+                // 縦のタイミングパターンの列は飛ばす
+                right = 5;
+            }
+            boolean upward = ((right + 1) & 2) == 0;
+            for (int vertical = 0; vertical < size; vertical++) {
+                int y = upward ? size - 1 - vertical : vertical;
+                for (int j = 0; j < 2; j++) {
+                    int x = right - j;
+                    if (!isFunction[y][x] && bitIndex < totalBits) {
+                        modules[y][x] = bit(codewords[bitIndex >>> 3], 7 - (bitIndex & 7));
+                        bitIndex++;
+                    }
+                }
+            }
+        }
+    }
+
+    /** マスクの適用（同じマスクをもう一度適用すると元に戻る） */
+    private void applyMask(int mask) {
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                boolean invert = switch (mask) {
+                    case 0 -> (x + y) % 2 == 0;
+                    case 1 -> y % 2 == 0;
+                    case 2 -> x % 3 == 0;
+                    case 3 -> (x + y) % 3 == 0;
+                    case 4 -> (x / 3 + y / 2) % 2 == 0;
+                    case 5 -> x * y % 2 + x * y % 3 == 0;
+                    case 6 -> (x * y % 2 + x * y % 3) % 2 == 0;
+                    case 7 -> ((x + y) % 2 + x * y % 3) % 2 == 0;
+                    default -> throw new IllegalArgumentException("mask: " + mask);
+                };
+                modules[y][x] ^= invert && !isFunction[y][x];
+            }
+        }
+    }
+
+    /** マスク評価のペナルティ */
+    private int penaltyScore() {
+        int result = 0;
+
+        // 行・列ごとの同色の連続とファインダー類似パターン（列は転置して行と同じく走査する）
+        boolean[][] columns = new boolean[size][size];
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                columns[x][y] = modules[y][x];
+            }
+        }
+        int[] runHistory = new int[7];
+        for (boolean[][] lines : new boolean[][][] { modules, columns }) {
+            for (boolean[] line : lines) {
+                boolean runColor = false;
+                int runLength = 0;
+                Arrays.fill(runHistory, 0);
+                for (int j = 0; j < size; j++) {
+                    boolean dark = line[j];
+                    if (dark == runColor) {
+                        runLength++;
+                        if (runLength == 5) {
+                            result += PENALTY_N1;
+                        } else if (runLength > 5) {
+                            result++;
+                        }
+                    } else {
+                        addRunHistory(runLength, runHistory);
+                        if (!runColor) {
+                            result += countFinderLikePatterns(runHistory) * PENALTY_N3;
+                        }
+                        runColor = dark;
+                        runLength = 1;
+                    }
+                }
+                if (runColor) {
+                    addRunHistory(runLength, runHistory);
+                    runLength = 0;
+                }
+                // 右端（下端）の外側の明領域を加えて終える
+                addRunHistory(runLength + size, runHistory);
+                result += countFinderLikePatterns(runHistory) * PENALTY_N3;
+            }
+        }
+
+        // 2x2の同色ブロック
+        for (int y = 0; y < size - 1; y++) {
+            for (int x = 0; x < size - 1; x++) {
+                boolean color = modules[y][x];
+                if (color == modules[y][x + 1] && color == modules[y + 1][x] && color == modules[y + 1][x + 1]) {
+                    result += PENALTY_N2;
+                }
+            }
+        }
+
+        // 暗モジュールの割合の50%からの偏り（5%ごと）
+        int dark = 0;
+        for (boolean[] row : modules) {
+            for (boolean module : row) {
+                if (module) {
+                    dark++;
+                }
+            }
+        }
+        int total = size * size;
+        int k = (Math.abs(dark * 20 - total * 10) + total - 1) / total - 1;
+        result += k * PENALTY_N4;
+        return result;
+    }
+
+    /** 直近の連続の長さ（先頭が最新。最初の明の連続には左端（上端）の外側の明領域を加える） */
+    private void addRunHistory(int runLength, int[] runHistory) {
+        if (runHistory[0] == 0) {
+            runLength += size;
+        }
+        runHistory[6] = runHistory[5];
+        runHistory[5] = runHistory[4];
+        runHistory[4] = runHistory[3];
+        runHistory[3] = runHistory[2];
+        runHistory[2] = runHistory[1];
+        runHistory[1] = runHistory[0];
+        runHistory[0] = runLength;
+    }
+
+    /** 暗明暗暗暗明暗（1:1:3:1:1）の前後に幅4以上の明領域があるパターンの数 */
+    private static int countFinderLikePatterns(int[] runHistory) {
+        int n = runHistory[1];
+        boolean core = n > 0 && runHistory[2] == n && runHistory[3] == n * 3 && runHistory[4] == n
+                && runHistory[5] == n;
+        return (core && runHistory[0] >= n * 4 && runHistory[6] >= n ? 1 : 0)
+                + (core && runHistory[6] >= n * 4 && runHistory[0] >= n ? 1 : 0);
+    }
+
+    /** 機能パターンを除いたデータ・誤り訂正コード語用のモジュール数 */
+    private static int numRawDataModules(int version) {
+        int result = (16 * version + 128) * version + 64;
+        if (version >= 2) {
+            int count = version / 7 + 2;
+            result -= (25 * count - 10) * count - 55;
+            if (version >= 7) {
+                result -= 36;
+            }
+        }
+        return result;
+    }
+
+    /** データコード語数 */
+    private static int numDataCodewords(int version, ErrorCorrection errorCorrection) {
+        return numRawDataModules(version) / 8
+                - ECC_CODEWORDS_PER_BLOCK[errorCorrection.ordinal()][version]
+                        * NUM_ERROR_CORRECTION_BLOCKS[errorCorrection.ordinal()][version];
+    }
+
+    /** リード・ソロモン符号の生成多項式（GF(2^8)、原始多項式0x11D。最高次の係数1は省略） */
+    private static byte[] reedSolomonDivisor(int degree) {
+        byte[] result = new byte[degree];
+        result[degree - 1] = 1;
+        int root = 1;
+        for (int i = 0; i < degree; i++) {
+            for (int j = 0; j < result.length; j++) {
+                result[j] = (byte) gfMultiply(result[j] & 0xFF, root);
+                if (j + 1 < result.length) {
+                    result[j] ^= result[j + 1];
+                }
+            }
+            root = gfMultiply(root, 0x02);
+        }
+        return result;
+    }
+
+    /** 誤り訂正コード語（データを生成多項式で割った余り） */
+    private static byte[] reedSolomonRemainder(byte[] data, byte[] divisor) {
+        byte[] result = new byte[divisor.length];
+        for (byte b : data) {
+            int factor = (b ^ result[0]) & 0xFF;
+            System.arraycopy(result, 1, result, 0, result.length - 1);
+            result[result.length - 1] = 0;
+            for (int i = 0; i < result.length; i++) {
+                result[i] ^= (byte) gfMultiply(divisor[i] & 0xFF, factor);
+            }
+        }
+        return result;
+    }
+
+    /** GF(2^8)の乗算（対数表を使う） */
+    private static int gfMultiply(int x, int y) {
+        if (x == 0 || y == 0) {
+            return 0;
+        }
+        return GF_EXP[GF_LOG[x] + GF_LOG[y]];
+    }
+
+    private static boolean bit(int value, int index) {
+        return ((value >>> index) & 1) != 0;
+    }
+
+    /** ビット列（上位ビットから詰める） */
+    private static final class BitBuffer {
+        private final byte[] bytes;
+        private int length;
+
+        BitBuffer(int capacityBits) {
+            this.bytes = new byte[(capacityBits + 7) / 8];
+        }
+
+        void append(int value, int count) {
+            for (int i = count - 1; i >= 0; i--, length++) {
+                if (((value >>> i) & 1) != 0) {
+                    bytes[length >>> 3] |= (byte) (0x80 >>> (length & 7));
+                }
+            }
+        }
+
+        int length() {
+            return length;
+        }
+
+        byte[] toBytes() {
+            return bytes;
+        }
+    }
+}
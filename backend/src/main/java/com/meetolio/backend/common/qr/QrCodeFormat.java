@@ -0,0 +1,32 @@
+package com.meetolio.backend.common.qr;
+
+import com.meetolio.backend.common.error.BadRequestException;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/** QRコードの画像形式 */
+@Getter
+@RequiredArgsConstructor
+public enum QrCodeFormat {
+
+    PNG("image/png", "png"),
+    SVG("image/svg+xml", "svg");
+
+    /** Content-Type */
+    private final String contentType;
+
+    /** ファイル拡張子（形式の指定にも使う） */
+    private final String extension;
+
+    /** 形式名からの変換（不正な値はBadRequestException） */
+    public static QrCodeFormat of(String name) {
+        for (QrCodeFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(name)) {
+                return format;
+            }
+        }
+        // TODO: メッセージ共通化
+        throw new BadRequestException("QRコードの形式はpngまたはsvgで指定してください");
+    }
+}
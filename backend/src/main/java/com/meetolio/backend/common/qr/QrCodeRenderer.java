@@ -0,0 +1,113 @@
+package com.meetolio.backend.common.qr;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * QRコードの画像化
+ *
+ * 周囲に規格どおり4モジュールの余白（クワイエットゾーン）を付ける。
+ * PNGはモジュールを整数倍に拡大するため、画像の1辺はsize以下でモジュール数の倍数になる。
+ */
+public final class QrCodeRenderer {
+
+    /** 余白のモジュール数 */
+    private static final int QUIET_ZONE = 4;
+
+    /** PNGのシグネチャ */
+    private static final byte[] PNG_SIGNATURE = { (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n' };
+
+    private QrCodeRenderer() {
+    }
+
+    /** 画像の生成（sizeは1辺のピクセル数） */
+    public static byte[] render(QrCode qrCode, QrCodeFormat format, int size) {
+        return switch (format) {
+            case PNG -> png(qrCode, size);
+            case SVG -> svg(qrCode, size);
+        };
+    }
+
+    /** 1bitのグレースケールPNG（1行はフィルターなしの1バイト＋1ピクセル1ビット） */
+    private static byte[] png(QrCode qrCode, int size) {
+        int modules = qrCode.size() + QUIET_ZONE * 2;
+        int scale = Math.max(1, size / modules);
+        int width = modules * scale;
+        int rowBytes = 1 + (width + 7) / 8;
+
+        // 明を1（白）とし、拡大した同じ行はscale回繰り返す
+        byte[] pixels = new byte[rowBytes * width];
+        for (int y = 0; y < modules; y++) {
+            int offset = y * scale * rowBytes;
+            for (int x = 0; x < width; x++) {
+                if (!qrCode.isDark(x / scale - QUIET_ZONE, y - QUIET_ZONE)) {
+                    pixels[offset + 1 + (x >>> 3)] |= (byte) (0x80 >>> (x & 7));
+                }
+            }
+            for (int i = 1; i < scale; i++) {
+                System.arraycopy(pixels, offset, pixels, offset + i * rowBytes, rowBytes);
+            }
+        }
+
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        deflater.setInput(pixels);
+        deflater.finish();
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(pixels.length / 8 + 64);
+        byte[] buffer = new byte[8192];
+        while (!deflater.finished()) {
+            compressed.write(buffer, 0, deflater.deflate(buffer));
+        }
+        deflater.end();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(compressed.size() + 64);
+        out.writeBytes(PNG_SIGNATURE);
+        ByteBuffer header = ByteBuffer.allocate(13).putInt(width).putInt(width)
+                .put((byte) 1).put((byte) 0).put((byte) 0).put((byte) 0).put((byte) 0);
+        chunk(out, "IHDR", header.array());
+        chunk(out, "IDAT", compressed.toByteArray());
+        chunk(out, "IEND", new byte[0]);
+        return out.toByteArray();
+    }
+
+    /** PNGのチャンク（長さ・種類・データ・CRC） */
+    private static void chunk(ByteArrayOutputStream out, String type, byte[] data) {
+        byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+        CRC32 crc = new CRC32();
+        crc.update(typeBytes);
+        crc.update(data);
+        out.writeBytes(ByteBuffer.allocate(4).putInt(data.length).array());
+        out.writeBytes(typeBytes);
+        out.writeBytes(data);
+        out.writeBytes(ByteBuffer.allocate(4).putInt((int) crc.getValue()).array());
+    }
+
+    /** 暗モジュールを横に連続した矩形ごとに1つのパスにまとめたSVG */
+    private static byte[] svg(QrCode qrCode, int size) {
+        int modules = qrCode.size() + QUIET_ZONE * 2;
+        StringBuilder svg = new StringBuilder(qrCode.size() * qrCode.size() * 4);
+        svg.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+                .append("<svg xmlns=\"http://www.w3.org/2000/svg\" version=\"1.1\" width=\"").append(size)
+                .append("\" height=\"").append(size).append("\" viewBox=\"0 0 ").append(modules).append(' ')
+                .append(modules).append("\" shape-rendering=\"crispEdges\">\n")
+                .append("<rect width=\"100%\" height=\"100%\" fill=\"#FFFFFF\"/>\n")
+                .append("<path fill=\"#000000\" d=\"");
+        for (int y = 0; y < qrCode.size(); y++) {
+            for (int x = 0; x < qrCode.size(); x++) {
+                if (!qrCode.isDark(x, y)) {
+                    continue;
+                }
+                int start = x;
+                while (qrCode.isDark(x + 1, y)) {
+                    x++;
+                }
+                svg.append('M').append(start + QUIET_ZONE).append(',').append(y + QUIET_ZONE)
+                        .append('h').append(x - start + 1).append("v1h-").append(x - start + 1).append('z');
+            }
+        }
+        svg.append("\"/>\n</svg>\n");
+        return svg.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,307 @@
+package com.meetolio.backend.common.ratelimit;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meetolio.backend.common.error.ErrorResponseDto;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * レート制限フィルター（JWT認証の後に実行し、上限を超えたリクエストは429を返す）
+ *
+ * ルールはmeetolio.rate-limit.rulesで指定し、メソッド・パスが一致したルールをすべて適用する。
+ * emailを単位とするルールのみリクエストボディを先読みする（読んだ分はコントローラーで再度読める）。
+ */
+@Slf4j
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    /** メトリクス名のプレフィックス */
+    private static final String METRIC_NAME = "meetolio.ratelimit";
+
+    /** emailを取り出すために先読みするボディの上限（超える場合はemailのルールを適用しない） */
+    private static final int MAX_BODY_BYTES = 8192;
+
+    /** 有効・無効 */
+    private final boolean enabled;
+
+    /** ルール（設定順） */
+    private final List<Route> routes;
+
+    /** オブジェクトマッパー */
+    private final ObjectMapper objectMapper;
+
+    public RateLimitFilter(RateLimitProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.objectMapper = objectMapper;
+        this.routes = new ArrayList<>(properties.getRules().size());
+        for (RateLimitProperties.Rule rule : properties.getRules()) {
+            TokenBucketLimiter limiter = new TokenBucketLimiter(rule.getLimit(), rule.getPeriod(),
+                    rule.getBurst() != null ? rule.getBurst() : rule.getLimit(), properties.getMaxKeys(),
+                    rule.isDenyWhenFull());
+            Counter rejected = Counter.builder(METRIC_NAME + ".rejected").tag("rule", rule.getName())
+                    .description("レート制限で拒否したリクエスト数").register(meterRegistry);
+            Gauge.builder(METRIC_NAME + ".keys", limiter, TokenBucketLimiter::size).tag("rule", rule.getName())
+                    .description("保持しているキーの数").register(meterRegistry);
+            FunctionCounter.builder(METRIC_NAME + ".untracked", limiter, TokenBucketLimiter::untrackedCount)
+                    .tag("rule", rule.getName())
+                    .description("キーの上限を超えたため記録できなかったリクエスト数（deny-when-fullなら拒否、それ以外は許可）")
+                    .register(meterRegistry);
+            routes.add(new Route(rule.getName(),
+                    rule.getMethod() != null ? rule.getMethod().toUpperCase(Locale.ROOT) : null,
+                    new PathMatcher(rule.getPath()), rule.getKey(), limiter, rejected));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || routes.isEmpty();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        HttpServletRequest current = request;
+        String uri = request.getRequestURI();
+        String email = null;
+
+        for (Route route : routes) {
+            if (route.method() != null && !route.method().equals(request.getMethod())) {
+                continue;
+            }
+            if (!route.path().matches(uri)) {
+                continue;
+            }
+
+            Object key = switch (route.key()) {
+                case IP -> request.getRemoteAddr();
+                case USER -> currentUserId();
+                case EMAIL -> {
+                    if (current == request) {
+                        CachedBodyRequest cached = new CachedBodyRequest(request);
+                        current = cached;
+                        email = extractEmail(cached.prefix, cached.complete);
+                    }
+                    yield email;
+                }
+            };
+            if (key == null) {
+                continue;
+            }
+
+            long waitNanos = route.limiter().tryAcquire(key);
+            if (waitNanos > 0) {
+                route.rejected().increment();
+                log.debug("レート制限により拒否しました: rule={}, uri={}", route.name(), request.getRequestURI());
+                reject(response, waitNanos);
+                return;
+            }
+        }
+
+        filterChain.doFilter(current, response);
+    }
+
+    /** 429を返す（Retry-Afterは次に許可されるまでの秒数、切り上げ） */
+    private void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1, (waitNanos + 999_999_999) / 1_000_000_000);
+
+        // TODO: メッセージ共通化
+        ErrorResponseDto errorResponseDto = new ErrorResponseDto(429, "リクエストが多すぎます。しばらくしてから再度お試しください。");
+
+        response.setStatus(429);
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType("application/json;charset=UTF-8");
+        response.getWriter().write(objectMapper.writeValueAsString(errorResponseDto));
+    }
+
+    /** JSONボディの最上位のemail（小文字に揃える。取り出せない場合はnull） */
+    private String extractEmail(byte[] body, boolean complete) {
+        if (!complete) {
+            return null;
+        }
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("email".equals(field) && value == JsonToken.VALUE_STRING) {
+                    String email = parser.getText().strip().toLowerCase(Locale.ROOT);
+                    return email.isEmpty() ? null : email;
+                }
+                parser.skipChildren();
+            }
+            return null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static Integer currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof Integer userId ? userId : null;
+    }
+
+    /** ルール */
+    private record Route(String name, String method, PathMatcher path, RateLimitKey key,
+            TokenBucketLimiter limiter, Counter rejected) {
+    }
+
+    /** パスの一致判定（固定のパスと末尾の/**はパスを解析せずに判定する） */
+    private static final class PathMatcher {
+
+        /** 固定部分（末尾の/**を除く） */
+        private final String literal;
+
+        /** 末尾が/**かどうか */
+        private final boolean prefix;
+
+        /** 上記以外のパターン（固定・末尾の/**の場合はnull） */
+        private final PathPattern pattern;
+
+        PathMatcher(String path) {
+            PathPattern parsed = PathPatternParser.defaultInstance.parse(path);
+            String stripped = path.endsWith("/**") ? path.substring(0, path.length() - 3) : path;
+            if (stripped.chars().noneMatch(c -> c == '*' || c == '?' || c == '{')) {
+                this.literal = stripped;
+                this.prefix = stripped.length() < path.length();
+                this.pattern = null;
+            } else {
+                this.literal = null;
+                this.prefix = false;
+                this.pattern = parsed;
+            }
+        }
+
+        boolean matches(String uri) {
+            if (pattern != null) {
+                return pattern.matches(PathContainer.parsePath(uri));
+            }
+            if (!prefix) {
+                return uri.equals(literal);
+            }
+            return uri.startsWith(literal)
+                    && (uri.length() == literal.length() || uri.charAt(literal.length()) == '/');
+        }
+    }
+
+    /** ボディの先頭（MAX_BODY_BYTESまで）を先読みし、後続の読み込みでは先読み分から返すリクエスト */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        /** 先読みしたボディ */
+        private final byte[] prefix;
+
+        /** ボディを最後まで読めたかどうか */
+        private final boolean complete;
+
+        /** 後続の読み込み用（先読み分に続けて元のストリームを読む） */
+        private final ServletInputStream inputStream;
+
+        CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            ServletInputStream original = request.getInputStream();
+            byte[] read = original.readNBytes(MAX_BODY_BYTES + 1);
+            this.complete = read.length <= MAX_BODY_BYTES;
+            this.prefix = read;
+            this.inputStream = new ReplayInputStream(new ByteArrayInputStream(read), original);
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            return inputStream;
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(inputStream,
+                    encoding != null ? encoding : StandardCharsets.UTF_8.name()));
+        }
+    }
+
+    /** 先読み分を返した後、元のストリームを読む */
+    private static final class ReplayInputStream extends ServletInputStream {
+
+        private final InputStream prefix;
+
+        private final ServletInputStream rest;
+
+        private boolean prefixFinished;
+
+        ReplayInputStream(InputStream prefix, ServletInputStream rest) {
+            this.prefix = prefix;
+            this.rest = rest;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (!prefixFinished) {
+                int b = prefix.read();
+                if (b != -1) {
+                    return b;
+                }
+                prefixFinished = true;
+            }
+            return rest.read();
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (!prefixFinished) {
+                int n = prefix.read(buffer, offset, length);
+                if (n > 0) {
+                    return n;
+                }
+                prefixFinished = true;
+            }
+            return rest.read(buffer, offset, length);
+        }
+
+        @Override
+        public boolean isFinished() {
+            return prefixFinished && rest.isFinished();
+        }
+
+        @Override
+        public boolean isReady() {
+            return !prefixFinished || rest.isReady();
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            rest.setReadListener(readListener);
+        }
+    }
+}
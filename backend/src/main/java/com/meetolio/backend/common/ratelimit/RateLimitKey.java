@@ -0,0 +1,14 @@
+package com.meetolio.backend.common.ratelimit;
+
+/** レート制限の単位 */
+public enum RateLimitKey {
+
+    /** 送信元IPアドレス（プロキシ配下ではserver.forward-headers-strategyの設定が必要） */
+    IP,
+
+    /** ログイン中のユーザーID（未ログインのリクエストは対象外） */
+    USER,
+
+    /** リクエストボディ（JSON）のemail（大文字・小文字は区別しない。含まれないリクエストは対象外） */
+    EMAIL
+}
@@ -0,0 +1,33 @@
+package com.meetolio.backend.common.ratelimit;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/** レート制限の設定（meetolio.rate-limit） */
+@Data
+@Component
+@ConfigurationProperties("meetolio.rate-limit")
+public class RateLimitProperties {
+    private boolean enabled; // 有効・無効
+    private long maxKeys; // ルールごとに保持するキーの上限
+    private List<Rule> rules = new ArrayList<>(); // ルール（一致したものをすべて適用する）
+
+    /** ルール */
+    @Data
+    public static class Rule {
+        private String name; // ルール名（メトリクスのタグ）
+        private String method; // HTTPメソッド（未指定はすべて）
+        private String path; // パスのパターン（例: /api/auth/login, /api/**）
+        private RateLimitKey key; // 制限の単位
+        private int limit; // periodあたりの回数
+        private Duration period; // 期間
+        private Integer burst; // 連続して許可する回数（未指定はlimitと同じ）
+        private boolean denyWhenFull; // キーの上限に達して新しいキーを記録できない場合に拒否するか（falseは制限せずに許可）
+    }
+}
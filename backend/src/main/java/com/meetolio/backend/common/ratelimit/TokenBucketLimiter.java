@@ -0,0 +1,134 @@
+package com.meetolio.backend.common.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * キーごとのトークンバケット
+ *
+ * バケットの状態は「バケットが満杯に戻る時刻 - バースト分」（GCRAの理論到着時刻）1つのlongで表し、判定はCAS1回でロックを取らない。
+ * バケットはキーのハッシュで分けた複数のConcurrentHashMapで保持する。この時刻を過ぎたバケットは満杯で、
+ * 破棄しても判定は変わらないため、追加時に一定間隔で掃除する（読み取り側はアクセス時刻を記録しない）。
+ * 掃除しても上限（maxKeys）を超える場合、新しいキーは記録せずに、denyWhenFullなら拒否、そうでなければ許可する。
+ * 認証のルールで許可すると、大量のキーを送り付けて上限を埋めるだけで制限を無効にできるため、拒否とする
+ * （記録済みのキーは通常どおり判定され、満杯に戻ったバケットが掃除されれば新しいキーも記録できる）。
+ * 記録できなかった件数は数える（継続して増える場合はmaxKeysの不足か、キーの大量送信）。
+ */
+public class TokenBucketLimiter {
+
+    /** 分割数（2のべき乗） */
+    private static final int STRIPES = 64;
+
+    /** トークン1つが回復する時間 */
+    private final long emissionIntervalNanos;
+
+    /** 満杯のバケットから連続で取得できる分の時間（emissionInterval × burst） */
+    private final long toleranceNanos;
+
+    /** 分割ごとのキーの上限 */
+    private final int maxKeysPerStripe;
+
+    /** キーごとのバケット（理論到着時刻、System.nanoTime基準） */
+    @SuppressWarnings("unchecked")
+    private final ConcurrentHashMap<Object, AtomicLong>[] stripes = new ConcurrentHashMap[STRIPES];
+
+    /** 分割ごとの次回の掃除時刻 */
+    private final AtomicLongArray nextSweepNanos = new AtomicLongArray(STRIPES);
+
+    /** 上限を超えて記録できなかった場合に拒否するか */
+    private final boolean denyWhenFull;
+
+    /** 上限を超えたため記録できなかった回数 */
+    private final LongAdder untracked = new LongAdder();
+
+    /** 現在時刻（ナノ秒。テストでは差し替える） */
+    private final LongSupplier nanoTime;
+
+    public TokenBucketLimiter(int limit, Duration period, int burst, long maxKeys, boolean denyWhenFull) {
+        this(limit, period, burst, maxKeys, denyWhenFull, System::nanoTime);
+    }
+
+    TokenBucketLimiter(int limit, Duration period, int burst, long maxKeys, boolean denyWhenFull,
+            LongSupplier nanoTime) {
+        if (limit < 1 || burst < 1 || period.isNegative() || period.isZero()) {
+            throw new IllegalArgumentException("limit・burstは1以上、periodは正の値で指定してください");
+        }
+        this.emissionIntervalNanos = Math.max(1, period.toNanos() / limit);
+        this.toleranceNanos = emissionIntervalNanos > Long.MAX_VALUE / 4 / burst ? Long.MAX_VALUE / 4
+                : emissionIntervalNanos * burst;
+        this.maxKeysPerStripe = (int) Math.max(1, Math.min(Integer.MAX_VALUE, (maxKeys + STRIPES - 1) / STRIPES));
+        this.denyWhenFull = denyWhenFull;
+        this.nanoTime = nanoTime;
+        long now = nanoTime.getAsLong();
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ConcurrentHashMap<>();
+            nextSweepNanos.set(i, now);
+        }
+    }
+
+    /** トークンを1つ取得（取得できた場合は0、できない場合は次に取得できるまでのナノ秒） */
+    public long tryAcquire(Object key) {
+        long now = nanoTime.getAsLong();
+        AtomicLong bucket = bucket(key, now);
+        if (bucket == null) {
+            untracked.increment();
+            // 拒否する場合はトークン1つ分の回復時間を待たせる（その間に掃除で空きができる）
+            return denyWhenFull ? emissionIntervalNanos : 0;
+        }
+        while (true) {
+            long arrival = bucket.get();
+            long next = (arrival - now > 0 ? arrival : now) + emissionIntervalNanos;
+            long waitNanos = next - now - toleranceNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (bucket.compareAndSet(arrival, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /** 保持しているキーの数 */
+    public long size() {
+        long size = 0;
+        for (ConcurrentHashMap<Object, AtomicLong> stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    /** キーの上限を超えたため記録できなかった回数（累計。denyWhenFullなら拒否、そうでなければ許可した回数） */
+    public long untrackedCount() {
+        return untracked.sum();
+    }
+
+    /** キーのバケット（上限を超えて作成できない場合はnull） */
+    private AtomicLong bucket(Object key, long now) {
+        int index = spread(key.hashCode());
+        ConcurrentHashMap<Object, AtomicLong> stripe = stripes[index];
+        AtomicLong bucket = stripe.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+
+        // 追加時のみ、前回から満杯に戻るまでの時間が経過していれば満杯のバケットを掃除する
+        long nextSweep = nextSweepNanos.get(index);
+        boolean full = stripe.size() >= maxKeysPerStripe;
+        if ((full || now - nextSweep >= 0) && nextSweepNanos.compareAndSet(index, nextSweep, now + toleranceNanos)) {
+            stripe.values().removeIf(candidate -> candidate.get() - now <= 0);
+            full = stripe.size() >= maxKeysPerStripe;
+        }
+        if (full) {
+            return stripe.get(key);
+        }
+        return stripe.computeIfAbsent(key, k -> new AtomicLong(now));
+    }
+
+    private static int spread(int hash) {
+        return (hash ^ (hash >>> 16)) & (STRIPES - 1);
+    }
+}
@@ -0,0 +1,61 @@
+package com.meetolio.backend.common.search;
+
+import java.util.Arrays;
+
+/** 転置索引のポスティングリスト（ユーザーIDの昇順int配列） */
+final class IntPostingList {
+
+    /** ユーザーID（先頭size件が有効） */
+    private int[] ids = new int[2];
+
+    /** 件数 */
+    private int size;
+
+    /** 追加（昇順で末尾に追加する場合は配列コピーなし） */
+    void add(int id) {
+        int index = size > 0 && ids[size - 1] < id ? size : Arrays.binarySearch(ids, 0, size, id);
+        if (index >= 0 && index < size) {
+            return;
+        }
+        if (index < 0) {
+            index = -index - 1;
+        }
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        System.arraycopy(ids, index, ids, index + 1, size - index);
+        ids[index] = id;
+        size++;
+    }
+
+    /** 削除 */
+    void remove(int id) {
+        int index = Arrays.binarySearch(ids, 0, size, id);
+        if (index < 0) {
+            return;
+        }
+        System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+        size--;
+    }
+
+    boolean contains(int id) {
+        return Arrays.binarySearch(ids, 0, size, id) >= 0;
+    }
+
+    int get(int index) {
+        return ids[index];
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /** 推定メモリ使用量（バイト） */
+    long estimatedBytes() {
+        return 24 + 16 + 4L * ids.length;
+    }
+}
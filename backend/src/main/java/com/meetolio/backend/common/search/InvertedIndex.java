@@ -0,0 +1,155 @@
+package com.meetolio.backend.common.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * bi-gramの転置索引（スレッドセーフではない）
+ *
+ * 文書は正規化済みのフィールド文字列の配列として保持し、検索時の候補の絞り込みに索引、
+ * 最終的な一致判定とスコア計算に文書本体を使う。
+ * 推定メモリ使用量は登録・削除のたびに増減を反映し、計測時に索引を走査しない。
+ */
+final class InvertedIndex {
+
+    /** bi-gram → ユーザーID */
+    private final Map<String, IntPostingList> postings = new HashMap<>();
+
+    /** ユーザーID → 正規化済みフィールド */
+    private final Map<Integer, String[]> documents = new HashMap<>();
+
+    /** 推定メモリ使用量（バイト） */
+    private long estimatedBytes;
+
+    /** 文書の登録・置き換え（置き換え時は増減したbi-gramのポスティングリストのみ更新する） */
+    void put(int userId, String[] fields) {
+        String[] previous = documents.put(userId, fields);
+        estimatedBytes += documentBytes(fields);
+        Set<String> grams = grams(fields);
+        if (previous != null) {
+            estimatedBytes -= documentBytes(previous);
+            Set<String> previousGrams = grams(previous);
+            for (String gram : previousGrams) {
+                if (!grams.contains(gram)) {
+                    removePosting(gram, userId);
+                }
+            }
+            grams.removeAll(previousGrams);
+        }
+        for (String gram : grams) {
+            IntPostingList list = postings.get(gram);
+            if (list == null) {
+                list = new IntPostingList();
+                postings.put(gram, list);
+                estimatedBytes += postingBytes(gram, list);
+            }
+            long before = list.estimatedBytes();
+            list.add(userId);
+            estimatedBytes += list.estimatedBytes() - before;
+        }
+    }
+
+    /** 文書の削除 */
+    void remove(int userId) {
+        String[] fields = documents.remove(userId);
+        if (fields == null) {
+            return;
+        }
+        estimatedBytes -= documentBytes(fields);
+        for (String gram : grams(fields)) {
+            removePosting(gram, userId);
+        }
+    }
+
+    private void removePosting(String gram, int userId) {
+        IntPostingList list = postings.get(gram);
+        if (list != null) {
+            list.remove(userId);
+            if (list.isEmpty()) {
+                postings.remove(gram);
+                estimatedBytes -= postingBytes(gram, list);
+            }
+        }
+    }
+
+    String[] document(int userId) {
+        return documents.get(userId);
+    }
+
+    /** 検索語のbi-gramをすべて含む文書のユーザーID（2文字以上の語がない場合は全文書） */
+    List<Integer> candidates(List<String> terms) {
+        List<IntPostingList> lists = new ArrayList<>();
+        for (String gram : grams(terms.toArray(String[]::new))) {
+            IntPostingList list = postings.get(gram);
+            if (list == null) {
+                return List.of();
+            }
+            lists.add(list);
+        }
+        if (lists.isEmpty()) {
+            return new ArrayList<>(documents.keySet());
+        }
+
+        // 件数の少ないリストから順に積集合を取る
+        lists.sort(Comparator.comparingInt(IntPostingList::size));
+        IntPostingList smallest = lists.get(0);
+        List<Integer> result = new ArrayList<>(smallest.size());
+        outer: for (int i = 0; i < smallest.size(); i++) {
+            int userId = smallest.get(i);
+            for (int j = 1; j < lists.size(); j++) {
+                if (!lists.get(j).contains(userId)) {
+                    continue outer;
+                }
+            }
+            result.add(userId);
+        }
+        return result;
+    }
+
+    int documentCount() {
+        return documents.size();
+    }
+
+    int termCount() {
+        return postings.size();
+    }
+
+    /** 推定メモリ使用量（バイト。文字列・配列・HashMapのエントリを概算） */
+    long estimatedBytes() {
+        return estimatedBytes;
+    }
+
+    /** 文字列のbi-gram（1文字の文字列は対象外） */
+    private static Set<String> grams(String[] texts) {
+        Set<String> grams = new HashSet<>();
+        for (String text : texts) {
+            for (int i = 0; i + 2 <= text.length(); i++) {
+                grams.add(text.substring(i, i + 2));
+            }
+        }
+        return grams;
+    }
+
+    /** ポスティングリスト1つ分（HashMapのエントリ・bi-gram・リスト） */
+    private static long postingBytes(String gram, IntPostingList list) {
+        return 32 + stringBytes(gram) + list.estimatedBytes();
+    }
+
+    /** 文書1件分（HashMapのエントリ・キー・配列・フィールドの文字列） */
+    private static long documentBytes(String[] fields) {
+        long bytes = 32 + 16 + 16 + 4L * fields.length;
+        for (String field : fields) {
+            bytes += stringBytes(field);
+        }
+        return bytes;
+    }
+
+    private static long stringBytes(String value) {
+        return 24 + 16 + (long) value.length() * 2;
+    }
+}
@@ -0,0 +1,280 @@
+package com.meetolio.backend.common.search;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.meetolio.backend.common.datasource.ReadYourWrites;
+import com.meetolio.backend.common.event.PortfolioChangedEvent;
+import com.meetolio.backend.common.event.PortfolioResyncEvent;
+import com.meetolio.backend.entity.PortfolioEntity;
+import com.meetolio.backend.repository.PortfolioRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * ポートフォリオ全文検索の索引（メモリ上）
+ *
+ * 起動時にDBを全件走査して構築し、以降は変更イベントのあったポートフォリオを読み直して更新する。
+ * 構築・更新は専用スレッド1本で順に行うため、構築中の変更も構築後に反映される。
+ */
+@Slf4j
+@Component
+public class PortfolioSearchIndex implements DisposableBean {
+
+    /** メトリクス名のプレフィックス */
+    private static final String METRIC_NAME = "meetolio.search";
+
+    /** 変更の反映時に1回で読み直す件数 */
+    private static final int REFRESH_CHUNK_SIZE = 500;
+
+    /** フィールドごとの重み（name, nameKana, company, occupation, descriptionの順） */
+    private static final int[] FIELD_WEIGHTS = { 3, 3, 2, 2, 1 };
+
+    /** ポートフォリオRepository */
+    private final PortfolioRepository portfolioRepository;
+
+    /** 全件走査用（Cursorはトランザクション内でのみ読める） */
+    private final TransactionTemplate readOnlyTransaction;
+
+    /** 全件走査の接続先の指定（構築前の変更を取りこぼさないようプライマリから読む） */
+    private final ReadYourWrites readYourWrites;
+
+    /** 構築・更新用スレッド */
+    private final ExecutorService indexer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "portfolio-search-indexer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /** 反映待ちのユーザーID */
+    private final Queue<Integer> pendingUserIds = new ConcurrentLinkedQueue<>();
+
+    /** 反映処理の登録済みフラグ */
+    private final AtomicBoolean refreshScheduled = new AtomicBoolean();
+
+    /** 検索と更新の排他 */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** 索引本体（再構築時は丸ごと差し替える） */
+    private InvertedIndex index = new InvertedIndex();
+
+    /** 検索の処理時間 */
+    private final Timer queryTimer;
+
+    public PortfolioSearchIndex(PortfolioRepository portfolioRepository, PlatformTransactionManager transactionManager,
+            ReadYourWrites readYourWrites, MeterRegistry meterRegistry) {
+        this.portfolioRepository = portfolioRepository;
+        this.readYourWrites = readYourWrites;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+
+        this.queryTimer = Timer.builder(METRIC_NAME + ".query")
+                .description("全文検索の処理時間")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Gauge.builder(METRIC_NAME + ".index.documents", this, search -> search.read(InvertedIndex::documentCount))
+                .description("索引済みポートフォリオ数").register(meterRegistry);
+        Gauge.builder(METRIC_NAME + ".index.terms", this, search -> search.read(InvertedIndex::termCount))
+                .description("索引のbi-gram数").register(meterRegistry);
+        Gauge.builder(METRIC_NAME + ".index.memory", this, search -> search.read(InvertedIndex::estimatedBytes))
+                .description("索引の推定メモリ使用量").baseUnit("bytes").register(meterRegistry);
+    }
+
+    /**
+     * 検索（空白区切りの語をすべて含むポートフォリオをスコアの高い順に返す）
+     *
+     * スコアは語が見つかったフィールドの重みの合計で、フィールドの先頭に一致した場合は2倍とする。
+     */
+    public SearchResult search(String query, int limit) {
+        return queryTimer.record(() -> {
+            List<String> terms = SearchTextNormalizer.terms(query);
+            if (terms.isEmpty()) {
+                return new SearchResult(List.of(), 0);
+            }
+
+            List<Hit> hits = new ArrayList<>();
+            lock.readLock().lock();
+            try {
+                for (Integer userId : index.candidates(terms)) {
+                    int score = score(index.document(userId), terms);
+                    if (score > 0) {
+                        hits.add(new Hit(userId, score));
+                    }
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+
+            hits.sort(Comparator.comparingInt(Hit::score).reversed().thenComparingInt(Hit::userId));
+            return new SearchResult(List.copyOf(hits.subList(0, Math.min(limit, hits.size()))), hits.size());
+        });
+    }
+
+    /** 起動完了後に索引を構築 */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        indexer.execute(this::rebuild);
+    }
+
+    /** 全件再同期時に索引を再構築 */
+    @EventListener
+    public void onPortfolioResync(PortfolioResyncEvent event) {
+        indexer.execute(this::rebuild);
+    }
+
+    /** ポートフォリオ変更時（コミット後）に該当ポートフォリオを読み直して反映（連続した変更はまとめて読み直す） */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPortfolioChanged(PortfolioChangedEvent event) {
+        pendingUserIds.add(event.userId());
+        if (refreshScheduled.compareAndSet(false, true)) {
+            indexer.execute(this::refreshPending);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        indexer.shutdownNow();
+    }
+
+    /** 全件走査で新しい索引を作り、差し替える */
+    private void rebuild() {
+        try {
+            long start = System.nanoTime();
+            InvertedIndex rebuilt = readYourWrites.readFromPrimary(() -> readOnlyTransaction.execute(status -> {
+                InvertedIndex building = new InvertedIndex();
+                try (Cursor<PortfolioEntity> cursor = portfolioRepository.scan(null, null)) {
+                    for (PortfolioEntity entity : cursor) {
+                        building.put(entity.getUserId(), fields(entity));
+                    }
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+                return building;
+            }));
+            write(() -> index = rebuilt);
+            log.info("検索索引を構築しました: {}件, {}ms", rebuilt.documentCount(), (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.error("検索索引の構築に失敗しました", e);
+        }
+    }
+
+    /** 反映待ちのポートフォリオをまとめて読み直す */
+    private void refreshPending() {
+        refreshScheduled.set(false);
+        Set<Integer> userIds = new LinkedHashSet<>();
+        Integer userId;
+        do {
+            userId = pendingUserIds.poll();
+            if (userId != null) {
+                userIds.add(userId);
+            }
+            if (!userIds.isEmpty() && (userId == null || userIds.size() >= REFRESH_CHUNK_SIZE)) {
+                refresh(userIds);
+                userIds.clear();
+            }
+        } while (userId != null);
+    }
+
+    private void refresh(Set<Integer> userIds) {
+        try {
+            Map<Integer, PortfolioEntity> portfolios = portfolioRepository.findByIds(userIds.toArray(Integer[]::new))
+                    .stream().collect(Collectors.toMap(PortfolioEntity::getUserId, Function.identity()));
+            write(() -> {
+                for (Integer userId : userIds) {
+                    PortfolioEntity entity = portfolios.get(userId);
+                    if (entity != null) {
+                        index.put(userId, fields(entity));
+                    } else {
+                        index.remove(userId);
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("検索索引の更新に失敗しました: userIds={}", userIds, e);
+        }
+    }
+
+    private void write(Runnable update) {
+        lock.writeLock().lock();
+        try {
+            update.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private <T> T read(Function<InvertedIndex, T> reader) {
+        lock.readLock().lock();
+        try {
+            return reader.apply(index);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** すべての語がいずれかのフィールドに含まれる場合のスコア（含まれない語があれば0） */
+    private static int score(String[] fields, List<String> terms) {
+        int score = 0;
+        for (String term : terms) {
+            int termScore = 0;
+            for (int i = 0; i < fields.length; i++) {
+                if (fields[i].startsWith(term)) {
+                    termScore += FIELD_WEIGHTS[i] * 2;
+                } else if (fields[i].contains(term)) {
+                    termScore += FIELD_WEIGHTS[i];
+                }
+            }
+            if (termScore == 0) {
+                return 0;
+            }
+            score += termScore;
+        }
+        return score;
+    }
+
+    /** 検索対象フィールド（FIELD_WEIGHTSと同じ順） */
+    private static String[] fields(PortfolioEntity entity) {
+        return new String[] {
+                SearchTextNormalizer.normalize(entity.getName()),
+                SearchTextNormalizer.normalize(entity.getNameKana()),
+                SearchTextNormalizer.normalize(entity.getCompany()),
+                SearchTextNormalizer.normalize(entity.getOccupation()),
+                SearchTextNormalizer.normalize(entity.getDescription()),
+        };
+    }
+
+    /** 検索結果の1件 */
+    public record Hit(int userId, int score) {
+    }
+
+    /** 検索結果（hitsは上位limit件、totalは一致した全件数） */
+    public record SearchResult(List<Hit> hits, int total) {
+    }
+}
@@ -0,0 +1,53 @@
+package com.meetolio.backend.common.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 検索用の文字列正規化
+ *
+ * NFKCで全角英数・半角カナを統一し、英字は小文字、カタカナはひらがなに揃える。
+ * 「ヤマダ」「ﾔﾏﾀﾞ」「やまだ」、「ＡＣＭＥ」「acme」はそれぞれ同じ文字列になる。
+ */
+public final class SearchTextNormalizer {
+
+    /** カタカナとひらがなのコードポイントの差 */
+    private static final int KATAKANA_OFFSET = 'ァ' - 'ぁ';
+
+    private SearchTextNormalizer() {
+    }
+
+    /** 正規化（空白は除去する） */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        StringBuilder builder = new StringBuilder(normalized.length());
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (Character.isWhitespace(c)) {
+                continue;
+            }
+            builder.append(c >= 'ァ' && c <= 'ヶ' ? (char) (c - KATAKANA_OFFSET) : c);
+        }
+        return builder.toString();
+    }
+
+    /** 検索語の分割（空白区切りで正規化し、空の語は除く） */
+    public static List<String> terms(String query) {
+        List<String> terms = new ArrayList<>();
+        if (query == null) {
+            return terms;
+        }
+        for (String word : Normalizer.normalize(query, Normalizer.Form.NFKC).split("\\s+")) {
+            String term = normalize(word);
+            if (!term.isEmpty() && !terms.contains(term)) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+}
@@ -0,0 +1,152 @@
+package com.meetolio.backend.common.security;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.meetolio.backend.common.error.ServiceUnavailableException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+/**
+ * 専用スレッドプールで実行するPasswordEncoder
+ *
+ * BCryptのCPU負荷をリクエストスレッドから切り離し、同時実行数と待ち行列を制限する。
+ * 待ち行列が満杯の場合は待たずに、待ち時間を含めてtimeout以内に終わらない場合は処理を取り消して、
+ * ServiceUnavailableException(503)とする。
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    /** メトリクス名のプレフィックス */
+    private static final String METRIC_NAME = "meetolio.password.hash";
+
+    /** 実際のハッシュ処理 */
+    private final PasswordEncoder delegate;
+
+    /** ハッシュ処理用スレッドプール */
+    private final ThreadPoolExecutor executor;
+
+    /** 過負荷時のRetry-After秒数 */
+    private final long retryAfterSeconds;
+
+    /** 待ち時間を含む処理時間の上限 */
+    private final Duration timeout;
+
+    /** ハッシュ化の処理時間 */
+    private final Timer encodeTimer;
+
+    /** 照合の処理時間（一致） */
+    private final Timer matchedTimer;
+
+    /** 照合の処理時間（不一致） */
+    private final Timer mismatchedTimer;
+
+    /** 過負荷による拒否件数 */
+    private final Counter rejections;
+
+    /** 時間切れによる取り消し件数 */
+    private final Counter timeouts;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, long retryAfterSeconds,
+            Duration timeout, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.timeout = timeout;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.encodeTimer = Timer.builder(METRIC_NAME).tag("operation", "encode").tag("outcome", "success")
+                .description("パスワードハッシュ処理時間（待ち時間を除く）").register(meterRegistry);
+        this.matchedTimer = Timer.builder(METRIC_NAME).tag("operation", "matches").tag("outcome", "match")
+                .description("パスワードハッシュ処理時間（待ち時間を除く）").register(meterRegistry);
+        this.mismatchedTimer = Timer.builder(METRIC_NAME).tag("operation", "matches").tag("outcome", "mismatch")
+                .description("パスワードハッシュ処理時間（待ち時間を除く）").register(meterRegistry);
+        this.rejections = Counter.builder(METRIC_NAME + ".rejected")
+                .description("過負荷により拒否したハッシュ処理件数").register(meterRegistry);
+        this.timeouts = Counter.builder(METRIC_NAME + ".timeouts")
+                .description("時間切れにより取り消したハッシュ処理件数").register(meterRegistry);
+
+        // 待ち行列の長さ・実行中スレッド数などを公開（executor.queued など）
+        new ExecutorServiceMetrics(executor, "password-hash", List.of(Tag.of("pool", "password-hash")))
+                .bindTo(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return execute(() -> encodeTimer.record(() -> delegate.encode(rawPassword)));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(() -> {
+            long start = System.nanoTime();
+            boolean matched = delegate.matches(rawPassword, encodedPassword);
+            (matched ? matchedTimer : mismatchedTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return matched;
+        });
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    /** スレッドプールで実行し、結果を待つ */
+    private <T> T execute(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejections.increment();
+            // TODO: メッセージ共通化
+            throw new ServiceUnavailableException("アクセスが集中しています。しばらくしてから再度お試しください", retryAfterSeconds);
+        }
+
+        try {
+            return future.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // 待ち行列中のものは実行されず、実行中のものは結果を捨てる
+            future.cancel(true);
+            timeouts.increment();
+            // TODO: メッセージ共通化
+            throw new ServiceUnavailableException("アクセスが集中しています。しばらくしてから再度お試しください", retryAfterSeconds);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("パスワード処理が中断されました", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.meetolio.backend.common.security;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import lombok.Getter;
+
+/**
+ * コスト（strength）を指定・計測して決定するBCryptPasswordEncoder
+ *
+ * コストはハッシュ文字列自体に含まれる（例: $2a$12$...）。
+ * 保存済みハッシュのコストが現在の設定より低い場合のみ再ハッシュ対象とする（ノードごとに計測結果が異なっても、
+ * ログインのたびにコストが上下しないよう、下げることはしない）。
+ */
+public class CalibratedBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    /** ハッシュ文字列からコストを取り出す */
+    private static final Pattern COST_PATTERN = Pattern.compile("^\\$2[abyx]?\\$(\\d{2})\\$");
+
+    /** 計測に使うパスワード */
+    private static final String SAMPLE_PASSWORD = "calibration-sample-password";
+
+    /** 現在のコスト */
+    @Getter
+    private final int strength;
+
+    public CalibratedBCryptPasswordEncoder(int strength) {
+        super(strength);
+        this.strength = strength;
+    }
+
+    /** 1回のハッシュ化がlatencyBudget以内に収まる最大のコストで生成（範囲はminStrength〜maxStrength） */
+    public static CalibratedBCryptPasswordEncoder calibrate(Duration latencyBudget, int minStrength, int maxStrength) {
+        long budgetNanos = latencyBudget.toNanos();
+
+        // JITのウォームアップ
+        for (int i = 0; i < 5; i++) {
+            new BCryptPasswordEncoder(4).encode(SAMPLE_PASSWORD);
+        }
+
+        int chosen = minStrength;
+        for (int strength = minStrength; strength <= maxStrength; strength++) {
+            long elapsed = measure(strength);
+            if (elapsed > budgetNanos) {
+                break;
+            }
+            chosen = strength;
+
+            // コストが1上がると処理時間は約2倍になるため、次のコストが予算を超えるなら計測しない
+            if (elapsed * 2 > budgetNanos) {
+                break;
+            }
+        }
+        return new CalibratedBCryptPasswordEncoder(chosen);
+    }
+
+    /** 保存済みハッシュのコストが現在のコストより低い場合はtrue */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = COST_PATTERN.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) < strength;
+    }
+
+    /** 指定コストでのハッシュ化時間（3回の中央値） */
+    private static long measure(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        long[] samples = new long[3];
+        for (int i = 0; i < samples.length; i++) {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return samples[1];
+    }
+}
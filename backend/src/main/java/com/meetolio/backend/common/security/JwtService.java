@@ -1,12 +1,18 @@
 package com.meetolio.backend.common.security;
 
+import java.util.concurrent.TimeUnit;
+
 import org.springframework.stereotype.Service;
 
 import com.auth0.jwt.JWT;
 import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.TokenExpiredException;
 import com.auth0.jwt.interfaces.DecodedJWT;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
 /** Jwtトークン操作Service */
 @Service
 public class JwtService {
@@ -20,6 +26,21 @@ public class JwtService {
     /** JWTトークン検証用 */
     private final JWTVerifier verifier = JWT.require(algorithm).build();
 
+    /** 検証の処理時間（成功） */
+    private final Timer verifiedTimer;
+
+    /** 検証の処理時間（期限切れ） */
+    private final Timer expiredTimer;
+
+    /** 検証の処理時間（不正なトークン） */
+    private final Timer invalidTimer;
+
+    public JwtService(MeterRegistry meterRegistry) {
+        this.verifiedTimer = verifyTimer("success", meterRegistry);
+        this.expiredTimer = verifyTimer("expired", meterRegistry);
+        this.invalidTimer = verifyTimer("invalid", meterRegistry);
+    }
+
     /** JWT作成 */
     public String generateToken(Integer userId) {
 
@@ -30,11 +51,27 @@ public class JwtService {
 
     /** JWT解析 */
     public DecodedJWT verifyToken(String token) {
-        return verifier.verify(token);
+        long start = System.nanoTime();
+        Timer timer = invalidTimer;
+        try {
+            DecodedJWT jwt = verifier.verify(token);
+            timer = verifiedTimer;
+            return jwt;
+        } catch (TokenExpiredException e) {
+            timer = expiredTimer;
+            throw e;
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
     }
 
     /** Subject(UserId)の抽出 */
     public String extractUserId(String token) {
         return verifyToken(token).getSubject();
     }
+
+    private static Timer verifyTimer(String outcome, MeterRegistry meterRegistry) {
+        return Timer.builder("meetolio.jwt.verify").tag("outcome", outcome)
+                .description("JWT検証の処理時間").register(meterRegistry);
+    }
 }
@@ -1,19 +1,26 @@
 package com.meetolio.backend.common.security;
 
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import com.meetolio.backend.common.ratelimit.RateLimitFilter;
+
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
 /** セキュリティConfig */
+@Slf4j
 @Configuration
 @EnableWebSecurity
 @RequiredArgsConstructor
@@ -25,6 +32,9 @@ public class SecurityConfig {
     /** 認証エラーハンドリング */
     private final CustomAuthenticationEntryPoint customEntryPoint;
 
+    /** レート制限フィルター */
+    private final RateLimitFilter rateLimitFilter;
+
     /** セキュリティフィルターの設定 */
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -32,7 +42,9 @@ public class SecurityConfig {
         // リクエスト認可制御
         http.authorizeHttpRequests(auth -> auth
                 .requestMatchers("/api/auth/signup", "/api/auth/login").permitAll()
-                .requestMatchers(HttpMethod.GET, "/api/portfolio/*").permitAll()
+                .requestMatchers(HttpMethod.GET, "/api/portfolio/*", "/api/portfolio/*/page", "/api/portfolio/*/vcard", "/api/portfolio/*/qr", "/api/portfolios", "/api/portfolios/search", "/api/images/*").permitAll()
+                // actuatorは管理ポート（management.server.port）でのみ提供し、APIのポートには存在しない
+                .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
                 .anyRequest().authenticated());
 
         // CSRF無効化
@@ -42,6 +54,9 @@ public class SecurityConfig {
         http.addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
                 .sessionManagement(management -> management.sessionCreationPolicy(SessionCreationPolicy.STATELESS));
 
+        // レート制限フィルター処理を追加（ユーザーIDごとの制限のためJWT認証の後に実行する）
+        http.addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class);
+
         // エラーハンドリング
         http.exceptionHandling(ex -> ex
                 .authenticationEntryPoint(customEntryPoint));
@@ -49,9 +64,29 @@ public class SecurityConfig {
         return http.build();
     }
 
-    /** パスワードハッシュ化用 */
+    /** パスワードハッシュ化用（BCryptはリクエストスレッドとは別のスレッドプールで実行） */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${meetolio.security.password-hash.threads}") int threads,
+            @Value("${meetolio.security.password-hash.queue-capacity}") int queueCapacity,
+            @Value("${meetolio.security.password-hash.retry-after-seconds}") long retryAfterSeconds,
+            @Value("${meetolio.security.password-hash.timeout}") Duration timeout,
+            @Value("${meetolio.security.password-hash.bcrypt.strength}") int strength,
+            @Value("${meetolio.security.password-hash.bcrypt.calibration.enabled}") boolean calibrationEnabled,
+            @Value("${meetolio.security.password-hash.bcrypt.calibration.latency-budget}") Duration latencyBudget,
+            @Value("${meetolio.security.password-hash.bcrypt.calibration.min-strength}") int minStrength,
+            @Value("${meetolio.security.password-hash.bcrypt.calibration.max-strength}") int maxStrength,
+            MeterRegistry meterRegistry) {
+
+        // 計測モードでは起動時に実機で計測し、latency-budget以内に収まる最大のコストを使う
+        CalibratedBCryptPasswordEncoder bcrypt = calibrationEnabled
+                ? CalibratedBCryptPasswordEncoder.calibrate(latencyBudget, minStrength, maxStrength)
+                : new CalibratedBCryptPasswordEncoder(strength);
+        log.info("BCryptのコストを{}に設定しました（計測モード: {}）", bcrypt.getStrength(), calibrationEnabled);
+
+        // 0の場合はCPUコア数
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(bcrypt, poolSize, queueCapacity, retryAfterSeconds, timeout,
+                meterRegistry);
     }
 }
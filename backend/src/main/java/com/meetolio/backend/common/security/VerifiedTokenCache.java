@@ -0,0 +1,114 @@
+package com.meetolio.backend.common.security;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * 検証済みJWTのキャッシュ
+ *
+ * 同じトークンの再検証（Base64デコード・JSON解析・HMAC検証）を省略する。
+ * トークン本体は保持せず、SHA-256ダイジェストをキーにする。
+ */
+@Component
+public class VerifiedTokenCache {
+
+    /** キャッシュ名（メトリクスのタグ） */
+    private static final String CACHE_NAME = "verified-token";
+
+    /** ダイジェスト計算用（clone して使用する） */
+    private static final MessageDigest SHA_256;
+
+    static {
+        try {
+            SHA_256 = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** JWTService */
+    private final JwtService jwtService;
+
+    /** キャッシュの有効・無効 */
+    private final boolean enabled;
+
+    /** キャッシュ本体 */
+    private final Cache<TokenDigest, VerifiedToken> cache;
+
+    public VerifiedTokenCache(JwtService jwtService,
+            @Value("${meetolio.security.token-cache.enabled}") boolean enabled,
+            @Value("${meetolio.security.token-cache.maximum-size}") long maximumSize,
+            @Value("${meetolio.security.token-cache.max-ttl}") Duration maxTtl,
+            MeterRegistry meterRegistry) {
+        this.jwtService = jwtService;
+        this.enabled = enabled;
+
+        // エントリの有効期間はトークンの有効期限とmax-ttlの短い方
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(Expiry.creating((TokenDigest key, VerifiedToken value) -> {
+                    long remainingMillis = value.expiresAtMillis() - System.currentTimeMillis();
+                    return remainingMillis < maxTtl.toMillis() ? Duration.ofMillis(Math.max(remainingMillis, 0)) : maxTtl;
+                }))
+                .recordStats()
+                .build();
+
+        // ヒット率などを公開
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /** トークンを検証してユーザーIDを返す（無効なトークンはJWTVerificationExceptionなど） */
+    public int resolveUserId(String token) {
+        if (!enabled) {
+            return Integer.parseInt(jwtService.verifyToken(token).getSubject());
+        }
+
+        TokenDigest key = TokenDigest.of(token);
+        VerifiedToken verified = cache.getIfPresent(key);
+        if (verified != null && verified.expiresAtMillis() > System.currentTimeMillis()) {
+            return verified.userId();
+        }
+
+        // 未検証または期限切れの場合のみ検証する（失敗時は例外となりキャッシュしない）
+        DecodedJWT jwt = jwtService.verifyToken(token);
+        int userId = Integer.parseInt(jwt.getSubject());
+        Instant expiresAt = jwt.getExpiresAtAsInstant();
+        cache.put(key, new VerifiedToken(userId, expiresAt != null ? expiresAt.toEpochMilli() : Long.MAX_VALUE));
+
+        return userId;
+    }
+
+    /** 検証済みトークンの情報 */
+    private record VerifiedToken(int userId, long expiresAtMillis) {
+    }
+
+    /** トークンのSHA-256ダイジェスト */
+    private record TokenDigest(long h0, long h1, long h2, long h3) {
+
+        static TokenDigest of(String token) {
+            MessageDigest digest;
+            try {
+                digest = (MessageDigest) SHA_256.clone();
+            } catch (CloneNotSupportedException e) {
+                throw new IllegalStateException(e);
+            }
+            ByteBuffer hash = ByteBuffer.wrap(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+            return new TokenDigest(hash.getLong(), hash.getLong(), hash.getLong(), hash.getLong());
+        }
+    }
+}
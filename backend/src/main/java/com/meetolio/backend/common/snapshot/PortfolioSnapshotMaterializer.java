@@ -0,0 +1,233 @@
+package com.meetolio.backend.common.snapshot;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.meetolio.backend.common.event.PortfolioChangedEvent;
+import com.meetolio.backend.entity.PortfolioEntity;
+import com.meetolio.backend.entity.PortfolioSnapshotEntity;
+import com.meetolio.backend.repository.PortfolioRepository;
+import com.meetolio.backend.repository.PortfolioSnapshotRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * ポートフォリオスナップショットの保存時生成
+ *
+ * トランザクション内で変更されたポートフォリオをコミット直前にまとめて読み直し、同じトランザクションでスナップショットを保存する。
+ * 変更とスナップショットは同時にコミットされるため、読み取り側が古いスナップショットを見ることはない。
+ * 削除されたポートフォリオのスナップショットは外部キー（ON DELETE CASCADE）で削除される。
+ * テンプレートバージョンを上げたデプロイでは、起動完了後に古いスナップショットを裏で再生成する。
+ */
+@Slf4j
+@Component
+public class PortfolioSnapshotMaterializer {
+
+    /** 1回に読み直す・保存する件数 */
+    private static final int CHUNK_SIZE = 500;
+
+    /** ポートフォリオRepository */
+    private final PortfolioRepository portfolioRepository;
+
+    /** スナップショットRepository */
+    private final PortfolioSnapshotRepository snapshotRepository;
+
+    /** スナップショット生成 */
+    private final PortfolioSnapshotRenderer renderer;
+
+    /** 全件再生成のチャンクごとのトランザクション */
+    private final TransactionTemplate transactionTemplate;
+
+    /** 呼び出し元のトランザクション外での生成用（別トランザクションでプライマリに保存する） */
+    private final TransactionTemplate newTransactionTemplate;
+
+    /** 保存済みスナップショットの読み込み用（読み取り専用） */
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    /** 起動完了後に古いスナップショットを再生成するか */
+    private final boolean rebuildStaleOnStartup;
+
+    public PortfolioSnapshotMaterializer(PortfolioRepository portfolioRepository,
+            PortfolioSnapshotRepository snapshotRepository, PortfolioSnapshotRenderer renderer,
+            PlatformTransactionManager transactionManager,
+            @Value("${meetolio.snapshot.rebuild-stale-on-startup}") boolean rebuildStaleOnStartup) {
+        this.portfolioRepository = portfolioRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.renderer = renderer;
+        this.rebuildStaleOnStartup = rebuildStaleOnStartup;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+    }
+
+    /** ポートフォリオ変更時にスナップショットの生成を予約（トランザクション外の変更は即時生成） */
+    @EventListener
+    public void onPortfolioChanged(PortfolioChangedEvent event) {
+        // 他ノードの変更はそのノードで生成済み
+        if (event.remote()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            materialize(Set.of(event.userId()));
+            return;
+        }
+
+        PendingSnapshots pending = (PendingSnapshots) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingSnapshots();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.userIds.add(event.userId());
+    }
+
+    /** 指定ポートフォリオのスナップショットを生成して保存し、保存したものを返す（存在しないポートフォリオは含まない） */
+    public List<PortfolioSnapshotEntity> materialize(Collection<Integer> userIds) {
+        List<PortfolioSnapshotEntity> snapshots = new ArrayList<>(userIds.size());
+        List<Integer> chunk = new ArrayList<>(Math.min(userIds.size(), CHUNK_SIZE));
+        for (Integer userId : userIds) {
+            chunk.add(userId);
+            if (chunk.size() == CHUNK_SIZE) {
+                snapshots.addAll(materializeChunk(chunk));
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            snapshots.addAll(materializeChunk(chunk));
+        }
+        return snapshots;
+    }
+
+    /** materializeを別トランザクションで実行（読み取り時の生成など、変更のトランザクション外で生成する場合） */
+    public List<PortfolioSnapshotEntity> materializeInNewTransaction(Collection<Integer> userIds) {
+        return newTransactionTemplate.execute(status -> materialize(userIds));
+    }
+
+    /**
+     * 保存済みスナップショットの取得（読み取り専用トランザクション。なければnull）
+     *
+     * 未生成・テンプレートが古い場合の生成は、このトランザクションの終了後に行うこと（1スレッドで接続を2つ使わないため）。
+     */
+    public PortfolioSnapshotEntity findStored(Integer userId) {
+        return readOnlyTransactionTemplate.execute(status -> snapshotRepository.findById(userId));
+    }
+
+    /**
+     * 起動完了後に未生成・テンプレートが古いスナップショットを再生成
+     *
+     * 読み取り時にも生成されるが、デプロイ直後の読み取りが生成待ちにならないよう裏で作り直す。
+     * 複数ノードで同時に実行しても、保存時に新しいものを上書きしないため結果は変わらない。
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!rebuildStaleOnStartup) {
+            return;
+        }
+        Thread thread = new Thread(() -> {
+            try {
+                rebuildStale();
+            } catch (RuntimeException e) {
+                log.error("古いスナップショットの再生成に失敗しました", e);
+            }
+        }, "portfolio-snapshot-rebuilder");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /** 全ポートフォリオのスナップショットを再生成（設定の変更時。チャンクごとにコミットする） */
+    public long rebuildAll() {
+        return rebuild("スナップショットを全件再生成しました",
+                afterUserId -> portfolioRepository.findIdsAfter(afterUserId, CHUNK_SIZE));
+    }
+
+    /** 未生成・現在のテンプレートより古いスナップショットのみ再生成（チャンクごとにコミットする） */
+    public long rebuildStale() {
+        return rebuild("古いスナップショットを再生成しました", afterUserId -> snapshotRepository
+                .findStaleIdsAfter(PortfolioSnapshotRenderer.TEMPLATE_VERSION, afterUserId, CHUNK_SIZE));
+    }
+
+    /** nextUserIdsが返すユーザーID（ユーザーID順）をチャンクごとに再生成し、件数を返す */
+    private long rebuild(String completedMessage, Function<Integer, List<Integer>> nextUserIds) {
+        long start = System.nanoTime();
+        long count = 0;
+        Integer afterUserId = null;
+        while (true) {
+            List<Integer> userIds = nextUserIds.apply(afterUserId);
+            if (userIds.isEmpty()) {
+                break;
+            }
+            count += transactionTemplate.execute(status -> materializeChunk(userIds).size());
+            afterUserId = userIds.get(userIds.size() - 1);
+            log.debug("スナップショットを再生成中: {}件", count);
+        }
+        log.info("{}: {}件, {}ms", completedMessage, count, (System.nanoTime() - start) / 1_000_000);
+        return count;
+    }
+
+    private List<PortfolioSnapshotEntity> materializeChunk(List<Integer> userIds) {
+        List<PortfolioEntity> portfolios = portfolioRepository.findByIds(userIds.toArray(Integer[]::new));
+        if (portfolios.isEmpty()) {
+            return List.of();
+        }
+        List<PortfolioSnapshotEntity> snapshots = new ArrayList<>(portfolios.size());
+        for (PortfolioEntity portfolio : portfolios) {
+            snapshots.add(renderer.render(portfolio));
+        }
+        saveAll(snapshots);
+        return snapshots;
+    }
+
+    /** スナップショットの一括保存（列ごとの配列にまとめて1文でUPSERT） */
+    private void saveAll(List<PortfolioSnapshotEntity> snapshots) {
+        int size = snapshots.size();
+        Integer[] userIds = new Integer[size];
+        LocalDateTime[] updatedAts = new LocalDateTime[size];
+        Integer[] templateVersions = new Integer[size];
+        byte[][] jsons = new byte[size][];
+        byte[][] jsonGzips = new byte[size][];
+        byte[][] htmls = new byte[size][];
+        for (int i = 0; i < size; i++) {
+            PortfolioSnapshotEntity snapshot = snapshots.get(i);
+            userIds[i] = snapshot.getUserId();
+            updatedAts[i] = snapshot.getUpdatedAt();
+            templateVersions[i] = snapshot.getTemplateVersion();
+            jsons[i] = snapshot.getJson();
+            jsonGzips[i] = snapshot.getJsonGzip();
+            htmls[i] = snapshot.getHtml();
+        }
+        snapshotRepository.saveColumns(userIds, updatedAts, templateVersions, jsons, jsonGzips, htmls);
+    }
+
+    /** トランザクション内で変更されたユーザーID（コミット直前にまとめて生成する） */
+    private final class PendingSnapshots implements TransactionSynchronization {
+
+        private final Set<Integer> userIds = new LinkedHashSet<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            materialize(userIds);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(PortfolioSnapshotMaterializer.this);
+        }
+    }
+}
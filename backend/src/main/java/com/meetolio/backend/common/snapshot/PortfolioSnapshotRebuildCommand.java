@@ -0,0 +1,43 @@
+package com.meetolio.backend.common.snapshot;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.meetolio.backend.BackendApplication;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * ポートフォリオスナップショットの全件再生成コマンド
+ *
+ * Webサーバーを起動せずにアプリケーションの設定で接続し、全件を再生成して終了する。
+ * ./gradlew rebuildSnapshots で実行する（接続先などの引数は --args="--spring.datasource.url=..." で指定）。
+ * テンプレートバージョンを上げた場合はサーバーの起動時に古いものが再生成されるため、設定（URLなど）を変えた場合に使う。
+ */
+@Slf4j
+public final class PortfolioSnapshotRebuildCommand {
+
+    private PortfolioSnapshotRebuildCommand() {
+    }
+
+    public static void main(String[] args) {
+        // devtoolsの再起動はシステムプロパティでのみ無効にできる
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(BackendApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("meetolio.cache.portfolio.cross-node-invalidation=false",
+                        "meetolio.snapshot.rebuild-stale-on-startup=false")
+                .run(args);
+        int exitCode = 0;
+        try {
+            context.getBean(PortfolioSnapshotMaterializer.class).rebuildAll();
+        } catch (RuntimeException e) {
+            log.error("スナップショットの全件再生成に失敗しました", e);
+            exitCode = 1;
+        }
+        int code = exitCode;
+        System.exit(SpringApplication.exit(context, () -> code));
+    }
+}
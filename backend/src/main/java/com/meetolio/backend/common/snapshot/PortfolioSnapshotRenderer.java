@@ -0,0 +1,160 @@
+package com.meetolio.backend.common.snapshot;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.StringJoiner;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.HtmlUtils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.meetolio.backend.converter.PortfolioConverter;
+import com.meetolio.backend.entity.PortfolioEntity;
+import com.meetolio.backend.entity.PortfolioSnapshotEntity;
+
+/**
+ * ポートフォリオスナップショットの生成
+ *
+ * 取得APIのレスポンスJSON・そのgzip圧縮・OpenGraphタグ付きの共有リンク用HTMLを生成する。
+ * 保存時に1回だけ行う処理のため、圧縮率を優先する。
+ */
+@Component
+public class PortfolioSnapshotRenderer {
+
+    /** テンプレートバージョン（出力内容を変えた場合は上げる。古いスナップショットはデプロイ後の起動時・読み取り時に作り直される） */
+    public static final int TEMPLATE_VERSION = 2;
+
+    /** サイト名 */
+    private static final String SITE_NAME = "Meetolio";
+
+    /** og:descriptionに含める自己紹介の最大文字数 */
+    private static final int DESCRIPTION_MAX_LENGTH = 200;
+
+    /** レスポンスDTOの書き出し用 */
+    private final ObjectWriter objectWriter;
+
+    /** ポートフォリオページのURL（{userId}を置換） */
+    private final String pageUrl;
+
+    /** APIのURL（相対パスの画像URLを絶対URLにする） */
+    private final String apiBaseUrl;
+
+    public PortfolioSnapshotRenderer(ObjectMapper objectMapper,
+            @Value("${meetolio.snapshot.page-url}") String pageUrl,
+            @Value("${meetolio.snapshot.api-base-url}") String apiBaseUrl) {
+        this.objectWriter = objectMapper.writer();
+        this.pageUrl = pageUrl;
+        this.apiBaseUrl = apiBaseUrl.endsWith("/") ? apiBaseUrl.substring(0, apiBaseUrl.length() - 1) : apiBaseUrl;
+    }
+
+    /** スナップショットの生成（entityは更新日時まで読み込み済みであること） */
+    public PortfolioSnapshotEntity render(PortfolioEntity entity) {
+        byte[] json;
+        try {
+            json = objectWriter.writeValueAsBytes(PortfolioConverter.toResponseDto(entity));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+
+        PortfolioSnapshotEntity snapshot = new PortfolioSnapshotEntity();
+        snapshot.setUserId(entity.getUserId());
+        snapshot.setUpdatedAt(entity.getUpdatedAt());
+        snapshot.setTemplateVersion(TEMPLATE_VERSION);
+        snapshot.setJson(json);
+        snapshot.setJsonGzip(gzip(json));
+        snapshot.setHtml(html(entity).getBytes(StandardCharsets.UTF_8));
+        return snapshot;
+    }
+
+    /** 共有リンク用HTML（リンクプレビュー用のタグを持ち、ブラウザはポートフォリオページへ移動する） */
+    private String html(PortfolioEntity entity) {
+        String url = pageUrl.replace("{userId}", entity.getUserId().toString());
+        String title = entity.getName() != null && !entity.getName().isBlank()
+                ? entity.getName() + " | " + SITE_NAME
+                : SITE_NAME;
+        String description = description(entity);
+        String image = imageUrl(entity.getNameCardImgUrl());
+
+        StringBuilder html = new StringBuilder(1024);
+        html.append("<!DOCTYPE html>\n<html lang=\"ja\">\n<head>\n<meta charset=\"utf-8\">\n");
+        html.append("<title>").append(escape(title)).append("</title>\n");
+        meta(html, "name", "description", description);
+        meta(html, "property", "og:type", "profile");
+        meta(html, "property", "og:site_name", SITE_NAME);
+        meta(html, "property", "og:title", title);
+        meta(html, "property", "og:description", description);
+        meta(html, "property", "og:url", url);
+        if (image != null) {
+            meta(html, "property", "og:image", image);
+        }
+        meta(html, "name", "twitter:card", image != null ? "summary_large_image" : "summary");
+        html.append("<link rel=\"canonical\" href=\"").append(escape(url)).append("\">\n");
+        html.append("<meta http-equiv=\"refresh\" content=\"0; url=").append(escape(url)).append("\">\n");
+        html.append("</head>\n<body>\n<a href=\"").append(escape(url)).append("\">").append(escape(title))
+                .append("</a>\n</body>\n</html>\n");
+        return html.toString();
+    }
+
+    /** 説明文（会社名・職種と自己紹介の冒頭） */
+    private static String description(PortfolioEntity entity) {
+        StringJoiner joiner = new StringJoiner(" / ");
+        for (String value : new String[] { entity.getCompany(), entity.getOccupation() }) {
+            if (value != null && !value.isBlank()) {
+                joiner.add(value.strip());
+            }
+        }
+        String description = entity.getDescription() != null ? entity.getDescription().strip().replaceAll("\\s+", " ") : "";
+        if (description.codePointCount(0, description.length()) > DESCRIPTION_MAX_LENGTH) {
+            description = description.substring(0, description.offsetByCodePoints(0, DESCRIPTION_MAX_LENGTH)) + "…";
+        }
+        if (joiner.length() == 0) {
+            return description;
+        }
+        return description.isEmpty() ? joiner.toString() : joiner + "。" + description;
+    }
+
+    /** og:imageのURL（http(s)の絶対URLか、APIの相対パスのみ。それ以外は出力しない） */
+    private String imageUrl(String nameCardImgUrl) {
+        if (nameCardImgUrl == null || nameCardImgUrl.isBlank()) {
+            return null;
+        }
+        String url = nameCardImgUrl.strip();
+        if (url.startsWith("https://") || url.startsWith("http://")) {
+            return url;
+        }
+        if (url.startsWith("/") && !url.startsWith("//")) {
+            return apiBaseUrl + url;
+        }
+        return null;
+    }
+
+    private static void meta(StringBuilder html, String attribute, String name, String content) {
+        html.append("<meta ").append(attribute).append("=\"").append(name).append("\" content=\"")
+                .append(escape(content)).append("\">\n");
+    }
+
+    private static String escape(String value) {
+        return HtmlUtils.htmlEscape(value, StandardCharsets.UTF_8.name());
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 2 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
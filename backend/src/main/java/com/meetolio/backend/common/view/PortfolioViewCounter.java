@@ -0,0 +1,250 @@
+package com.meetolio.backend.common.view;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import com.meetolio.backend.repository.PortfolioViewRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * ポートフォリオ閲覧数の集計
+ *
+ * 閲覧はメモリ上で（ユーザーID, 日付）ごとのLongAdderに加算するだけとし、
+ * flush-intervalごと、または集計中のキーがmax-pendingに達した時点で、差分を1文のUPSERTでまとめてDBへ加算する。
+ * 終了時は残りを書き込み（失敗した場合は数回再試行する）、失われるのは異常終了時の最大1回分（flush-interval）のみ。
+ */
+@Slf4j
+@Component
+public class PortfolioViewCounter implements DisposableBean {
+
+    /** メトリクス名のプレフィックス */
+    private static final String METRIC_NAME = "meetolio.portfolio.views";
+
+    /** 1回のUPSERTでまとめる件数の上限 */
+    private static final int MAX_BATCH_SIZE = 5000;
+
+    /** 終了時の書き込みの再試行回数 */
+    private static final int SHUTDOWN_RETRIES = 3;
+
+    /** ポートフォリオ閲覧数Repository */
+    private final PortfolioViewRepository portfolioViewRepository;
+
+    /** 日付の区切りのタイムゾーン */
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    /** 書き込み前の閲覧数（キーは日付とユーザーIDを詰めたもの） */
+    private final Map<Long, LongAdder> pending = new ConcurrentHashMap<>();
+
+    /** 即時書き込みする集計中のキー数 */
+    private final int maxPending;
+
+    /** 終了時の書き込みの再試行間隔（回数に比例して延ばす） */
+    private final Duration shutdownRetryDelay;
+
+    /** 今日（日付が変わった最初の閲覧で更新する） */
+    private volatile Day today;
+
+    /** 書き込み用スレッド */
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "portfolio-view-flusher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /** 即時書き込みの登録済みフラグ */
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    /** 書き込んだ閲覧数 */
+    private final Counter flushedViews;
+
+    /** 書き込みの処理時間 */
+    private final Timer flushTimer;
+
+    public PortfolioViewCounter(PortfolioViewRepository portfolioViewRepository,
+            @Value("${meetolio.portfolio.views.flush-interval}") Duration flushInterval,
+            @Value("${meetolio.portfolio.views.max-pending}") int maxPending,
+            @Value("${meetolio.portfolio.views.shutdown-retry-delay}") Duration shutdownRetryDelay,
+            MeterRegistry meterRegistry) {
+        this.portfolioViewRepository = portfolioViewRepository;
+        this.maxPending = maxPending;
+        this.shutdownRetryDelay = shutdownRetryDelay;
+        this.today = day(System.currentTimeMillis());
+
+        this.flushedViews = Counter.builder(METRIC_NAME + ".flushed")
+                .description("DBへ書き込んだ閲覧数").register(meterRegistry);
+        this.flushTimer = Timer.builder(METRIC_NAME + ".flush")
+                .description("閲覧数の書き込みの処理時間").register(meterRegistry);
+        Gauge.builder(METRIC_NAME + ".pending", pending, Map::size)
+                .description("書き込み前の（ユーザーID, 日付）の数").register(meterRegistry);
+
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushInterval.toMillis(), flushInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    /** 閲覧を1件記録 */
+    public void record(int userId) {
+        long now = System.currentTimeMillis();
+        Day day = today;
+        if (now >= day.endMillis()) {
+            day = day(now);
+            today = day;
+        }
+        add(key(day.epochDay(), userId), 1);
+    }
+
+    /** 書き込み前の閲覧数（DBの値に加えて表示するため） */
+    public long pendingCount(int userId, LocalDate date) {
+        LongAdder adder = pending.get(key(date.toEpochDay(), userId));
+        return adder != null ? adder.sum() : 0;
+    }
+
+    /** 書き込み前の閲覧数をすべてDBへ加算 */
+    public void flush() {
+        List<Long> keys = new ArrayList<>(Math.min(pending.size(), MAX_BATCH_SIZE));
+        List<Long> counts = new ArrayList<>(Math.min(pending.size(), MAX_BATCH_SIZE));
+        for (Map.Entry<Long, LongAdder> entry : pending.entrySet()) {
+            // 加算中の閲覧はリセット前後のどちらかに含まれるため、失われない
+            long count = entry.getValue().sumThenReset();
+            if (count == 0) {
+                // 前回から閲覧のなかったキーは削除する。リセットから削除までに加算された分はここで、
+                // 削除後に加算された分はadd側で新しいLongAdderへ戻す
+                if (pending.remove(entry.getKey(), entry.getValue())) {
+                    long late = entry.getValue().sumThenReset();
+                    if (late > 0) {
+                        add(entry.getKey(), late);
+                    }
+                }
+                continue;
+            }
+            keys.add(entry.getKey());
+            counts.add(count);
+            if (keys.size() >= MAX_BATCH_SIZE) {
+                write(keys, counts);
+                keys.clear();
+                counts.clear();
+            }
+        }
+        write(keys, counts);
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        // 書き込み中のものを待ってから、残りを書き込む（Webサーバーの停止後に呼ばれるため、以降の閲覧はない）
+        flusher.shutdown();
+        flusher.awaitTermination(30, TimeUnit.SECONDS);
+        flushQuietly();
+        // 次回の書き込みはないため、失敗した場合はここで再試行する
+        for (int retry = 1; retry <= SHUTDOWN_RETRIES && pendingTotal() > 0; retry++) {
+            Thread.sleep(shutdownRetryDelay.toMillis() * retry);
+            flushQuietly();
+        }
+        long lost = pendingTotal();
+        if (lost > 0) {
+            log.error("閲覧数を書き込めないまま終了するため、{}件の閲覧数が失われます", lost);
+        }
+    }
+
+    /** 書き込み前の閲覧数の合計 */
+    private long pendingTotal() {
+        long total = 0;
+        for (LongAdder adder : pending.values()) {
+            total += adder.sum();
+        }
+        return total;
+    }
+
+    /** 加算（集計中のキーがmax-pendingに達した場合は即時書き込みを登録） */
+    private void add(long key, long count) {
+        Long boxedKey = key;
+        LongAdder adder = pending.get(boxedKey);
+        if (adder == null) {
+            adder = pending.computeIfAbsent(boxedKey, k -> new LongAdder());
+            if (pending.size() >= maxPending && flushScheduled.compareAndSet(false, true)) {
+                flusher.execute(this::flushQuietly);
+            }
+        }
+        adder.add(count);
+
+        // 書き込み時に削除されたLongAdderに加算した場合は、その分を新しいLongAdderへ移す
+        if (pending.get(boxedKey) != adder) {
+            long orphaned = adder.sumThenReset();
+            if (orphaned > 0) {
+                add(key, orphaned);
+            }
+        }
+    }
+
+    private void flushQuietly() {
+        flushScheduled.set(false);
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("閲覧数の書き込みに失敗しました", e);
+        }
+    }
+
+    /** まとめて書き込む（失敗した場合は次回に書き込むよう戻す） */
+    private void write(List<Long> keys, List<Long> counts) {
+        if (keys.isEmpty()) {
+            return;
+        }
+
+        int size = keys.size();
+        Integer[] userIds = new Integer[size];
+        LocalDate[] viewDates = new LocalDate[size];
+        Long[] viewCounts = counts.toArray(Long[]::new);
+        long total = 0;
+        for (int i = 0; i < size; i++) {
+            long key = keys.get(i);
+            userIds[i] = (int) key;
+            viewDates[i] = LocalDate.ofEpochDay(key >> 32);
+            total += viewCounts[i];
+        }
+
+        try {
+            flushTimer.record(() -> portfolioViewRepository.addColumns(userIds, viewDates, viewCounts));
+            flushedViews.increment(total);
+        } catch (DataAccessException e) {
+            log.warn("閲覧数の書き込みに失敗したため、次回に再試行します: {}件", size, e);
+            for (int i = 0; i < size; i++) {
+                add(keys.get(i), viewCounts[i]);
+            }
+        }
+    }
+
+    /** 日付とユーザーIDを詰めたキー */
+    private static long key(long epochDay, int userId) {
+        return epochDay << 32 | (userId & 0xFFFF_FFFFL);
+    }
+
+    /** 指定時刻の日付と、その日の終わり */
+    private Day day(long millis) {
+        LocalDate date = Instant.ofEpochMilli(millis).atZone(zone).toLocalDate();
+        long endMillis = date.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+        return new Day(date.toEpochDay(), endMillis);
+    }
+
+    private record Day(long epochDay, long endMillis) {
+    }
+}
@@ -0,0 +1,51 @@
+package com.meetolio.backend.common.web;
+
+import java.util.Locale;
+
+/**
+ * Accept-Encodingヘッダーの判定
+ *
+ * q値を考慮し、gzip;q=0 のように明示的に拒否されたものは受け付けないものとする。
+ * gzip（x-gzipを含む）の指定がなければ * の指定に従う。
+ */
+public final class AcceptEncoding {
+
+    private AcceptEncoding() {
+    }
+
+    /** gzipで圧縮したレスポンスを受け付けるか */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+
+        Boolean wildcard = null;
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].strip().toLowerCase(Locale.ROOT);
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                return quality(parts) > 0;
+            }
+            if (coding.equals("*")) {
+                wildcard = quality(parts) > 0;
+            }
+        }
+        return wildcard != null && wildcard;
+    }
+
+    /** q値（未指定は1、不正な値は0） */
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].strip();
+            if (parameter.length() >= 2 && Character.toLowerCase(parameter.charAt(0)) == 'q'
+                    && parameter.charAt(1) == '=') {
+                try {
+                    return Double.parseDouble(parameter.substring(2).strip());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
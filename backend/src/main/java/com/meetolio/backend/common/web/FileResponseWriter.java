@@ -0,0 +1,135 @@
+package com.meetolio.backend.common.web;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * ファイルのレスポンス送信（Rangeリクエスト対応）
+ *
+ * Tomcatのsendfileが使える場合はファイルの内容をJavaヒープに読み込まずにカーネルから直接送信する。
+ * 使えない場合はFileChannel.transferToで送信する。
+ */
+public final class FileResponseWriter {
+
+    /** Tomcatがsendfileに対応している場合に設定するリクエスト属性 */
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+
+    /** sendfileで送信するファイル */
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+
+    /** sendfileで送信する範囲の開始位置 */
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+
+    /** sendfileで送信する範囲の終了位置（この位置は含まない） */
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private FileResponseWriter() {
+    }
+
+    /** ファイルの送信（ヘッダーのContent-Type・キャッシュ関連は呼び出し側で設定すること） */
+    public static void write(Path path, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long length = channel.size();
+            long start = 0;
+            long end = length;
+
+            response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+            String range = request.getHeader(HttpHeaders.RANGE);
+            if (range != null) {
+                long[] bounds = parseRange(range, length);
+                if (bounds == null) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                    response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                    return;
+                }
+                if (bounds.length == 2) {
+                    start = bounds[0];
+                    end = bounds[1];
+                    response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + (end - 1) + "/" + length);
+                }
+            }
+            response.setContentLengthLong(end - start);
+
+            if ("HEAD".equals(request.getMethod()) || end == start) {
+                return;
+            }
+            if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+                request.setAttribute(SENDFILE_FILENAME, path.toAbsolutePath().toString());
+                request.setAttribute(SENDFILE_START, start);
+                request.setAttribute(SENDFILE_END, end);
+                return;
+            }
+
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (position < end) {
+                position += channel.transferTo(position, end - position, out);
+            }
+        }
+    }
+
+    /**
+     * Rangeヘッダーの解析（単一範囲のみ対応）
+     *
+     * 不正な形式（終了位置が開始位置より前など）はRFC 9110に従いRangeヘッダーがないものとして全体を返す。
+     *
+     * @return {開始, 終了（含まない）}、全体を返す場合は空配列、満たせない範囲はnull
+     */
+    static long[] parseRange(String range, long length) {
+        if (!range.startsWith("bytes=") || range.indexOf(',') >= 0) {
+            // 複数範囲は全体を返す
+            return new long[0];
+        }
+        String spec = range.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return new long[0];
+        }
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            long start;
+            long end;
+            if (first.isEmpty()) {
+                // 末尾からのバイト数指定（bytes=-500）
+                long suffix = Long.parseLong(last);
+                if (suffix < 0) {
+                    return new long[0];
+                }
+                if (suffix == 0) {
+                    return null;
+                }
+                start = Math.max(0, length - suffix);
+                end = length;
+            } else {
+                start = Long.parseLong(first);
+                if (last.isEmpty()) {
+                    end = length;
+                } else {
+                    long lastPosition = Long.parseLong(last);
+                    if (lastPosition < start) {
+                        return new long[0];
+                    }
+                    end = lastPosition >= length - 1 ? length : lastPosition + 1;
+                }
+            }
+            if (start >= length) {
+                return null;
+            }
+            return new long[] { start, end };
+        } catch (NumberFormatException e) {
+            return new long[0];
+        }
+    }
+}
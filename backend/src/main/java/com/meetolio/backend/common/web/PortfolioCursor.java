@@ -0,0 +1,40 @@
+package com.meetolio.backend.common.web;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+import com.meetolio.backend.common.error.BadRequestException;
+
+/**
+ * ポートフォリオ一覧のページングカーソル
+ *
+ * 前ページ最終行のuser_idを保持し、次ページはそれより後ろの行から取得する（キーセットページング）。
+ * クライアントには内容を意味のない文字列（Base64URL）として渡す。
+ */
+public record PortfolioCursor(Integer userId) {
+
+    /** エンコード後のバイト数（ユーザーID4バイト） */
+    private static final int LENGTH = Integer.BYTES;
+
+    /** 文字列化 */
+    public String encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(LENGTH).putInt(userId);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    /** 文字列からの復元（不正な値はBadRequestException） */
+    public static PortfolioCursor decode(String cursor) {
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(cursor);
+        } catch (IllegalArgumentException e) {
+            bytes = null;
+        }
+        if (bytes == null || bytes.length != LENGTH) {
+            // TODO: メッセージ共通化
+            throw new BadRequestException("カーソルが不正です");
+        }
+
+        return new PortfolioCursor(ByteBuffer.wrap(bytes).getInt());
+    }
+}
@@ -0,0 +1,65 @@
+package com.meetolio.backend.common.web;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/** ポートフォリオのETag・Last-Modified生成 */
+public final class PortfolioETag {
+
+    private PortfolioETag() {
+    }
+
+    /** 強いETagの生成（userIdと更新日時から導出） */
+    public static String of(Integer userId, LocalDateTime updatedAt) {
+        Instant instant = toInstant(updatedAt);
+        long epochMicros = instant.getEpochSecond() * 1_000_000L + instant.getNano() / 1_000;
+        return "\"" + userId + "-" + Long.toHexString(epochMicros) + "\"";
+    }
+
+    /** Last-Modified用のエポックミリ秒 */
+    public static long lastModified(LocalDateTime updatedAt) {
+        return toInstant(updatedAt).toEpochMilli();
+    }
+
+    /** If-Matchヘッダーと現在のETagの比較（強い比較） */
+    public static boolean matches(String ifMatch, String currentETag) {
+        for (String candidate : ifMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(currentETag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** If-Matchヘッダーに含まれる指定ユーザーのバージョン（更新日時）の取得（"*"の場合はnull） */
+    public static List<LocalDateTime> versions(String ifMatch, Integer userId) {
+        String prefix = "\"" + userId + "-";
+        List<LocalDateTime> versions = new ArrayList<>();
+        for (String candidate : ifMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return null;
+            }
+            if (tag.startsWith(prefix) && tag.endsWith("\"") && tag.length() > prefix.length() + 1) {
+                try {
+                    long epochMicros = Long.parseLong(tag.substring(prefix.length(), tag.length() - 1), 16);
+                    Instant instant = Instant.ofEpochSecond(Math.floorDiv(epochMicros, 1_000_000L),
+                            Math.floorMod(epochMicros, 1_000_000L) * 1_000);
+                    versions.add(LocalDateTime.ofInstant(instant, ZoneId.systemDefault()));
+                } catch (NumberFormatException e) {
+                    // 形式の異なるETagは一致しないものとして扱う
+                }
+            }
+        }
+        return versions;
+    }
+
+    /** DBのTIMESTAMP（タイムゾーンなし）をシステムのタイムゾーンで解釈 */
+    private static Instant toInstant(LocalDateTime updatedAt) {
+        return updatedAt.atZone(ZoneId.systemDefault()).toInstant();
+    }
+}
@@ -0,0 +1,42 @@
+package com.meetolio.backend.common.web;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import com.meetolio.backend.common.error.BadRequestException;
+
+/**
+ * ポートフォリオ取得時の項目指定（?fields=name,company）
+ *
+ * 指定できる項目はレスポンスのプロパティ名で、SQLで取得する列・レスポンスに含める項目をこれに限定する。
+ * userIdは常に含める。
+ */
+public final class PortfolioFields {
+
+    /** 指定できる項目 */
+    public static final Set<String> SELECTABLE = Set.of(
+            "userId", "name", "nameKana", "company", "occupation", "description", "nameCardImgUrl",
+            "email", "twitter", "linkedin", "github", "website");
+
+    private PortfolioFields() {
+    }
+
+    /** 項目指定の解析（未指定はnullで全項目。指定できない項目を含む場合はBadRequestException） */
+    public static Set<String> parse(String fields) {
+        if (fields == null) {
+            return null;
+        }
+
+        Set<String> parsed = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.strip();
+            // TODO: メッセージ共通化
+            if (!SELECTABLE.contains(name)) {
+                throw new BadRequestException(name.isEmpty() ? "取得する項目を指定してください" : "指定できない項目です: " + name);
+            }
+            parsed.add(name);
+        }
+        return Collections.unmodifiableSet(parsed);
+    }
+}
@@ -1,9 +1,8 @@
 package com.meetolio.backend.controller;
 
-import java.security.Principal;
-
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PutMapping;
@@ -29,8 +28,7 @@ public class AccountController {
 
     /** ログインユーザーアカウントの取得 */
     @GetMapping("/me")
-    public ResponseEntity<AccountResponseDto> getMyAccount(Principal principal) {
-        Integer userId = Integer.parseInt(principal.getName());
+    public ResponseEntity<AccountResponseDto> getMyAccount(@AuthenticationPrincipal Integer userId) {
         AccountResponseDto accountResponseDto = accountService.getAccount(userId);
 
         return ResponseEntity.status(HttpStatus.OK).body(accountResponseDto);
@@ -38,8 +36,7 @@ public class AccountController {
 
     /** ログインユーザーメールアドレスの変更 */
     @PutMapping("/me/email")
-    public ResponseEntity<AccountResponseDto> updateMyEmail(Principal principal, @RequestBody EmailUpdateForm form) {
-        Integer userId = Integer.parseInt(principal.getName());
+    public ResponseEntity<AccountResponseDto> updateMyEmail(@AuthenticationPrincipal Integer userId, @RequestBody EmailUpdateForm form) {
         AccountResponseDto accountResponseDto = accountService.updateEmail(userId, form);
 
         return ResponseEntity.status(HttpStatus.OK).body(accountResponseDto);
@@ -47,8 +44,7 @@ public class AccountController {
 
     /** ログインユーザーパスワードの変更 */
     @PutMapping("/me/password")
-    public ResponseEntity<Void> updateMyPassword(Principal principal, @RequestBody PasswordUpdateForm form) {
-        Integer userId = Integer.parseInt(principal.getName());
+    public ResponseEntity<Void> updateMyPassword(@AuthenticationPrincipal Integer userId, @RequestBody PasswordUpdateForm form) {
         accountService.updatePassword(userId, form);
 
         return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
@@ -56,8 +52,7 @@ public class AccountController {
 
     /** ログインユーザーアカウントの削除 */
     @DeleteMapping("/me")
-    public ResponseEntity<Void> deleteMyAccount(Principal principal) {
-        Integer userId = Integer.parseInt(principal.getName());
+    public ResponseEntity<Void> deleteMyAccount(@AuthenticationPrincipal Integer userId) {
         accountService.deleteAccount(userId);
 
         return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
@@ -0,0 +1,65 @@
+package com.meetolio.backend.controller;
+
+import java.io.IOException;
+import java.net.URI;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.meetolio.backend.common.web.FileResponseWriter;
+import com.meetolio.backend.dto.ImageUploadResponseDto;
+import com.meetolio.backend.service.ImageService;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/** 画像関連Controller */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/images")
+public class ImageController {
+
+    /** 内容が変わらない画像のCache-Control（1年） */
+    private static final String IMMUTABLE_CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+    /** サムネイル生成待ちで元画像を返す場合のCache-Control */
+    private static final String PENDING_CACHE_CONTROL = "public, max-age=60";
+
+    /** 画像Service */
+    private final ImageService imageService;
+
+    /** 画像のアップロード（multipart/form-dataのfile） */
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImageUploadResponseDto> uploadImage(@RequestParam("file") MultipartFile file) throws IOException {
+        ImageUploadResponseDto imageUploadResponseDto = imageService.uploadImage(file);
+
+        return ResponseEntity.created(URI.create(imageUploadResponseDto.getUrl())).body(imageUploadResponseDto);
+    }
+
+    /** 画像の取得（例: /api/images/{hash}?w=320。Rangeリクエスト対応） */
+    @GetMapping("/{hash}")
+    public void getImage(@PathVariable String hash, @RequestParam(required = false) Integer w,
+            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ImageService.ServedImage image = imageService.getImage(hash, w);
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, image.immutable() ? IMMUTABLE_CACHE_CONTROL : PENDING_CACHE_CONTROL);
+        if (new ServletWebRequest(request, response).checkNotModified("\"" + image.version() + "\"")) {
+            return;
+        }
+
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(image.format().getContentType());
+        FileResponseWriter.write(image.path(), request, response);
+    }
+}
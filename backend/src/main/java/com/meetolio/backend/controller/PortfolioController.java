@@ -1,21 +1,37 @@
 package com.meetolio.backend.controller;
 
-import java.security.Principal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Map;
 
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.context.request.WebRequest;
 
+import com.meetolio.backend.common.qr.QrCodeFormat;
+import com.meetolio.backend.common.web.AcceptEncoding;
+import com.meetolio.backend.common.web.PortfolioETag;
 import com.meetolio.backend.dto.PortfolioCreateRequestDto;
-import com.meetolio.backend.dto.PortfolioResponseDto;
 import com.meetolio.backend.dto.PortfolioUpdateRequestDto;
+import com.meetolio.backend.dto.PortfolioViewsResponseDto;
+import com.meetolio.backend.entity.PortfolioSnapshotEntity;
+import com.meetolio.backend.service.PortfolioCardService;
 import com.meetolio.backend.service.PortfolioService;
+import com.meetolio.backend.service.PortfolioViewService;
 
 import lombok.RequiredArgsConstructor;
 
@@ -28,35 +44,171 @@ public class PortfolioController {
     /** ポートフォリオService */
     private final PortfolioService portfolioService;
 
-    /** ポートフォリオ詳細の取得 */
+    /** ポートフォリオの連絡先カードService */
+    private final PortfolioCardService portfolioCardService;
+
+    /** ポートフォリオ閲覧数Service */
+    private final PortfolioViewService portfolioViewService;
+
+    /**
+     * ポートフォリオ詳細の取得（保存時に生成したJSONをそのまま返す。Accept-Encodingでgzipを受け付けるなら圧縮済みのものを返す）
+     *
+     * fields指定時（一覧・カードのプレビュー用）は指定項目のみ返し、閲覧数には数えない。
+     * 条件付きリクエストは先に更新日時のみで鮮度を確認し、304の場合はスナップショットを読まない。
+     */
     @GetMapping("/{userId}")
-    public ResponseEntity<PortfolioResponseDto> getPortfolio(@PathVariable Integer userId) {
+    public ResponseEntity<?> getPortfolio(@AuthenticationPrincipal Integer viewerUserId, @PathVariable Integer userId,
+            @RequestParam(required = false) String fields,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest webRequest) {
+        if (fields != null) {
+            PortfolioService.SelectedPortfolio selected = portfolioService.getPortfolioFields(userId, fields);
+            if (checkNotModified(webRequest, userId, selected.updatedAt())) {
+                return null;
+            }
+            return ResponseEntity.status(HttpStatus.OK).body(selected.portfolio());
+        }
+
+        // 条件付きリクエストなら更新日時のみで鮮度を確認し、スナップショットは200を返す場合のみ読む
+        PortfolioSnapshotEntity snapshot = null;
+        LocalDateTime updatedAt;
+        if (isConditional(webRequest)) {
+            updatedAt = portfolioService.getPortfolioUpdatedAt(userId);
+        } else {
+            snapshot = portfolioService.getPortfolioSnapshot(userId);
+            updatedAt = snapshot.getUpdatedAt();
+        }
+        portfolioViewService.recordView(viewerUserId, userId);
+
+        // 未変更なら304を返す（ETag・Last-Modifiedもここで設定される）
+        if (checkNotModified(webRequest, userId, updatedAt)) {
+            return null;
+        }
+        if (snapshot == null) {
+            snapshot = portfolioService.getPortfolioSnapshot(userId);
+        }
+
+        boolean gzip = AcceptEncoding.acceptsGzip(acceptEncoding);
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.OK)
+                .contentType(MediaType.APPLICATION_JSON)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(gzip ? snapshot.getJsonGzip() : snapshot.getJson());
+    }
+
+    /** ポートフォリオ閲覧数の取得（本人のみ。直近days日間の日別閲覧数と累計） */
+    @GetMapping("/{userId}/views")
+    public ResponseEntity<PortfolioViewsResponseDto> getPortfolioViews(@AuthenticationPrincipal Integer authenticatedUserId,
+            @PathVariable Integer userId, @RequestParam(defaultValue = "30") int days) {
+        // 認証されたユーザーIDとパスパラメータのuserIdが一致するかチェック
+        if (!userId.equals(authenticatedUserId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        PortfolioViewsResponseDto response = portfolioViewService.getViews(userId, days);
+        return ResponseEntity.status(HttpStatus.OK).body(response);
+    }
+
+    /** ポートフォリオの共有リンク用HTML（リンクプレビュー用のOpenGraphタグ付き。ブラウザはポートフォリオページへ移動する） */
+    @GetMapping("/{userId}/page")
+    public ResponseEntity<byte[]> getPortfolioPage(@PathVariable Integer userId, WebRequest webRequest) {
+        PortfolioSnapshotEntity snapshot = portfolioService.getPortfolioSnapshot(userId);
+        if (checkNotModified(webRequest, snapshot)) {
+            return null;
+        }
+
+        return ResponseEntity.status(HttpStatus.OK)
+                .contentType(new MediaType(MediaType.TEXT_HTML, StandardCharsets.UTF_8))
+                .body(snapshot.getHtml());
+    }
+
+    /** ポートフォリオの連絡先（vCard。連絡先アプリに追加できる） */
+    @GetMapping("/{userId}/vcard")
+    public ResponseEntity<byte[]> getPortfolioVCard(@PathVariable Integer userId, WebRequest webRequest) {
+        PortfolioCardService.RenderedCard card = portfolioCardService.getVCard(userId);
+        if (checkNotModified(webRequest, userId, card.updatedAt())) {
+            return null;
+        }
+
+        return ResponseEntity.status(HttpStatus.OK)
+                .contentType(new MediaType("text", "vcard", StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.inline().filename("meetolio-" + userId + ".vcf").build().toString())
+                .body(card.body());
+    }
 
-        PortfolioResponseDto portfolioResponseDto = portfolioService.getPortfolio(userId);
+    /** ポートフォリオのQRコード（例: /api/portfolio/{userId}/qr?format=svg&content=vcard&size=512） */
+    @GetMapping("/{userId}/qr")
+    public ResponseEntity<byte[]> getPortfolioQrCode(@PathVariable Integer userId,
+            @RequestParam(defaultValue = "png") String format,
+            @RequestParam(defaultValue = "url") String content,
+            @RequestParam(required = false) Integer size,
+            WebRequest webRequest) {
+        QrCodeFormat qrCodeFormat = QrCodeFormat.of(format);
+        PortfolioCardService.RenderedCard card = portfolioCardService.getQrCode(userId, qrCodeFormat, content, size);
+        if (checkNotModified(webRequest, userId, card.updatedAt())) {
+            return null;
+        }
 
-        return ResponseEntity.status(HttpStatus.OK).body(portfolioResponseDto);
+        return ResponseEntity.status(HttpStatus.OK)
+                .contentType(MediaType.parseMediaType(qrCodeFormat.getContentType()))
+                .body(card.body());
     }
 
     /** ポートフォリオ作成 */
     @PostMapping
-    public ResponseEntity<Void> createPortfolio(Principal principal, @RequestBody PortfolioCreateRequestDto request) {
-        Integer userId = Integer.parseInt(principal.getName());
-
+    public ResponseEntity<Void> createPortfolio(@AuthenticationPrincipal Integer userId, @RequestBody PortfolioCreateRequestDto request) {
         portfolioService.createPortfolio(userId, request);
         return ResponseEntity.status(HttpStatus.CREATED).build();
     }
 
     /** ポートフォリオ更新 */
     @PutMapping("/{userId}")
-    public ResponseEntity<Void> updatePortfolio(Principal principal, @PathVariable Integer userId, @RequestBody PortfolioUpdateRequestDto request) {
-        Integer authenticatedUserId = Integer.parseInt(principal.getName());
-        
+    public ResponseEntity<Void> updatePortfolio(@AuthenticationPrincipal Integer authenticatedUserId, @PathVariable Integer userId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody PortfolioUpdateRequestDto request) {
+        // 認証されたユーザーIDとパスパラメータのuserIdが一致するかチェック
+        if (!authenticatedUserId.equals(userId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        LocalDateTime updatedAt = portfolioService.updatePortfolio(userId, request, ifMatch);
+        return ResponseEntity.status(HttpStatus.OK)
+                .eTag(PortfolioETag.of(userId, updatedAt))
+                .lastModified(PortfolioETag.lastModified(updatedAt))
+                .build();
+    }
+
+    /** ポートフォリオ部分更新（JSON Merge Patch。含まれる項目のみ更新し、nullの項目は削除する） */
+    @PatchMapping(value = "/{userId}", consumes = { "application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE })
+    public ResponseEntity<Void> patchPortfolio(@AuthenticationPrincipal Integer authenticatedUserId, @PathVariable Integer userId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody Map<String, Object> patch) {
         // 認証されたユーザーIDとパスパラメータのuserIdが一致するかチェック
         if (!authenticatedUserId.equals(userId)) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
 
-        portfolioService.updatePortfolio(userId, request);
-        return ResponseEntity.status(HttpStatus.OK).build();
+        LocalDateTime updatedAt = portfolioService.patchPortfolio(userId, patch, ifMatch);
+        return ResponseEntity.status(HttpStatus.OK)
+                .eTag(PortfolioETag.of(userId, updatedAt))
+                .lastModified(PortfolioETag.lastModified(updatedAt))
+                .build();
+    }
+
+    /** If-None-Match・If-Modified-Sinceのいずれかを含むか */
+    private static boolean isConditional(WebRequest webRequest) {
+        return webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || webRequest.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
+
+    private static boolean checkNotModified(WebRequest webRequest, PortfolioSnapshotEntity snapshot) {
+        return checkNotModified(webRequest, snapshot.getUserId(), snapshot.getUpdatedAt());
+    }
+
+    private static boolean checkNotModified(WebRequest webRequest, Integer userId, LocalDateTime updatedAt) {
+        return webRequest.checkNotModified(PortfolioETag.of(userId, updatedAt), PortfolioETag.lastModified(updatedAt));
     }
 }
@@ -0,0 +1,126 @@
+package com.meetolio.backend.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.meetolio.backend.common.export.ExportFormat;
+import com.meetolio.backend.common.export.PortfolioExportGate;
+import com.meetolio.backend.common.web.AcceptEncoding;
+import com.meetolio.backend.dto.PortfolioBatchResponseDto;
+import com.meetolio.backend.dto.PortfolioImportResultDto;
+import com.meetolio.backend.dto.PortfolioPageDto;
+import com.meetolio.backend.dto.PortfolioSearchResponseDto;
+import com.meetolio.backend.service.PortfolioImportService;
+import com.meetolio.backend.service.PortfolioService;
+
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/** ポートフォリオ一覧関連Controller */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/portfolios")
+public class PortfolioListController {
+
+    /** ポートフォリオService */
+    private final PortfolioService portfolioService;
+
+    /** ポートフォリオ一括インポートService */
+    private final PortfolioImportService portfolioImportService;
+
+    /** ポートフォリオエクスポートの実行可否 */
+    private final PortfolioExportGate portfolioExportGate;
+
+    /** ポートフォリオ一覧の取得（例: /api/portfolios?company=xxx&size=20&cursor=yyy&fields=name,company） */
+    @GetMapping
+    public ResponseEntity<PortfolioPageDto> getPortfolioPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String company,
+            @RequestParam(required = false) String occupation,
+            @RequestParam(required = false) String fields) {
+        PortfolioPageDto portfolioPageDto = portfolioService.getPortfolioPage(cursor, size, company, occupation, fields);
+
+        return ResponseEntity.status(HttpStatus.OK).body(portfolioPageDto);
+    }
+
+    /** ポートフォリオの全文検索（例: /api/portfolios/search?q=やまだ&fields=name,company） */
+    @GetMapping("/search")
+    public ResponseEntity<PortfolioSearchResponseDto> searchPortfolios(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String fields) {
+        PortfolioSearchResponseDto portfolioSearchResponseDto = portfolioService.searchPortfolios(q, size, fields);
+
+        return ResponseEntity.status(HttpStatus.OK).body(portfolioSearchResponseDto);
+    }
+
+    /**
+     * ポートフォリオのエクスポート（例: /api/portfolios/export?format=csv&company=xxx。Accept-Encodingでgzipを受け付けるなら圧縮）
+     *
+     * 運営者のみ実行でき、同時実行数を超える場合は503とする（レスポンスヘッダーを設定する前に判定する）。
+     */
+    @GetMapping("/export")
+    public void exportPortfolios(
+            @AuthenticationPrincipal Integer userId,
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) String company,
+            @RequestParam(required = false) String occupation,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = ExportFormat.of(format);
+        boolean gzip = AcceptEncoding.acceptsGzip(acceptEncoding);
+
+        try (PortfolioExportGate.Permit permit = portfolioExportGate.acquire(userId)) {
+            // 件数が不明なためContent-Lengthは付けずに逐次送信する
+            response.setContentType(exportFormat.getContentType());
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                    .filename("portfolios." + exportFormat.getExtension()).build().toString());
+            response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            if (gzip) {
+                response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            }
+
+            OutputStream outputStream = gzip ? new GZIPOutputStream(response.getOutputStream(), 8192)
+                    : response.getOutputStream();
+            portfolioService.exportPortfolios(exportFormat, company, occupation, outputStream);
+            if (outputStream instanceof GZIPOutputStream gzipOutputStream) {
+                gzipOutputStream.finish();
+            }
+        }
+    }
+
+    /** ポートフォリオの一括インポート（リクエストボディはNDJSON。レコード単位のエラーは結果に含める） */
+    @PostMapping("/import")
+    public ResponseEntity<PortfolioImportResultDto> importPortfolios(
+            @AuthenticationPrincipal Integer userId,
+            InputStream body) throws IOException {
+        PortfolioImportResultDto portfolioImportResultDto = portfolioImportService.importPortfolios(userId, body);
+
+        return ResponseEntity.status(HttpStatus.OK).body(portfolioImportResultDto);
+    }
+
+    /** ポートフォリオの一括取得（例: /api/portfolios?ids=1,2,3&fields=name,company） */
+    @GetMapping(params = "ids")
+    public ResponseEntity<PortfolioBatchResponseDto> getPortfolios(@RequestParam List<Integer> ids,
+            @RequestParam(required = false) String fields) {
+        PortfolioBatchResponseDto portfolioBatchResponseDto = portfolioService.getPortfolios(ids, fields);
+
+        return ResponseEntity.status(HttpStatus.OK).body(portfolioBatchResponseDto);
+    }
+}
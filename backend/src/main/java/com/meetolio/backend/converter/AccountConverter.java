@@ -0,0 +1,21 @@
+package com.meetolio.backend.converter;
+
+import com.meetolio.backend.dto.AccountResponseDto;
+import com.meetolio.backend.entity.UserEntity;
+
+/** アカウントのEntity・DTO変換（リフレクションを使わず、変換先以外の生成を行わない） */
+public final class AccountConverter {
+
+    private AccountConverter() {
+    }
+
+    /** Entity → レスポンスDTO（パスワードハッシュは含めない） */
+    public static AccountResponseDto toResponseDto(UserEntity entity) {
+        AccountResponseDto dto = new AccountResponseDto();
+        dto.setId(entity.getId());
+        dto.setEmail(entity.getEmail());
+        dto.setCreatedAt(entity.getCreatedAt());
+        dto.setUpdatedAt(entity.getUpdatedAt());
+        return dto;
+    }
+}
@@ -0,0 +1,110 @@
+package com.meetolio.backend.converter;
+
+import java.util.Set;
+
+import com.meetolio.backend.dto.PortfolioCreateRequestDto;
+import com.meetolio.backend.dto.PortfolioResponseDto;
+import com.meetolio.backend.dto.PortfolioUpdateRequestDto;
+import com.meetolio.backend.entity.PortfolioEntity;
+
+/** ポートフォリオのEntity・DTO変換（リフレクションを使わず、変換先以外の生成を行わない） */
+public final class PortfolioConverter {
+
+    private PortfolioConverter() {
+    }
+
+    /** Entity → レスポンスDTO */
+    public static PortfolioResponseDto toResponseDto(PortfolioEntity entity) {
+        PortfolioResponseDto dto = new PortfolioResponseDto();
+        dto.setUserId(entity.getUserId());
+        dto.setName(entity.getName());
+        dto.setNameKana(entity.getNameKana());
+        dto.setCompany(entity.getCompany());
+        dto.setOccupation(entity.getOccupation());
+        dto.setDescription(entity.getDescription());
+        dto.setNameCardImgUrl(entity.getNameCardImgUrl());
+        dto.setEmail(entity.getEmail());
+        dto.setTwitter(entity.getTwitter());
+        dto.setLinkedin(entity.getLinkedin());
+        dto.setGithub(entity.getGithub());
+        dto.setWebsite(entity.getWebsite());
+        return dto;
+    }
+
+    /** Entity → レスポンスDTO（fieldsに含まれる項目のみ。fieldsがnullなら全項目。userIdは常に含める） */
+    public static PortfolioResponseDto toResponseDto(PortfolioEntity entity, Set<String> fields) {
+        if (fields == null) {
+            return toResponseDto(entity);
+        }
+
+        PortfolioResponseDto dto = new PortfolioResponseDto();
+        dto.setUserId(entity.getUserId());
+        if (fields.contains("name")) {
+            dto.setName(entity.getName());
+        }
+        if (fields.contains("nameKana")) {
+            dto.setNameKana(entity.getNameKana());
+        }
+        if (fields.contains("company")) {
+            dto.setCompany(entity.getCompany());
+        }
+        if (fields.contains("occupation")) {
+            dto.setOccupation(entity.getOccupation());
+        }
+        if (fields.contains("description")) {
+            dto.setDescription(entity.getDescription());
+        }
+        if (fields.contains("nameCardImgUrl")) {
+            dto.setNameCardImgUrl(entity.getNameCardImgUrl());
+        }
+        if (fields.contains("email")) {
+            dto.setEmail(entity.getEmail());
+        }
+        if (fields.contains("twitter")) {
+            dto.setTwitter(entity.getTwitter());
+        }
+        if (fields.contains("linkedin")) {
+            dto.setLinkedin(entity.getLinkedin());
+        }
+        if (fields.contains("github")) {
+            dto.setGithub(entity.getGithub());
+        }
+        if (fields.contains("website")) {
+            dto.setWebsite(entity.getWebsite());
+        }
+        return dto;
+    }
+
+    /** 作成リクエストDTO → Entity */
+    public static PortfolioEntity toEntity(PortfolioCreateRequestDto request) {
+        PortfolioEntity entity = new PortfolioEntity();
+        entity.setUserId(request.getUserId());
+        entity.setName(request.getName());
+        entity.setNameKana(request.getNameKana());
+        entity.setCompany(request.getCompany());
+        entity.setOccupation(request.getOccupation());
+        entity.setDescription(request.getDescription());
+        entity.setNameCardImgUrl(request.getNameCardImgUrl());
+        entity.setEmail(request.getEmail());
+        entity.setTwitter(request.getTwitter());
+        entity.setLinkedin(request.getLinkedin());
+        entity.setGithub(request.getGithub());
+        entity.setWebsite(request.getWebsite());
+        return entity;
+    }
+
+    /** 更新リクエストDTO → 既存Entityへ反映（userId・作成日時・更新日時は変更しない） */
+    public static void copyToEntity(PortfolioUpdateRequestDto request, PortfolioEntity entity) {
+        entity.setName(request.getName());
+        entity.setNameKana(request.getNameKana());
+        entity.setCompany(request.getCompany());
+        entity.setOccupation(request.getOccupation());
+        entity.setDescription(request.getDescription());
+        entity.setNameCardImgUrl(request.getNameCardImgUrl());
+        entity.setEmail(request.getEmail());
+        entity.setTwitter(request.getTwitter());
+        entity.setLinkedin(request.getLinkedin());
+        entity.setGithub(request.getGithub());
+        entity.setWebsite(request.getWebsite());
+    }
+}
@@ -0,0 +1,15 @@
+package com.meetolio.backend.dto;
+
+import java.util.List;
+
+import lombok.Data;
+
+/** 画像アップロードレスポンス用DTO */
+@Data
+public class ImageUploadResponseDto {
+    private String hash; // 画像のSHA-256ハッシュ
+    private String url; // 画像のURL（nameCardImgUrlに設定する）
+    private String contentType; // 画像形式
+    private long size; // バイト数
+    private List<Integer> thumbnailWidths; // サムネイルの幅（URLに ?w=幅 を付けて取得する）
+}
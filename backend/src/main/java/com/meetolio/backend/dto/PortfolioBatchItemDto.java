@@ -0,0 +1,11 @@
+package com.meetolio.backend.dto;
+
+import lombok.Data;
+
+/** ポートフォリオ一括取得の1件分DTO */
+@Data
+public class PortfolioBatchItemDto {
+    private Integer userId; // ユーザーID
+    private boolean found; // ポートフォリオの有無
+    private PortfolioResponseDto portfolio; // ポートフォリオ（存在しない場合はnull）
+}
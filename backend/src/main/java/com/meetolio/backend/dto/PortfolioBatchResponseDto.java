@@ -0,0 +1,11 @@
+package com.meetolio.backend.dto;
+
+import java.util.List;
+
+import lombok.Data;
+
+/** ポートフォリオ一括取得レスポンス用DTO */
+@Data
+public class PortfolioBatchResponseDto {
+    private List<PortfolioBatchItemDto> items; // リクエストのID順の結果
+}
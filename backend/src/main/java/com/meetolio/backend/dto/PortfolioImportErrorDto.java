@@ -0,0 +1,17 @@
+package com.meetolio.backend.dto;
+
+import lombok.Data;
+
+/** ポートフォリオ一括インポートのエラー（1レコード分） */
+@Data
+public class PortfolioImportErrorDto {
+    private long line; // 行番号（1始まり）
+    private Integer userId; // ユーザーID（読み取れた場合のみ）
+    private String message; // エラー内容
+
+    public PortfolioImportErrorDto(long line, Integer userId, String message) {
+        this.line = line;
+        this.userId = userId;
+        this.message = message;
+    }
+}
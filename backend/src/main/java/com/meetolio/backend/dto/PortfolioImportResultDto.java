@@ -0,0 +1,18 @@
+package com.meetolio.backend.dto;
+
+import java.util.List;
+
+import lombok.Data;
+
+/** ポートフォリオ一括インポート結果レスポンス用DTO */
+@Data
+public class PortfolioImportResultDto {
+    private long total; // 読み込んだレコード数（空行を除く）
+    private long imported; // 保存したレコード数
+    private long failed; // エラーとなったレコード数
+    private long duplicates; // 同じバッチ内の後の行と同じuserIdのため保存しなかったレコード数
+    private long elapsedMillis; // 処理時間（ミリ秒）
+    private double rowsPerSecond; // 保存件数/秒
+    private List<PortfolioImportErrorDto> errors; // エラー内容（最大件数まで）
+    private boolean errorsTruncated; // エラーが最大件数を超えて省略された場合true
+}
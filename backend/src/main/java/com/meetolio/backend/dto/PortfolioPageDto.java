@@ -0,0 +1,12 @@
+package com.meetolio.backend.dto;
+
+import java.util.List;
+
+import lombok.Data;
+
+/** ポートフォリオ一覧（1ページ分）レスポンス用DTO */
+@Data
+public class PortfolioPageDto {
+    private List<PortfolioResponseDto> items; // 更新日時の新しい順
+    private String nextCursor; // 次ページのカーソル（最終ページはnull）
+}
@@ -1,9 +1,12 @@
 package com.meetolio.backend.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import lombok.Data;
 
-/** ポートフォリオ情報レスポンス用DTO */
+/** ポートフォリオ情報レスポンス用DTO（nullの項目は出力しない） */
 @Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class PortfolioResponseDto {
     private Integer userId; // ユーザーID
     private String name; // 氏名
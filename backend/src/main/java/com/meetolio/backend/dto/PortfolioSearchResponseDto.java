@@ -0,0 +1,12 @@
+package com.meetolio.backend.dto;
+
+import java.util.List;
+
+import lombok.Data;
+
+/** ポートフォリオ検索レスポンス用DTO */
+@Data
+public class PortfolioSearchResponseDto {
+    private List<PortfolioResponseDto> items; // 関連度の高い順
+    private int total; // 一致した件数
+}
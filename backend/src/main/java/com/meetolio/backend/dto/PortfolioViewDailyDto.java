@@ -0,0 +1,17 @@
+package com.meetolio.backend.dto;
+
+import java.time.LocalDate;
+
+import lombok.Data;
+
+/** ポートフォリオの日別閲覧数（1日分） */
+@Data
+public class PortfolioViewDailyDto {
+    private LocalDate date; // 閲覧日
+    private long count; // 閲覧数
+
+    public PortfolioViewDailyDto(LocalDate date, long count) {
+        this.date = date;
+        this.count = count;
+    }
+}
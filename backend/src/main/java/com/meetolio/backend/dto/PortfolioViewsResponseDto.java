@@ -0,0 +1,12 @@
+package com.meetolio.backend.dto;
+
+import java.util.List;
+
+import lombok.Data;
+
+/** ポートフォリオ閲覧数レスポンス用DTO */
+@Data
+public class PortfolioViewsResponseDto {
+    private long total; // 累計閲覧数
+    private List<PortfolioViewDailyDto> daily; // 日別閲覧数（日付の新しい順、閲覧のない日は含まない）
+}
@@ -0,0 +1,16 @@
+package com.meetolio.backend.entity;
+
+import java.time.LocalDateTime;
+
+import lombok.Data;
+
+/** ポートフォリオスナップショットテーブルEntity */
+@Data
+public class PortfolioSnapshotEntity {
+    private Integer userId; // ユーザーID
+    private LocalDateTime updatedAt; // 生成元ポートフォリオの更新日時
+    private Integer templateVersion; // 生成時のテンプレートバージョン
+    private byte[] json; // レスポンスJSON（UTF-8）
+    private byte[] jsonGzip; // レスポンスJSONのgzip圧縮
+    private byte[] html; // 共有リンク用HTML（UTF-8）
+}
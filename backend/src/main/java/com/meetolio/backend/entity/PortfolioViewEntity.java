@@ -0,0 +1,13 @@
+package com.meetolio.backend.entity;
+
+import java.time.LocalDate;
+
+import lombok.Data;
+
+/** ポートフォリオ閲覧数テーブルEntity */
+@Data
+public class PortfolioViewEntity {
+    private Integer userId; // ユーザーID
+    private LocalDate viewDate; // 閲覧日
+    private Long count; // 閲覧数
+}
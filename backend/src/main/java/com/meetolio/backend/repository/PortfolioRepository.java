@@ -1,6 +1,13 @@
 package com.meetolio.backend.repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
 
 import com.meetolio.backend.entity.PortfolioEntity;
 
@@ -11,9 +18,56 @@ public interface PortfolioRepository {
     /** ポートフォリオのID検索 */
     public PortfolioEntity findById(Integer userId);
 
+    /** ポートフォリオの複数ID検索（1回のクエリで取得、順序は不定） */
+    public List<PortfolioEntity> findByIds(@Param("userIds") Integer[] userIds);
+
+    /** ポートフォリオの複数ID検索（fieldsに含まれる項目の列のみ取得し、他の項目はnull。順序は不定） */
+    public List<PortfolioEntity> findFieldsByIds(@Param("userIds") Integer[] userIds, @Param("fields") Set<String> fields);
+
+    /**
+     * ポートフォリオ一覧の取得（ユーザーIDの降順、afterUserIdより後ろの行からlimit件。条件・カーソルはnullで指定なし）
+     *
+     * fields指定時はそれに含まれる項目の列のみ取得する（nullで全項目）。
+     */
+    public List<PortfolioEntity> findPage(@Param("company") String company, @Param("occupation") String occupation,
+            @Param("afterUserId") Integer afterUserId, @Param("limit") int limit, @Param("fields") Set<String> fields);
+
+    /** ポートフォリオの走査（ユーザーID順に逐次取得。条件はnullで指定なし。トランザクション内で使用すること） */
+    public Cursor<PortfolioEntity> scan(@Param("company") String company, @Param("occupation") String occupation);
+
+    /** ユーザーIDの取得（ユーザーID順にafterUserIdより後ろからlimit件。afterUserIdはnullで先頭から） */
+    public List<Integer> findIdsAfter(@Param("afterUserId") Integer afterUserId, @Param("limit") int limit);
+
+    /** ポートフォリオのID検索（更新用に行ロック） */
+    public PortfolioEntity findByIdForUpdate(Integer userId);
+
+    /** ポートフォリオの更新日時取得 */
+    public LocalDateTime findUpdatedAtById(Integer userId);
+
     /** ポートフォリオの保存 */
     public void save(PortfolioEntity entity);
 
+    /**
+     * ポートフォリオの部分更新（fieldsに含まれる項目のみ更新し、更新後の更新日時を返す）
+     *
+     * fieldsのキーはEntityのプロパティ名で、値がnullの項目はNULLに更新する。
+     * expectedVersions指定時は更新日時がいずれかと一致する場合のみ更新する。対象がなければnullを返す。
+     */
+    public LocalDateTime patch(@Param("userId") Integer userId, @Param("fields") Map<String, String> fields,
+            @Param("expectedVersions") List<LocalDateTime> expectedVersions);
+
+    /** ポートフォリオの一括保存（列ごとの配列をunnestで展開して1文でUPSERT。各配列の同じ位置が1行分で、同じuserIdを含めないこと） */
+    public void saveColumns(@Param("userIds") Integer[] userIds, @Param("names") String[] names,
+            @Param("nameKanas") String[] nameKanas, @Param("companies") String[] companies,
+            @Param("occupations") String[] occupations, @Param("descriptions") String[] descriptions,
+            @Param("nameCardImgUrls") String[] nameCardImgUrls, @Param("emails") String[] emails,
+            @Param("twitters") String[] twitters, @Param("linkedins") String[] linkedins,
+            @Param("githubs") String[] githubs, @Param("websites") String[] websites);
+
     /** ユーザーIDによるポートフォリオの削除 */
     void deleteByUserId(Integer userId);
+
+    /** ポートフォリオ変更の通知（NOTIFY） */
+    void notifyChanged(String payload);
+
 }
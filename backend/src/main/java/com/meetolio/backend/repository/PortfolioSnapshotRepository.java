@@ -0,0 +1,26 @@
+package com.meetolio.backend.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import com.meetolio.backend.entity.PortfolioSnapshotEntity;
+
+/** ポートフォリオスナップショットテーブル用Repository */
+@Mapper
+public interface PortfolioSnapshotRepository {
+
+    /** スナップショットのID検索 */
+    public PortfolioSnapshotEntity findById(Integer userId);
+
+    /** 再生成が必要なユーザーIDの取得（スナップショットが未生成、またはtemplateVersionより古いもの。ユーザーID順にafterUserIdより後ろからlimit件） */
+    public List<Integer> findStaleIdsAfter(@Param("templateVersion") int templateVersion,
+            @Param("afterUserId") Integer afterUserId, @Param("limit") int limit);
+
+    /** スナップショットの一括保存（列ごとの配列をunnestで展開して1文でUPSERT。各配列の同じ位置が1行分。保存済みのものより古い更新日時・テンプレートのものは上書きしない） */
+    public void saveColumns(@Param("userIds") Integer[] userIds, @Param("updatedAts") LocalDateTime[] updatedAts,
+            @Param("templateVersions") Integer[] templateVersions, @Param("jsons") byte[][] jsons,
+            @Param("jsonGzips") byte[][] jsonGzips, @Param("htmls") byte[][] htmls);
+}
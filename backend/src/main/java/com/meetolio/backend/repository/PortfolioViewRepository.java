@@ -0,0 +1,24 @@
+package com.meetolio.backend.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import com.meetolio.backend.entity.PortfolioViewEntity;
+
+/** ポートフォリオ閲覧数テーブル用Repository */
+@Mapper
+public interface PortfolioViewRepository {
+
+    /** 日別閲覧数の取得（from以降、日付の新しい順） */
+    public List<PortfolioViewEntity> findDaily(@Param("userId") Integer userId, @Param("from") LocalDate from);
+
+    /** 累計閲覧数 */
+    public long countTotal(Integer userId);
+
+    /** 閲覧数の一括加算（各配列の同じ位置が1行分。削除済みのポートフォリオの分は捨てる） */
+    public void addColumns(@Param("userIds") Integer[] userIds, @Param("viewDates") LocalDate[] viewDates,
+            @Param("counts") Long[] counts);
+}
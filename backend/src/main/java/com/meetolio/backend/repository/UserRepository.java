@@ -1,6 +1,10 @@
 package com.meetolio.backend.repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 
 import com.meetolio.backend.entity.UserEntity;
 
@@ -11,6 +15,9 @@ public interface UserRepository {
     /** ID検索 */
     public UserEntity findById(Integer id);
 
+    /** 指定IDのうち存在するIDの取得 */
+    public List<Integer> findExistingIds(@Param("ids") Integer[] ids);
+
     /** メールアドレス検索 */
     public UserEntity findByEmail(String email);
 
@@ -20,6 +27,14 @@ public interface UserRepository {
     /** 更新 */
     public void update(UserEntity userEntity);
 
+    /** パスワードハッシュの置き換え（保存済みハッシュがoldHashの場合のみ更新し、更新件数を返す。updatedAtはnullで更新しない） */
+    public int replacePasswordHash(@Param("id") Integer id, @Param("oldHash") String oldHash,
+            @Param("newHash") String newHash, @Param("updatedAt") LocalDateTime updatedAt);
+
+    /** メールアドレス変更（保存済みハッシュがpasswordHashの場合のみ更新し、更新件数を返す） */
+    public int updateEmail(@Param("id") Integer id, @Param("passwordHash") String passwordHash,
+            @Param("email") String email, @Param("updatedAt") LocalDateTime updatedAt);
+
     /** 削除 */
     public void deleteById(Integer id);
 }
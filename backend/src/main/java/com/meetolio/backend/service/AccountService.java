@@ -2,13 +2,17 @@ package com.meetolio.backend.service;
 
 import java.time.LocalDateTime;
 
-import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.meetolio.backend.common.error.NotFoundException;
+import com.meetolio.backend.common.event.PortfolioChangedEvent;
+import com.meetolio.backend.converter.AccountConverter;
 import com.meetolio.backend.dto.AccountResponseDto;
 import com.meetolio.backend.entity.UserEntity;
 import com.meetolio.backend.form.EmailUpdateForm;
@@ -16,12 +20,13 @@ import com.meetolio.backend.form.PasswordUpdateForm;
 import com.meetolio.backend.repository.UserRepository;
 import com.meetolio.backend.repository.PortfolioRepository;
 
-import lombok.RequiredArgsConstructor;
-
-/** アカウント関連Service */
+/**
+ * アカウント関連Service
+ *
+ * パスワード照合・ハッシュ化（待ち行列での待ちを含め数秒かかることがある）を行うメソッドはトランザクションを付けず、
+ * その間DB接続を保持しない。書き込みのみ短いトランザクションで行う。
+ */
 @Service
-@RequiredArgsConstructor
-@Transactional
 public class AccountService {
 
     /** ユーザーRepository */
@@ -33,7 +38,24 @@ public class AccountService {
     /** パスワードエンコーダー */
     private final PasswordEncoder passwordEncoder;
 
+    /** イベント発行 */
+    private final ApplicationEventPublisher eventPublisher;
+
+    /** パスワード照合後の書き込み用のトランザクション */
+    private final TransactionTemplate transactionTemplate;
+
+    public AccountService(UserRepository userRepository, PortfolioRepository portfolioRepository,
+            PasswordEncoder passwordEncoder, ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        this.portfolioRepository = portfolioRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
     /** ユーザーアカウント取得 */
+    @Transactional(readOnly = true)
     public AccountResponseDto getAccount(Integer userId) {
         UserEntity userEntity = userRepository.findById(userId);
 
@@ -42,13 +64,10 @@ public class AccountService {
             throw new NotFoundException("ユーザーアカウントが見つかりません");
         }
 
-        ModelMapper mapper = new ModelMapper();
-        AccountResponseDto accountResponseDto = mapper.map(userEntity, AccountResponseDto.class);
-
-        return accountResponseDto;
+        return AccountConverter.toResponseDto(userEntity);
     }
 
-    /** メールアドレス変更 */
+    /** メールアドレス変更（照合後にパスワードが変更されていた場合は変更しない） */
     public AccountResponseDto updateEmail(Integer userId, EmailUpdateForm form) {
         // パスワード一致確認
         UserEntity userEntity = userRepository.findById(userId);
@@ -60,19 +79,18 @@ public class AccountService {
         // メールアドレス変更
         userEntity.setEmail(form.getEmail());
         userEntity.setUpdatedAt(LocalDateTime.now());
-        userRepository.update(userEntity);
-
-        // 変更後の情報をセット
-        AccountResponseDto accountResponseDto = new AccountResponseDto();
-        accountResponseDto.setId(userEntity.getId());
-        accountResponseDto.setEmail(userEntity.getEmail());
-        accountResponseDto.setCreatedAt(userEntity.getCreatedAt());
-        accountResponseDto.setUpdatedAt(userEntity.getUpdatedAt());
+        Integer updated = transactionTemplate.execute(status -> userRepository.updateEmail(userId,
+                userEntity.getPasswordHash(), userEntity.getEmail(), userEntity.getUpdatedAt()));
+        if (updated == null || updated == 0) {
+            // 照合後に別のリクエストでパスワードが変更された場合
+            throw new AccessDeniedException("パスワードが一致しません");
+        }
 
-        return accountResponseDto;
+        // 変更後の情報を返す
+        return AccountConverter.toResponseDto(userEntity);
     }
 
-    /** パスワード変更 */
+    /** パスワード変更（照合後にパスワードが変更されていた場合は変更しない） */
     public void updatePassword(Integer userId, PasswordUpdateForm form) {
         // パスワード一致確認
         UserEntity userEntity = userRepository.findById(userId);
@@ -82,12 +100,17 @@ public class AccountService {
         }
 
         // パスワード変更
-        userEntity.setPasswordHash(passwordEncoder.encode(form.getNewPassword()));
-        userEntity.setUpdatedAt(LocalDateTime.now());
-        userRepository.update(userEntity);
+        String newHash = passwordEncoder.encode(form.getNewPassword());
+        Integer updated = transactionTemplate.execute(status -> userRepository.replacePasswordHash(userId,
+                userEntity.getPasswordHash(), newHash, LocalDateTime.now()));
+        if (updated == null || updated == 0) {
+            // 照合後に別のリクエストでパスワードが変更された場合
+            throw new AccessDeniedException("パスワードが一致しません");
+        }
     }
 
     /** アカウント削除 */
+    @Transactional
     public void deleteAccount(Integer userId) {
         // ユーザーの存在確認
         UserEntity user = userRepository.findById(userId);
@@ -97,6 +120,7 @@ public class AccountService {
 
         // 関連するポートフォリオを先に削除
         portfolioRepository.deleteByUserId(userId);
+        eventPublisher.publishEvent(PortfolioChangedEvent.local(userId));
 
         // ユーザー削除
         userRepository.deleteById(userId);
@@ -1,22 +1,26 @@
 package com.meetolio.backend.service;
 
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.meetolio.backend.common.error.DuplicateException;
+import com.meetolio.backend.common.error.ServiceUnavailableException;
 import com.meetolio.backend.common.error.UnauthorizedException;
 import com.meetolio.backend.entity.UserEntity;
 import com.meetolio.backend.form.LoginForm;
 import com.meetolio.backend.form.SignupForm;
 import com.meetolio.backend.repository.UserRepository;
 
-import lombok.RequiredArgsConstructor;
-
-/** 認証関連Service */
+/**
+ * 認証関連Service
+ *
+ * パスワードのハッシュ化・照合（待ち行列での待ちを含め数秒かかることがある）はトランザクションの外で行い、
+ * その間DB接続を保持しない。読み込みはトランザクションなし（プライマリ）、書き込みは短いトランザクションで行う。
+ */
 @Service
-@RequiredArgsConstructor
-@Transactional
 public class AuthService {
 
     /** ユーザーRepository */
@@ -25,6 +29,16 @@ public class AuthService {
     /** パスワードエンコーダー */
     private final PasswordEncoder passwordEncoder;
 
+    /** 書き込み用のトランザクション */
+    private final TransactionTemplate transactionTemplate;
+
+    public AuthService(UserRepository userRepository, PasswordEncoder passwordEncoder,
+            PlatformTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
     /** ユーザー登録 */
     public Integer register(SignupForm form) {
         UserEntity userEntity = userRepository.findByEmail(form.getEmail());
@@ -34,15 +48,21 @@ public class AuthService {
             throw new DuplicateException("すでに存在しているメールアドレスです");
         }
 
-        userEntity = new UserEntity();
-        userEntity.setEmail(form.getEmail());
-        userEntity.setPasswordHash(passwordEncoder.encode(form.getPassword()));
-        userRepository.save(userEntity);
+        UserEntity newUserEntity = new UserEntity();
+        newUserEntity.setEmail(form.getEmail());
+        newUserEntity.setPasswordHash(passwordEncoder.encode(form.getPassword()));
+        try {
+            transactionTemplate.executeWithoutResult(status -> userRepository.save(newUserEntity));
+        } catch (DuplicateKeyException e) {
+            // ハッシュ化の間に同じメールアドレスで登録された場合
+            // TODO: メッセージ共通化
+            throw new DuplicateException("すでに存在しているメールアドレスです");
+        }
 
-        return userEntity.getId();
+        return newUserEntity.getId();
     }
 
-    /** ログイン */
+    /** ログイン（登録・パスワード変更の直後でも確実に読めるよう、トランザクションなしでプライマリから読む） */
     public Integer login(LoginForm form) {
         UserEntity userEntity = userRepository.findByEmail(form.getEmail());
 
@@ -57,6 +77,18 @@ public class AuthService {
             throw new UnauthorizedException("メールアドレス または パスワードが違います");
         }
 
+        // 保存済みハッシュのコストが現在の設定より低い場合は再ハッシュして保存（平文が得られるログイン時のみ可能）
+        // ハッシュ以外の列は書き換えず、読み込み後にパスワードが変更されていれば再ハッシュは捨てる（更新0件）
+        if (passwordEncoder.upgradeEncoding(userEntity.getPasswordHash())) {
+            try {
+                String newHash = passwordEncoder.encode(form.getPassword());
+                transactionTemplate.executeWithoutResult(status -> userRepository
+                        .replacePasswordHash(userEntity.getId(), userEntity.getPasswordHash(), newHash, null));
+            } catch (ServiceUnavailableException e) {
+                // 過負荷時は再ハッシュを見送り、次回のログインで行う
+            }
+        }
+
         return userEntity.getId();
 
     }
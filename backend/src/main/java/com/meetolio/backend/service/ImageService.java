@@ -0,0 +1,86 @@
+package com.meetolio.backend.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.meetolio.backend.common.error.BadRequestException;
+import com.meetolio.backend.common.error.NotFoundException;
+import com.meetolio.backend.common.image.ImageFormat;
+import com.meetolio.backend.common.image.ImageStore;
+import com.meetolio.backend.common.image.ThumbnailGenerator;
+import com.meetolio.backend.dto.ImageUploadResponseDto;
+
+import lombok.RequiredArgsConstructor;
+
+/** 画像関連Service */
+@Service
+@RequiredArgsConstructor
+public class ImageService {
+
+    /** 画像URLのプレフィックス */
+    public static final String URL_PREFIX = "/api/images/";
+
+    /** 画像保存 */
+    private final ImageStore imageStore;
+
+    /** サムネイル生成 */
+    private final ThumbnailGenerator thumbnailGenerator;
+
+    /** 画像のアップロード（同じ画像は1つだけ保存され、同じURLを返す） */
+    public ImageUploadResponseDto uploadImage(MultipartFile file) throws IOException {
+        if (file == null || file.isEmpty()) {
+            // TODO: メッセージ共通化
+            throw new BadRequestException("画像ファイルを指定してください");
+        }
+
+        ImageStore.StoredImage stored;
+        try (InputStream in = file.getInputStream()) {
+            stored = imageStore.store(in);
+        }
+        thumbnailGenerator.request(stored.hash());
+
+        ImageUploadResponseDto imageUploadResponseDto = new ImageUploadResponseDto();
+        imageUploadResponseDto.setHash(stored.hash());
+        imageUploadResponseDto.setUrl(URL_PREFIX + stored.hash());
+        imageUploadResponseDto.setContentType(stored.format().getContentType());
+        imageUploadResponseDto.setSize(stored.size());
+        imageUploadResponseDto.setThumbnailWidths(thumbnailGenerator.getWidths());
+        return imageUploadResponseDto;
+    }
+
+    /** 配信する画像の取得（width指定時はサムネイル。未生成の場合は生成を依頼し、元画像を返す） */
+    public ServedImage getImage(String hash, Integer width) {
+        if (width != null && !thumbnailGenerator.getWidths().contains(width)) {
+            throw new BadRequestException("サムネイルの幅は" + thumbnailGenerator.getWidths() + "のいずれかを指定してください");
+        }
+
+        ImageStore.StoredFile original = imageStore.findOriginal(hash);
+        if (original == null) {
+            throw new NotFoundException("画像が見つかりません");
+        }
+        if (width == null) {
+            return new ServedImage(original.path(), original.format(), hash, true);
+        }
+
+        Path thumbnail = imageStore.thumbnailPath(hash, width, original.format());
+        if (Files.isRegularFile(thumbnail)) {
+            return new ServedImage(thumbnail, original.format(), hash + "-" + width, true);
+        }
+        thumbnailGenerator.request(hash);
+        return new ServedImage(original.path(), original.format(), hash, false);
+    }
+
+    /**
+     * 配信する画像
+     *
+     * @param version   ETag用の識別子（送信するファイルごとに異なる）
+     * @param immutable 内容が今後変わらない場合true（サムネイル生成待ちで元画像を返す場合はfalse）
+     */
+    public record ServedImage(Path path, ImageFormat format, String version, boolean immutable) {
+    }
+}
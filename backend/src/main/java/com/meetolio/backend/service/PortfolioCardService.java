@@ -0,0 +1,137 @@
+package com.meetolio.backend.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.meetolio.backend.common.cache.PortfolioCache;
+import com.meetolio.backend.common.cache.PortfolioCardCache;
+import com.meetolio.backend.common.card.PortfolioVCardRenderer;
+import com.meetolio.backend.common.datasource.ReadYourWrites;
+import com.meetolio.backend.common.error.BadRequestException;
+import com.meetolio.backend.common.error.NotFoundException;
+import com.meetolio.backend.common.qr.QrCode;
+import com.meetolio.backend.common.qr.QrCodeFormat;
+import com.meetolio.backend.common.qr.QrCodeRenderer;
+import com.meetolio.backend.entity.PortfolioEntity;
+import com.meetolio.backend.repository.PortfolioRepository;
+
+/**
+ * ポートフォリオの連絡先カード（vCard・QRコード）Service
+ *
+ * 生成結果は（ユーザーID, 更新日時, 形式, サイズ）ごとにキャッシュし、同じものへの再要求では生成しない。
+ */
+@Service
+public class PortfolioCardService {
+
+    /** vCardのキャッシュ上の形式名 */
+    private static final String VCARD_FORMAT = "vcard";
+
+    /** QRコード用vCard（NOTEなし）のキャッシュ上の形式名 */
+    private static final String QR_VCARD_FORMAT = "vcard-qr";
+
+    /** QRコードの誤り訂正レベル */
+    private static final QrCode.ErrorCorrection QR_ERROR_CORRECTION = QrCode.ErrorCorrection.M;
+
+    /** QRコードの内容（ポートフォリオページのURL、vCard） */
+    private static final List<String> QR_CONTENTS = List.of("url", "vcard");
+
+    /** ポートフォリオRepository */
+    private final PortfolioRepository portfolioRepository;
+
+    /** ポートフォリオ読み取りキャッシュ */
+    private final PortfolioCache portfolioCache;
+
+    /** 書き込み直後の読み取りの接続先の判定 */
+    private final ReadYourWrites readYourWrites;
+
+    /** vCard・QRコードのキャッシュ */
+    private final PortfolioCardCache portfolioCardCache;
+
+    /** vCardの生成 */
+    private final PortfolioVCardRenderer portfolioVCardRenderer;
+
+    /** QRコードの1辺のピクセル数（既定値・最小・最大） */
+    private final int qrDefaultSize;
+    private final int qrMinSize;
+    private final int qrMaxSize;
+
+    public PortfolioCardService(PortfolioRepository portfolioRepository, PortfolioCache portfolioCache,
+            ReadYourWrites readYourWrites, PortfolioCardCache portfolioCardCache,
+            PortfolioVCardRenderer portfolioVCardRenderer,
+            @Value("${meetolio.portfolio.qr.default-size}") int qrDefaultSize,
+            @Value("${meetolio.portfolio.qr.min-size}") int qrMinSize,
+            @Value("${meetolio.portfolio.qr.max-size}") int qrMaxSize) {
+        this.portfolioRepository = portfolioRepository;
+        this.portfolioCache = portfolioCache;
+        this.readYourWrites = readYourWrites;
+        this.portfolioCardCache = portfolioCardCache;
+        this.portfolioVCardRenderer = portfolioVCardRenderer;
+        this.qrDefaultSize = qrDefaultSize;
+        this.qrMinSize = qrMinSize;
+        this.qrMaxSize = qrMaxSize;
+    }
+
+    /** vCardの取得 */
+    @Transactional(readOnly = true)
+    public RenderedCard getVCard(Integer userId) {
+        PortfolioEntity entity = findPortfolio(userId);
+        return new RenderedCard(vCard(entity), entity.getUpdatedAt());
+    }
+
+    /** QRコードの取得（contentはurlまたはvcard、sizeは1辺のピクセル数。未指定は既定値） */
+    @Transactional(readOnly = true)
+    public RenderedCard getQrCode(Integer userId, QrCodeFormat format, String content, Integer size) {
+        if (!QR_CONTENTS.contains(content)) {
+            // TODO: メッセージ共通化
+            throw new BadRequestException("QRコードの内容はurlまたはvcardで指定してください");
+        }
+        int pixels = size != null ? size : qrDefaultSize;
+        if (pixels < qrMinSize || pixels > qrMaxSize) {
+            // TODO: メッセージ共通化
+            throw new BadRequestException("QRコードのサイズは" + qrMinSize + "〜" + qrMaxSize + "で指定してください");
+        }
+
+        PortfolioEntity entity = findPortfolio(userId);
+
+        // 内容はQRコードの生成（キャッシュの読み込み処理）の外で用意する（同じキャッシュへの入れ子の呼び出しは行えないため）
+        byte[] data = content.equals(VCARD_FORMAT)
+                ? portfolioCardCache.get(userId, entity.getUpdatedAt(), QR_VCARD_FORMAT, 0,
+                        () -> portfolioVCardRenderer.renderForQrCode(entity))
+                : portfolioVCardRenderer.pageUrl(userId).getBytes(StandardCharsets.UTF_8);
+        if (!QrCode.canEncode(data.length, QR_ERROR_CORRECTION)) {
+            // TODO: メッセージ共通化
+            throw new BadRequestException("連絡先の内容が長すぎるためQRコードにできません。contentにurlを指定してください");
+        }
+
+        byte[] body = portfolioCardCache.get(userId, entity.getUpdatedAt(),
+                "qr-" + content + "." + format.getExtension(), pixels,
+                () -> QrCodeRenderer.render(QrCode.encode(data, QR_ERROR_CORRECTION), format, pixels));
+        return new RenderedCard(body, entity.getUpdatedAt());
+    }
+
+    private byte[] vCard(PortfolioEntity entity) {
+        return portfolioCardCache.get(entity.getUserId(), entity.getUpdatedAt(), VCARD_FORMAT, 0,
+                () -> portfolioVCardRenderer.render(entity));
+    }
+
+    private PortfolioEntity findPortfolio(Integer userId) {
+        PortfolioEntity portfolioEntity = portfolioCache.get(userId,
+                id -> readYourWrites.readFromPrimaryIfRecent(List.of(id), () -> portfolioRepository.findById(id)));
+
+        // TODO: メッセージ共通化
+        if (portfolioEntity == null) {
+            throw new NotFoundException("ポートフォリオが見つかりません");
+        }
+
+        return portfolioEntity;
+    }
+
+    /** 生成結果（bodyは共有されるため変更しないこと） */
+    public record RenderedCard(byte[] body, LocalDateTime updatedAt) {
+    }
+}
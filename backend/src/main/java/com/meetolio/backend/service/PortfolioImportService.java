@@ -0,0 +1,331 @@
+package com.meetolio.backend.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meetolio.backend.common.event.PortfolioChangedEvent;
+import com.meetolio.backend.converter.PortfolioConverter;
+import com.meetolio.backend.dto.PortfolioCreateRequestDto;
+import com.meetolio.backend.dto.PortfolioImportErrorDto;
+import com.meetolio.backend.dto.PortfolioImportResultDto;
+import com.meetolio.backend.entity.PortfolioEntity;
+import com.meetolio.backend.repository.PortfolioRepository;
+import com.meetolio.backend.repository.UserRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * ポートフォリオ一括インポートService
+ *
+ * NDJSONを1行ずつ読み込んで検証し、batch-size件ごとに1文のUPSERTで保存する。
+ * バッチごとに別トランザクションとし、失敗したバッチは1件ずつ保存し直してエラーのレコードだけを報告する。
+ * 保持するのは1バッチ分のレコードと最大件数までのエラーのみのため、入力の大きさによらずメモリ使用量は一定。
+ */
+@Slf4j
+@Service
+public class PortfolioImportService {
+
+    /** 1回のUPSERTでまとめる件数の上限 */
+    private static final int MAX_BATCH_SIZE = 5000;
+
+    /** ポートフォリオRepository */
+    private final PortfolioRepository portfolioRepository;
+
+    /** ユーザーRepository */
+    private final UserRepository userRepository;
+
+    /** JSON変換 */
+    private final ObjectMapper objectMapper;
+
+    /** イベント発行 */
+    private final ApplicationEventPublisher eventPublisher;
+
+    /** バッチごとのトランザクション */
+    private final TransactionTemplate transactionTemplate;
+
+    /** 実行を許可するユーザーID */
+    private final Set<Integer> operatorUserIds;
+
+    /** 1回のUPSERTでまとめる件数 */
+    private final int batchSize;
+
+    /** 1行の最大文字数 */
+    private final int maxLineLength;
+
+    /** レスポンスに含めるエラーの最大件数 */
+    private final int maxErrors;
+
+    public PortfolioImportService(PortfolioRepository portfolioRepository, UserRepository userRepository,
+            ObjectMapper objectMapper, ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager,
+            @Value("${meetolio.portfolio.operator-user-ids}") Set<Integer> operatorUserIds,
+            @Value("${meetolio.portfolio.import.batch-size}") int batchSize,
+            @Value("${meetolio.portfolio.import.max-line-length}") int maxLineLength,
+            @Value("${meetolio.portfolio.import.max-errors}") int maxErrors) {
+        this.portfolioRepository = portfolioRepository;
+        this.userRepository = userRepository;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.operatorUserIds = Set.copyOf(operatorUserIds);
+        this.batchSize = Math.max(1, Math.min(batchSize, MAX_BATCH_SIZE));
+        this.maxLineLength = maxLineLength;
+        this.maxErrors = maxErrors;
+    }
+
+    /** NDJSON（1行1件、形式はポートフォリオ作成リクエストと同じ）の一括インポート */
+    public PortfolioImportResultDto importPortfolios(Integer operatorUserId, InputStream inputStream) throws IOException {
+        if (!operatorUserIds.contains(operatorUserId)) {
+            throw new AccessDeniedException("インポートの権限がありません");
+        }
+
+        long start = System.nanoTime();
+        ImportRun run = new ImportRun();
+        // 同じバッチ内で同じuserIdが複数回現れた場合は後の行のみ保存する（前の行は重複として数える）
+        Map<Integer, PendingRecord> batch = new LinkedHashMap<>();
+
+        LineReader reader = new LineReader(
+                new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8)), maxLineLength);
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (reader.isTooLong()) {
+                run.total++;
+                run.fail(lineNumber, null, "1行の文字数が上限（" + maxLineLength + "）を超えています");
+                continue;
+            }
+            if (line.isBlank()) {
+                continue;
+            }
+            run.total++;
+
+            PortfolioCreateRequestDto request;
+            try {
+                request = objectMapper.readValue(line, PortfolioCreateRequestDto.class);
+            } catch (JsonProcessingException e) {
+                run.fail(lineNumber, null, "JSONの形式が不正です");
+                continue;
+            }
+            String error = validate(request);
+            if (error != null) {
+                run.fail(lineNumber, request != null ? request.getUserId() : null, error);
+                continue;
+            }
+
+            if (batch.put(request.getUserId(), new PendingRecord(lineNumber, PortfolioConverter.toEntity(request))) != null) {
+                run.duplicates++;
+            }
+            if (batch.size() >= batchSize) {
+                flush(batch, run);
+            }
+        }
+        flush(batch, run);
+
+        long elapsedNanos = System.nanoTime() - start;
+        PortfolioImportResultDto result = run.toResult(elapsedNanos);
+        log.info("ポートフォリオを一括インポートしました: {}件中{}件保存, {}件エラー, {}件重複, {}ms ({} rows/s)",
+                result.getTotal(), result.getImported(), result.getFailed(), result.getDuplicates(),
+                result.getElapsedMillis(), String.format("%.0f", result.getRowsPerSecond()));
+        return result;
+    }
+
+    /** バッチの保存 */
+    private void flush(Map<Integer, PendingRecord> batch, ImportRun run) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        // 存在しないユーザーは外部キー制約で失敗するため、事前に除外する
+        Set<Integer> existing = new HashSet<>(userRepository.findExistingIds(batch.keySet().toArray(Integer[]::new)));
+        List<PendingRecord> records = new ArrayList<>(batch.size());
+        for (Map.Entry<Integer, PendingRecord> entry : batch.entrySet()) {
+            if (existing.contains(entry.getKey())) {
+                records.add(entry.getValue());
+            } else {
+                // TODO: メッセージ共通化
+                run.fail(entry.getValue().line(), entry.getKey(), "ユーザーが存在しません");
+            }
+        }
+        batch.clear();
+        if (records.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                saveAll(records);
+                records.forEach(record -> publishChanged(record.entity()));
+            });
+            run.imported += records.size();
+        } catch (DataAccessException e) {
+            // バッチ全体がロールバックされるため、1件ずつ保存し直して失敗したレコードを特定する
+            log.debug("一括保存に失敗したため1件ずつ保存します: {}", e.getMostSpecificCause().getMessage());
+            for (PendingRecord record : records) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        portfolioRepository.save(record.entity());
+                        publishChanged(record.entity());
+                    });
+                    run.imported++;
+                } catch (DataAccessException rowException) {
+                    run.fail(record.line(), record.entity().getUserId(),
+                            "保存に失敗しました: " + rowException.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+    }
+
+    /** バッチの一括保存（列ごとの配列にまとめて1文でUPSERT） */
+    private void saveAll(List<PendingRecord> records) {
+        portfolioRepository.saveColumns(
+                column(records, PortfolioEntity::getUserId, Integer[]::new),
+                column(records, PortfolioEntity::getName, String[]::new),
+                column(records, PortfolioEntity::getNameKana, String[]::new),
+                column(records, PortfolioEntity::getCompany, String[]::new),
+                column(records, PortfolioEntity::getOccupation, String[]::new),
+                column(records, PortfolioEntity::getDescription, String[]::new),
+                column(records, PortfolioEntity::getNameCardImgUrl, String[]::new),
+                column(records, PortfolioEntity::getEmail, String[]::new),
+                column(records, PortfolioEntity::getTwitter, String[]::new),
+                column(records, PortfolioEntity::getLinkedin, String[]::new),
+                column(records, PortfolioEntity::getGithub, String[]::new),
+                column(records, PortfolioEntity::getWebsite, String[]::new));
+    }
+
+    private void publishChanged(PortfolioEntity entity) {
+        eventPublisher.publishEvent(PortfolioChangedEvent.local(entity.getUserId()));
+    }
+
+    /** レコードの検証（エラーがなければnull） */
+    private static String validate(PortfolioCreateRequestDto request) {
+        if (request == null || request.getUserId() == null || request.getUserId() <= 0) {
+            return "userIdは必須です";
+        }
+        String[][] limitedFields = {
+                { "name", request.getName() },
+                { "nameKana", request.getNameKana() },
+                { "company", request.getCompany() },
+                { "occupation", request.getOccupation() },
+                { "email", request.getEmail() },
+                { "twitter", request.getTwitter() },
+                { "linkedin", request.getLinkedin() },
+                { "github", request.getGithub() },
+        };
+        for (String[] field : limitedFields) {
+            if (field[1] != null && field[1].length() > 255) {
+                return field[0] + "は255文字以内で指定してください";
+            }
+        }
+        if (request.getWebsite() != null && request.getWebsite().length() > 500) {
+            return "websiteは500文字以内で指定してください";
+        }
+        return null;
+    }
+
+    /** レコードの1項目分の配列 */
+    private static <T> T[] column(List<PendingRecord> records, Function<PortfolioEntity, T> getter,
+            IntFunction<T[]> arrayFactory) {
+        T[] values = arrayFactory.apply(records.size());
+        for (int i = 0; i < values.length; i++) {
+            values[i] = getter.apply(records.get(i).entity());
+        }
+        return values;
+    }
+
+    /** 保存待ちのレコード */
+    private record PendingRecord(long line, PortfolioEntity entity) {
+    }
+
+    /** 1回のインポートの集計 */
+    private final class ImportRun {
+        private long total;
+        private long imported;
+        private long failed;
+        private long duplicates;
+        private final List<PortfolioImportErrorDto> errors = new ArrayList<>();
+
+        void fail(long line, Integer userId, String message) {
+            failed++;
+            if (errors.size() < maxErrors) {
+                errors.add(new PortfolioImportErrorDto(line, userId, message));
+            }
+        }
+
+        PortfolioImportResultDto toResult(long elapsedNanos) {
+            PortfolioImportResultDto result = new PortfolioImportResultDto();
+            result.setTotal(total);
+            result.setImported(imported);
+            result.setFailed(failed);
+            result.setDuplicates(duplicates);
+            result.setElapsedMillis(elapsedNanos / 1_000_000);
+            result.setRowsPerSecond(elapsedNanos > 0 ? imported * 1_000_000_000.0 / elapsedNanos : 0);
+            result.setErrors(errors);
+            result.setErrorsTruncated(failed > errors.size());
+            return result;
+        }
+    }
+
+    /** 行の読み込み（maxLength文字を超えた分は読み捨てる） */
+    private static final class LineReader {
+        private final Reader reader;
+        private final int maxLength;
+        private final StringBuilder builder = new StringBuilder();
+        private boolean tooLong;
+
+        LineReader(Reader reader, int maxLength) {
+            this.reader = reader;
+            this.maxLength = maxLength;
+        }
+
+        /** 次の行（改行を含まない。終端ならnull） */
+        String readLine() throws IOException {
+            builder.setLength(0);
+            tooLong = false;
+            int c;
+            while ((c = reader.read()) != -1) {
+                if (c == '\n') {
+                    return stripCarriageReturn();
+                }
+                if (builder.length() < maxLength) {
+                    builder.append((char) c);
+                } else {
+                    tooLong = true;
+                }
+            }
+            return builder.isEmpty() && !tooLong ? null : stripCarriageReturn();
+        }
+
+        boolean isTooLong() {
+            return tooLong;
+        }
+
+        private String stripCarriageReturn() {
+            int length = builder.length();
+            return length > 0 && builder.charAt(length - 1) == '\r' ? builder.substring(0, length - 1)
+                    : builder.toString();
+        }
+    }
+}
@@ -1,17 +1,55 @@
 package com.meetolio.backend.service;
 
-import org.modelmapper.ModelMapper;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.meetolio.backend.common.cache.PortfolioCache;
+import com.meetolio.backend.common.cache.PortfolioSnapshotCache;
+import com.meetolio.backend.common.datasource.ReadYourWrites;
+import com.meetolio.backend.common.error.BadRequestException;
 import com.meetolio.backend.common.error.NotFoundException;
+import com.meetolio.backend.common.error.PreconditionFailedException;
+import com.meetolio.backend.common.event.PortfolioChangedEvent;
+import com.meetolio.backend.common.export.ExportFormat;
+import com.meetolio.backend.common.export.PortfolioExportWriter;
+import com.meetolio.backend.common.search.PortfolioSearchIndex;
+import com.meetolio.backend.common.snapshot.PortfolioSnapshotMaterializer;
+import com.meetolio.backend.common.snapshot.PortfolioSnapshotRenderer;
+import com.meetolio.backend.common.web.PortfolioCursor;
+import com.meetolio.backend.common.web.PortfolioETag;
+import com.meetolio.backend.common.web.PortfolioFields;
+import com.meetolio.backend.converter.PortfolioConverter;
+import com.meetolio.backend.dto.PortfolioBatchItemDto;
+import com.meetolio.backend.dto.PortfolioBatchResponseDto;
 import com.meetolio.backend.dto.PortfolioCreateRequestDto;
+import com.meetolio.backend.dto.PortfolioPageDto;
 import com.meetolio.backend.dto.PortfolioResponseDto;
+import com.meetolio.backend.dto.PortfolioSearchResponseDto;
 import com.meetolio.backend.dto.PortfolioUpdateRequestDto;
 import com.meetolio.backend.entity.PortfolioEntity;
+import com.meetolio.backend.entity.PortfolioSnapshotEntity;
 import com.meetolio.backend.repository.PortfolioRepository;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import lombok.RequiredArgsConstructor;
 
 /** ポートフォリオ関連Service */
@@ -20,24 +58,295 @@ import lombok.RequiredArgsConstructor;
 @Transactional
 public class PortfolioService {
 
+    /** 部分更新できる項目と最大文字数 */
+    private static final Map<String, Integer> PATCHABLE_FIELDS = Map.ofEntries(
+            Map.entry("name", 255),
+            Map.entry("nameKana", 255),
+            Map.entry("company", 255),
+            Map.entry("occupation", 255),
+            Map.entry("description", Integer.MAX_VALUE),
+            Map.entry("nameCardImgUrl", Integer.MAX_VALUE),
+            Map.entry("email", 255),
+            Map.entry("twitter", 255),
+            Map.entry("linkedin", 255),
+            Map.entry("github", 255),
+            Map.entry("website", 500));
+
     /** ポートフォリオRepository */
     private final PortfolioRepository portfolioRepository;
 
+    /** ポートフォリオキャッシュ */
+    private final PortfolioCache portfolioCache;
+
+    /** ポートフォリオスナップショットキャッシュ */
+    private final PortfolioSnapshotCache portfolioSnapshotCache;
+
+    /** ポートフォリオスナップショット生成 */
+    private final PortfolioSnapshotMaterializer portfolioSnapshotMaterializer;
+
+    /** ポートフォリオ検索索引 */
+    private final PortfolioSearchIndex portfolioSearchIndex;
+
+    /** 書き込み直後の読み取りの判定（変更直後のポートフォリオはプライマリから読んでキャッシュする） */
+    private final ReadYourWrites readYourWrites;
+
+    /** イベント発行 */
+    private final ApplicationEventPublisher eventPublisher;
+
+    /** JSON変換（エクスポート用） */
+    private final ObjectMapper objectMapper;
+
+    /** 一括取得で指定できるIDの上限 */
+    @Value("${meetolio.portfolio.batch.max-ids}")
+    private int batchMaxIds;
+
+    /** 一覧の既定ページサイズ */
+    @Value("${meetolio.portfolio.page.default-size}")
+    private int pageDefaultSize;
+
+    /** 一覧の最大ページサイズ */
+    @Value("${meetolio.portfolio.page.max-size}")
+    private int pageMaxSize;
+
     /** ポートフォリオの取得 */
+    @Transactional(readOnly = true)
     public PortfolioResponseDto getPortfolio(Integer userId) {
 
-        PortfolioEntity portfolioEntity = portfolioRepository.findById(userId);
+        PortfolioEntity portfolioEntity = portfolioCache.get(userId,
+                id -> readYourWrites.readFromPrimaryIfRecent(List.of(id), () -> portfolioRepository.findById(id)));
 
         // TODO: メッセージ共通化
         if (portfolioEntity == null) {
             throw new NotFoundException("ポートフォリオが見つかりません");
         }
 
-        // マッパーでentityをdtoに変換
-        ModelMapper mapper = new ModelMapper();
-        PortfolioResponseDto portfolioResponseDto = mapper.map(portfolioEntity, PortfolioResponseDto.class);
+        // entityをdtoに変換
+        return PortfolioConverter.toResponseDto(portfolioEntity);
+    }
+
+    /**
+     * ポートフォリオの指定項目のみの取得（?fields=。未指定の項目はレスポンスに含めない）
+     *
+     * キャッシュ済みならそれを使い、なければ指定項目の列のみDBから読み込む（全項目ではないためキャッシュには追加しない）。
+     */
+    @Transactional(readOnly = true)
+    public SelectedPortfolio getPortfolioFields(Integer userId, String fields) {
+        Set<String> selected = PortfolioFields.parse(fields);
+        PortfolioEntity portfolioEntity = findFields(List.of(userId), selected).get(userId);
+
+        // TODO: メッセージ共通化
+        if (portfolioEntity == null) {
+            throw new NotFoundException("ポートフォリオが見つかりません");
+        }
+
+        return new SelectedPortfolio(PortfolioConverter.toResponseDto(portfolioEntity, selected),
+                portfolioEntity.getUpdatedAt());
+    }
+
+    /**
+     * ポートフォリオのスナップショット取得（保存時に生成したレスポンスJSON・共有リンク用HTML）
+     *
+     * 未生成、またはテンプレートが古いスナップショットはここで生成して保存する。
+     * 保存済みのものの読み取り（読み取り専用）と生成・保存は別々のトランザクションで順に行い、同時に接続を2つ使わない。
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public PortfolioSnapshotEntity getPortfolioSnapshot(Integer userId) {
+        PortfolioSnapshotEntity snapshot = portfolioSnapshotCache.get(userId, id -> {
+            PortfolioSnapshotEntity stored = readYourWrites.readFromPrimaryIfRecent(List.of(id),
+                    () -> portfolioSnapshotMaterializer.findStored(id));
+            if (stored != null && stored.getTemplateVersion() == PortfolioSnapshotRenderer.TEMPLATE_VERSION) {
+                return stored;
+            }
+            List<PortfolioSnapshotEntity> materialized = portfolioSnapshotMaterializer
+                    .materializeInNewTransaction(List.of(id));
+            return materialized.isEmpty() ? null : materialized.get(0);
+        });
+
+        // TODO: メッセージ共通化
+        if (snapshot == null) {
+            throw new NotFoundException("ポートフォリオが見つかりません");
+        }
+
+        return snapshot;
+    }
+
+    /**
+     * ポートフォリオの更新日時の取得（条件付きGETの鮮度確認用）
+     *
+     * キャッシュ済みのスナップショット・ポートフォリオがあればそれを使い、なければ更新日時のみをDBから読む（本文は読まない）。
+     */
+    @Transactional(readOnly = true)
+    public LocalDateTime getPortfolioUpdatedAt(Integer userId) {
+        LocalDateTime updatedAt;
+        Optional<PortfolioSnapshotEntity> snapshot = portfolioSnapshotCache.getIfPresent(userId);
+        if (snapshot != null) {
+            updatedAt = snapshot.map(PortfolioSnapshotEntity::getUpdatedAt).orElse(null);
+        } else {
+            Optional<PortfolioEntity> portfolio = portfolioCache.getAllPresent(List.of(userId)).get(userId);
+            updatedAt = portfolio != null
+                    ? portfolio.map(PortfolioEntity::getUpdatedAt).orElse(null)
+                    : readYourWrites.readFromPrimaryIfRecent(List.of(userId),
+                            () -> portfolioRepository.findUpdatedAtById(userId));
+        }
+
+        // TODO: メッセージ共通化
+        if (updatedAt == null) {
+            throw new NotFoundException("ポートフォリオが見つかりません");
+        }
+
+        return updatedAt;
+    }
+
+    /** ポートフォリオの一括取得（リクエストのID順で返し、存在しないIDはfound=falseとする。fields指定時はその項目のみ） */
+    @Transactional(readOnly = true)
+    public PortfolioBatchResponseDto getPortfolios(List<Integer> userIds, String fields) {
+        if (userIds.isEmpty() || userIds.size() > batchMaxIds || userIds.contains(null)) {
+            // TODO: メッセージ共通化
+            throw new BadRequestException("ユーザーIDは1〜" + batchMaxIds + "件で指定してください");
+        }
+        Set<String> selected = PortfolioFields.parse(fields);
+
+        // キャッシュにない分のみ1回のクエリでまとめて取得
+        Map<Integer, PortfolioEntity> portfolios = selected != null
+                ? findFields(new LinkedHashSet<>(userIds), selected)
+                : portfolioCache.getAll(new LinkedHashSet<>(userIds),
+                        missing -> readYourWrites.readFromPrimaryIfRecent(missing, () -> findByIds(missing)));
+
+        List<PortfolioBatchItemDto> items = new ArrayList<>(userIds.size());
+        for (Integer userId : userIds) {
+            PortfolioEntity entity = portfolios.get(userId);
+            PortfolioBatchItemDto item = new PortfolioBatchItemDto();
+            item.setUserId(userId);
+            item.setFound(entity != null);
+            item.setPortfolio(entity != null ? PortfolioConverter.toResponseDto(entity, selected) : null);
+            items.add(item);
+        }
+
+        PortfolioBatchResponseDto portfolioBatchResponseDto = new PortfolioBatchResponseDto();
+        portfolioBatchResponseDto.setItems(items);
+        return portfolioBatchResponseDto;
+    }
+
+    /**
+     * ポートフォリオ一覧の取得（登録の新しい順。cursorは前ページのnextCursor、初回はnull。fields指定時はその項目の列のみ取得）
+     *
+     * ユーザーID順のため、ページング中の更新で行が移動せず、各行をちょうど1回返す（ページング開始後の登録は含まない）。
+     */
+    @Transactional(readOnly = true)
+    public PortfolioPageDto getPortfolioPage(String cursor, Integer size, String company, String occupation,
+            String fields) {
+        int limit = size != null ? size : pageDefaultSize;
+        if (limit < 1 || limit > pageMaxSize) {
+            // TODO: メッセージ共通化
+            throw new BadRequestException("ページサイズは1〜" + pageMaxSize + "で指定してください");
+        }
+        PortfolioCursor after = cursor != null ? PortfolioCursor.decode(cursor) : null;
+        Set<String> selected = PortfolioFields.parse(fields);
+
+        // 次ページの有無を判定するため1件多く取得
+        List<PortfolioEntity> entities = portfolioRepository.findPage(company, occupation,
+                after != null ? after.userId() : null, limit + 1, selected);
+
+        boolean hasNext = entities.size() > limit;
+        List<PortfolioEntity> page = hasNext ? entities.subList(0, limit) : entities;
+        List<PortfolioResponseDto> items = new ArrayList<>(page.size());
+        for (PortfolioEntity entity : page) {
+            items.add(PortfolioConverter.toResponseDto(entity, selected));
+        }
+
+        PortfolioPageDto portfolioPageDto = new PortfolioPageDto();
+        portfolioPageDto.setItems(items);
+        if (hasNext) {
+            PortfolioEntity last = page.get(page.size() - 1);
+            portfolioPageDto.setNextCursor(new PortfolioCursor(last.getUserId()).encode());
+        }
+        return portfolioPageDto;
+    }
+
+    /** ポートフォリオの全文検索（関連度の高い順。fields指定時はその項目のみ） */
+    @Transactional(readOnly = true)
+    public PortfolioSearchResponseDto searchPortfolios(String query, Integer size, String fields) {
+        int limit = size != null ? size : pageDefaultSize;
+        if (limit < 1 || limit > pageMaxSize) {
+            // TODO: メッセージ共通化
+            throw new BadRequestException("ページサイズは1〜" + pageMaxSize + "で指定してください");
+        }
+        Set<String> selected = PortfolioFields.parse(fields);
 
-        return portfolioResponseDto;
+        PortfolioSearchIndex.SearchResult result = portfolioSearchIndex.search(query, limit);
+        List<Integer> userIds = new ArrayList<>(result.hits().size());
+        for (PortfolioSearchIndex.Hit hit : result.hits()) {
+            userIds.add(hit.userId());
+        }
+
+        // 本体はキャッシュ経由でまとめて取得（索引の反映前に削除されたものは除く）
+        Map<Integer, PortfolioEntity> portfolios = selected != null
+                ? findFields(userIds, selected)
+                : portfolioCache.getAll(userIds,
+                        missing -> readYourWrites.readFromPrimaryIfRecent(missing, () -> findByIds(missing)));
+        List<PortfolioResponseDto> items = new ArrayList<>(userIds.size());
+        for (Integer userId : userIds) {
+            PortfolioEntity entity = portfolios.get(userId);
+            if (entity != null) {
+                items.add(PortfolioConverter.toResponseDto(entity, selected));
+            }
+        }
+
+        PortfolioSearchResponseDto portfolioSearchResponseDto = new PortfolioSearchResponseDto();
+        portfolioSearchResponseDto.setItems(items);
+        portfolioSearchResponseDto.setTotal(result.total());
+        return portfolioSearchResponseDto;
+    }
+
+    /** IDを指定してまとめて読み込む（結果に含まれないIDは存在しない） */
+    private Map<Integer, PortfolioEntity> findByIds(Set<Integer> userIds) {
+        Map<Integer, PortfolioEntity> loaded = new HashMap<>(userIds.size() * 2);
+        for (PortfolioEntity entity : portfolioRepository.findByIds(userIds.toArray(Integer[]::new))) {
+            loaded.put(entity.getUserId(), entity);
+        }
+        return loaded;
+    }
+
+    /**
+     * 指定項目のみ読み込む（結果に含まれないIDは存在しない）
+     *
+     * キャッシュ済みのもの（全項目）はそのまま使い、未キャッシュ分のみ指定項目の列を1回のクエリで読み込む。
+     */
+    private Map<Integer, PortfolioEntity> findFields(Collection<Integer> userIds, Set<String> fields) {
+        Map<Integer, Optional<PortfolioEntity>> cached = portfolioCache.getAllPresent(userIds);
+        Map<Integer, PortfolioEntity> found = new HashMap<>(userIds.size() * 2);
+        Set<Integer> missing = new HashSet<>();
+        for (Integer userId : userIds) {
+            Optional<PortfolioEntity> entity = cached.get(userId);
+            if (entity == null) {
+                missing.add(userId);
+            } else {
+                entity.ifPresent(portfolio -> found.put(userId, portfolio));
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            List<PortfolioEntity> loaded = readYourWrites.readFromPrimaryIfRecent(missing,
+                    () -> portfolioRepository.findFieldsByIds(missing.toArray(Integer[]::new), fields));
+            for (PortfolioEntity entity : loaded) {
+                found.put(entity.getUserId(), entity);
+            }
+        }
+        return found;
+    }
+
+    /** ポートフォリオのエクスポート（1件ずつ読み込んで書き出すため、件数によらずメモリ使用量は一定） */
+    @Transactional(readOnly = true)
+    public void exportPortfolios(ExportFormat format, String company, String occupation, OutputStream outputStream)
+            throws IOException {
+        // クライアント切断時は書き込みでIOExceptionとなり、Cursorを閉じて走査を打ち切る
+        try (Cursor<PortfolioEntity> cursor = portfolioRepository.scan(company, occupation)) {
+            PortfolioExportWriter writer = format.open(outputStream, objectMapper);
+            for (PortfolioEntity entity : cursor) {
+                writer.write(PortfolioConverter.toResponseDto(entity));
+            }
+            writer.finish();
+        }
     }
 
     /** ポートフォリオ作成 */
@@ -47,48 +356,90 @@ public class PortfolioService {
             throw new AccessDeniedException("不正なユーザーIDです");
         }
 
-        PortfolioEntity entity = new PortfolioEntity();
-
-        // userIdは必須項目
-        entity.setUserId(request.getUserId());
-
-        // その他の項目は任意（nullでも可）
-        entity.setName(request.getName());
-        entity.setNameKana(request.getNameKana());
-        entity.setCompany(request.getCompany());
-        entity.setOccupation(request.getOccupation());
-        entity.setDescription(request.getDescription());
-        entity.setNameCardImgUrl(request.getNameCardImgUrl());
-        entity.setEmail(request.getEmail());
-        entity.setTwitter(request.getTwitter());
-        entity.setLinkedin(request.getLinkedin());
-        entity.setGithub(request.getGithub());
-        entity.setWebsite(request.getWebsite());
+        // userIdは必須項目、その他の項目は任意（nullでも可）
+        PortfolioEntity entity = PortfolioConverter.toEntity(request);
 
         portfolioRepository.save(entity);
+        eventPublisher.publishEvent(PortfolioChangedEvent.local(entity.getUserId()));
     }
 
-    /** ポートフォリオ更新 */
-    public void updatePortfolio(Integer userId, PortfolioUpdateRequestDto request) {
-        PortfolioEntity entity = portfolioRepository.findById(userId);
+    /** ポートフォリオ更新（ifMatch指定時は楽観的排他制御を行い、更新後の更新日時を返す） */
+    public LocalDateTime updatePortfolio(Integer userId, PortfolioUpdateRequestDto request, String ifMatch) {
+        PortfolioEntity entity = portfolioRepository.findByIdForUpdate(userId);
 
         if (entity == null) {
             throw new NotFoundException("ポートフォリオが見つかりません");
         }
 
+        // If-Matchのバージョンが現在と異なる場合は事前条件エラー(412)
+        if (ifMatch != null && !PortfolioETag.matches(ifMatch, PortfolioETag.of(userId, entity.getUpdatedAt()))) {
+            // TODO: メッセージ共通化
+            throw new PreconditionFailedException("ポートフォリオが他の操作で更新されています");
+        }
+
         // 必要に応じてフィールドを更新（null はスキップする設計でもOK）
-        entity.setName(request.getName());
-        entity.setNameKana(request.getNameKana());
-        entity.setCompany(request.getCompany());
-        entity.setOccupation(request.getOccupation());
-        entity.setDescription(request.getDescription());
-        entity.setNameCardImgUrl(request.getNameCardImgUrl());
-        entity.setEmail(request.getEmail());
-        entity.setTwitter(request.getTwitter());
-        entity.setLinkedin(request.getLinkedin());
-        entity.setGithub(request.getGithub());
-        entity.setWebsite(request.getWebsite());
+        PortfolioConverter.copyToEntity(request, entity);
 
         portfolioRepository.save(entity);
+        eventPublisher.publishEvent(PortfolioChangedEvent.local(entity.getUserId()));
+
+        return portfolioRepository.findUpdatedAtById(userId);
+    }
+
+    /**
+     * ポートフォリオ部分更新（JSON Merge Patch。含まれる項目のみ更新し、nullの項目は削除する）
+     *
+     * 事前に読み込まず1回のUPDATEで更新し、更新後の更新日時を返す。
+     */
+    public LocalDateTime patchPortfolio(Integer userId, Map<String, Object> patch, String ifMatch) {
+        Map<String, String> fields = new HashMap<>(patch.size() * 2);
+        for (Map.Entry<String, Object> entry : patch.entrySet()) {
+            Integer maxLength = PATCHABLE_FIELDS.get(entry.getKey());
+            // TODO: メッセージ共通化
+            if (maxLength == null) {
+                throw new BadRequestException("更新できない項目です: " + entry.getKey());
+            }
+            if (entry.getValue() != null && !(entry.getValue() instanceof String)) {
+                throw new BadRequestException(entry.getKey() + "は文字列で指定してください");
+            }
+            String value = (String) entry.getValue();
+            if (value != null && value.length() > maxLength) {
+                throw new BadRequestException(entry.getKey() + "は" + maxLength + "文字以内で指定してください");
+            }
+            fields.put(entry.getKey(), value);
+        }
+
+        // If-Match指定時は更新日時が一致する場合のみ更新する（"*"は存在すればよい）
+        List<LocalDateTime> expectedVersions = ifMatch != null ? PortfolioETag.versions(ifMatch, userId) : null;
+
+        LocalDateTime updatedAt;
+        if (fields.isEmpty()) {
+            // 変更なしの場合は更新せず現在のバージョンを返す
+            updatedAt = portfolioRepository.findUpdatedAtById(userId);
+            if (updatedAt != null && expectedVersions != null && !expectedVersions.contains(updatedAt)) {
+                updatedAt = null;
+            }
+        } else if (expectedVersions != null && expectedVersions.isEmpty()) {
+            updatedAt = null;
+        } else {
+            updatedAt = portfolioRepository.patch(userId, fields, expectedVersions);
+        }
+
+        // 更新対象がなかった場合のみ、原因（未作成か競合か）を確認する
+        if (updatedAt == null) {
+            if (portfolioRepository.findUpdatedAtById(userId) == null) {
+                throw new NotFoundException("ポートフォリオが見つかりません");
+            }
+            throw new PreconditionFailedException("ポートフォリオが他の操作で更新されています");
+        }
+
+        if (!fields.isEmpty()) {
+            eventPublisher.publishEvent(PortfolioChangedEvent.local(userId));
+        }
+        return updatedAt;
+    }
+
+    /** 指定項目のみのポートフォリオと、ETag用の更新日時 */
+    public record SelectedPortfolio(PortfolioResponseDto portfolio, LocalDateTime updatedAt) {
     }
 }
@@ -0,0 +1,83 @@
+package com.meetolio.backend.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.meetolio.backend.common.error.BadRequestException;
+import com.meetolio.backend.common.view.PortfolioViewCounter;
+import com.meetolio.backend.dto.PortfolioViewDailyDto;
+import com.meetolio.backend.dto.PortfolioViewsResponseDto;
+import com.meetolio.backend.entity.PortfolioViewEntity;
+import com.meetolio.backend.repository.PortfolioViewRepository;
+
+/** ポートフォリオ閲覧数Service */
+@Service
+public class PortfolioViewService {
+
+    /** ポートフォリオ閲覧数Repository */
+    private final PortfolioViewRepository portfolioViewRepository;
+
+    /** 閲覧数の集計 */
+    private final PortfolioViewCounter portfolioViewCounter;
+
+    /** 日別閲覧数の最大日数 */
+    private final int maxDays;
+
+    public PortfolioViewService(PortfolioViewRepository portfolioViewRepository,
+            PortfolioViewCounter portfolioViewCounter,
+            @Value("${meetolio.portfolio.views.max-days}") int maxDays) {
+        this.portfolioViewRepository = portfolioViewRepository;
+        this.portfolioViewCounter = portfolioViewCounter;
+        this.maxDays = maxDays;
+    }
+
+    /** 閲覧を記録（本人の閲覧は数えない） */
+    public void recordView(Integer viewerUserId, Integer userId) {
+        if (!userId.equals(viewerUserId)) {
+            portfolioViewCounter.record(userId);
+        }
+    }
+
+    /** 累計・直近days日間の日別閲覧数（書き込み前の分を含む） */
+    @Transactional(readOnly = true)
+    public PortfolioViewsResponseDto getViews(Integer userId, int days) {
+        if (days < 1 || days > maxDays) {
+            // TODO: メッセージ共通化
+            throw new BadRequestException("daysは1〜" + maxDays + "で指定してください");
+        }
+
+        LocalDate today = LocalDate.now();
+        List<PortfolioViewEntity> entities = portfolioViewRepository.findDaily(userId, today.minusDays(days - 1));
+        long total = portfolioViewRepository.countTotal(userId);
+
+        // 書き込み前の分は直近の書き込み間隔内のものだけのため、今日・昨日のみ確認する
+        List<PortfolioViewDailyDto> daily = new ArrayList<>(entities.size() + 1);
+        for (LocalDate date : List.of(today, today.minusDays(1))) {
+            long pending = portfolioViewCounter.pendingCount(userId, date);
+            total += pending;
+            if (date.isBefore(today.minusDays(days - 1))) {
+                continue;
+            }
+            long stored = entities.stream().filter(entity -> entity.getViewDate().equals(date))
+                    .mapToLong(PortfolioViewEntity::getCount).sum();
+            if (stored + pending > 0) {
+                daily.add(new PortfolioViewDailyDto(date, stored + pending));
+            }
+        }
+        for (PortfolioViewEntity entity : entities) {
+            if (entity.getViewDate().isBefore(today.minusDays(1))) {
+                daily.add(new PortfolioViewDailyDto(entity.getViewDate(), entity.getCount()));
+            }
+        }
+
+        PortfolioViewsResponseDto response = new PortfolioViewsResponseDto();
+        response.setTotal(total);
+        response.setDaily(daily);
+        return response;
+    }
+}
@@ -22,4 +22,29 @@ CREATE TABLE IF NOT EXISTS portfolios (
     website VARCHAR(500),
     created_at TIMESTAMP default CURRENT_TIMESTAMP NOT NULL,
     updated_at TIMESTAMP default CURRENT_TIMESTAMP NOT NULL
-);
\ No newline at end of file
+);
+-- ポートフォリオ一覧（ユーザーID順のキーセットページング）用インデックス（条件なしは主キーを使う）
+CREATE INDEX IF NOT EXISTS idx_portfolios_company_user_id ON portfolios (company, user_id DESC);
+CREATE INDEX IF NOT EXISTS idx_portfolios_occupation_user_id ON portfolios (occupation, user_id DESC);
+-- ポートフォリオの配信用スナップショット（保存時に生成したレスポンスをそのまま返す）
+CREATE TABLE IF NOT EXISTS portfolio_snapshots (
+    user_id INT PRIMARY KEY REFERENCES portfolios(user_id) ON DELETE CASCADE,
+    updated_at TIMESTAMP NOT NULL,
+    template_version INT NOT NULL,
+    json BYTEA NOT NULL,
+    json_gzip BYTEA NOT NULL,
+    html BYTEA NOT NULL
+);
+-- ポートフォリオの日別閲覧数（メモリ上で集計し、数秒ごとにまとめて加算する）
+CREATE TABLE IF NOT EXISTS portfolio_views (
+    user_id INT NOT NULL REFERENCES portfolios(user_id) ON DELETE CASCADE,
+    view_date DATE NOT NULL,
+    count BIGINT NOT NULL,
+    PRIMARY KEY (user_id, view_date)
+);
+-- 適用済みスキーマのバージョン（内容が同じ場合に起動時の再適用を省略するため。1行のみ）
+CREATE TABLE IF NOT EXISTS schema_version (
+    id INT PRIMARY KEY CHECK (id = 1),
+    version VARCHAR(64) NOT NULL,
+    applied_at TIMESTAMP default CURRENT_TIMESTAMP NOT NULL
+);
@@ -0,0 +1,83 @@
+package com.meetolio.backend.common.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import com.meetolio.backend.entity.PortfolioEntity;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/** PortfolioCacheの読み込み共有のテスト */
+class PortfolioCacheTest {
+
+    private final PortfolioCache cache = new PortfolioCache(100, Duration.ofMinutes(1), new SimpleMeterRegistry());
+
+    @Test
+    void concurrentMissWaitsForLoaderError() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<PortfolioEntity> first = CompletableFuture.supplyAsync(() -> cache.get(1, userId -> {
+            loading.countDown();
+            await(release);
+            throw new StackOverflowError();
+        }));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // 読み込み中の同じキーは読み込みを共有し、読み込みがエラーで終わればエラーを受け取る
+        AtomicReference<Throwable> secondError = new AtomicReference<>();
+        Thread second = new Thread(() -> {
+            try {
+                cache.get(1, userId -> entity(1));
+            } catch (Throwable e) {
+                secondError.set(e);
+            }
+        });
+        second.start();
+        while (second.getState() != Thread.State.WAITING && second.isAlive()) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+        second.join(5_000);
+        assertThatThrownBy(() -> first.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(StackOverflowError.class);
+        assertThat(secondError.get()).isInstanceOf(StackOverflowError.class);
+
+        // 失敗した読み込みはキャッシュに残らない
+        assertThat(cache.get(1, userId -> entity(1)).getName()).isEqualTo("user1");
+    }
+
+    @Test
+    void getAllLoaderErrorIsRethrownAndNotCached() {
+        assertThatThrownBy(() -> cache.getAll(List.of(1, 2), missing -> {
+            throw new AssertionError("load failed");
+        })).isInstanceOf(AssertionError.class);
+
+        Map<Integer, PortfolioEntity> loaded = cache.getAll(List.of(1, 2), missing -> Map.of(1, entity(1)));
+        assertThat(loaded).containsOnlyKeys(1);
+        assertThat(cache.getAllPresent(List.of(1, 2))).containsOnlyKeys(1, 2);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static PortfolioEntity entity(int userId) {
+        PortfolioEntity entity = new PortfolioEntity();
+        entity.setUserId(userId);
+        entity.setName("user" + userId);
+        return entity;
+    }
+}
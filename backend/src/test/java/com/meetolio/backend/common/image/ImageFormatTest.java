@@ -0,0 +1,41 @@
+package com.meetolio.backend.common.image;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+/** ImageFormatの先頭バイトによる形式判定のテスト */
+class ImageFormatTest {
+
+    private static final byte[] JPEG_HEADER = { (byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE0 };
+
+    private static final byte[] PNG_HEADER = { (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n' };
+
+    @Test
+    void detectsJpegAndPng() {
+        assertThat(ImageFormat.detect(JPEG_HEADER, JPEG_HEADER.length)).isEqualTo(ImageFormat.JPEG);
+        assertThat(ImageFormat.detect(PNG_HEADER, PNG_HEADER.length)).isEqualTo(ImageFormat.PNG);
+    }
+
+    @Test
+    void shortHeaderIsNotDetected() {
+        // 読み込めたバイト数が判定に必要な長さに満たない場合
+        assertThat(ImageFormat.detect(JPEG_HEADER, 2)).isNull();
+        assertThat(ImageFormat.detect(PNG_HEADER, 7)).isNull();
+    }
+
+    @Test
+    void otherFormatsAreNotDetected() {
+        byte[] gif = "GIF89a".getBytes(StandardCharsets.US_ASCII);
+        byte[] svg = "<svg xmlns=".getBytes(StandardCharsets.US_ASCII);
+        // PNGの署名の途中が異なるもの（改行変換で壊れたファイルなど）
+        byte[] brokenPng = { (byte) 0x89, 'P', 'N', 'G', '\n', '\n', 0x1A, '\n' };
+
+        assertThat(ImageFormat.detect(gif, gif.length)).isNull();
+        assertThat(ImageFormat.detect(svg, svg.length)).isNull();
+        assertThat(ImageFormat.detect(brokenPng, brokenPng.length)).isNull();
+        assertThat(ImageFormat.detect(new byte[0], 0)).isNull();
+    }
+}
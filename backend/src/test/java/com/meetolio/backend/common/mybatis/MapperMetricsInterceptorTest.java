@@ -0,0 +1,92 @@
+package com.meetolio.backend.common.mybatis;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.lang.reflect.Method;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/** MapperMetricsInterceptorのメーター記録のテスト（Executorはモック） */
+class MapperMetricsInterceptorTest {
+
+    private static final String STATEMENT_ID = "com.meetolio.backend.repository.PortfolioRepository.findByIds";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final Executor executor = mock(Executor.class);
+
+    private final SlowQueryExplainer slowQueryExplainer = mock(SlowQueryExplainer.class);
+
+    private final MappedStatement statement = new MappedStatement.Builder(new Configuration(), STATEMENT_ID,
+            new StaticSqlSource(new Configuration(), "SELECT 1"), SqlCommandType.SELECT).build();
+
+    @Test
+    void recordsTimerAndRowsPerStatement() throws Throwable {
+        when(executor.query(any(), any(), any(), any())).thenReturn(List.of("a", "b"));
+        MapperMetricsInterceptor interceptor = interceptor(Duration.ofMinutes(1));
+
+        interceptor.intercept(query());
+        interceptor.intercept(query());
+
+        assertThat(meterRegistry.get("mybatis.statement")
+                .tag("statement", "PortfolioRepository.findByIds").tag("type", "select").tag("outcome", "success")
+                .timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("mybatis.statement.rows").tag("statement", "PortfolioRepository.findByIds")
+                .summary().totalAmount()).isEqualTo(4);
+        verify(slowQueryExplainer, never()).submit(any(), any(), any());
+    }
+
+    @Test
+    void recordsErrorOutcome() throws Throwable {
+        when(executor.query(any(), any(), any(), any())).thenThrow(new SQLException("failed"));
+        MapperMetricsInterceptor interceptor = interceptor(Duration.ofMinutes(1));
+
+        assertThatThrownBy(() -> interceptor.intercept(query())).hasRootCauseInstanceOf(SQLException.class);
+
+        assertThat(meterRegistry.get("mybatis.statement").tag("outcome", "error").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("mybatis.statement").tag("outcome", "success").timer().count()).isZero();
+        assertThat(meterRegistry.get("mybatis.statement.rows").summary().count()).isZero();
+    }
+
+    @Test
+    void slowStatementIsExplained() throws Throwable {
+        when(executor.query(any(), any(), any(), any())).thenReturn(List.of());
+        MapperMetricsInterceptor interceptor = interceptor(Duration.ZERO);
+
+        interceptor.intercept(query());
+
+        verify(slowQueryExplainer).submit(eq(statement), any(), any());
+    }
+
+    private MapperMetricsInterceptor interceptor(Duration slowThreshold) {
+        return new MapperMetricsInterceptor(meterRegistry, mock(RepeatedStatementDetector.class), slowQueryExplainer,
+                slowThreshold);
+    }
+
+    private Invocation query() throws NoSuchMethodException {
+        Method method = Executor.class.getMethod("query", MappedStatement.class, Object.class, RowBounds.class,
+                ResultHandler.class);
+        return new Invocation(executor, method,
+                new Object[] { statement, null, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER });
+    }
+}
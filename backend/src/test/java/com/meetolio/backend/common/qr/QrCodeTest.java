@@ -0,0 +1,124 @@
+package com.meetolio.backend.common.qr;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import com.google.zxing.BinaryBitmap;
+import com.google.zxing.DecodeHintType;
+import com.google.zxing.LuminanceSource;
+import com.google.zxing.common.HybridBinarizer;
+import com.google.zxing.qrcode.QRCodeReader;
+
+/** QrCode・QrCodeRendererの出力をZXingでデコードできることの検証 */
+class QrCodeTest {
+
+    @ParameterizedTest
+    @CsvSource({
+            "1, L", "1, M", "1, Q", "1, H",
+            "30, M", "100, M", "300, Q", "700, H", "1200, M", "2000, L", "2953, L",
+    })
+    void pngRoundTrip(int length, QrCode.ErrorCorrection errorCorrection) throws Exception {
+        String text = text(length);
+        QrCode qrCode = QrCode.encode(text.getBytes(StandardCharsets.UTF_8), errorCorrection);
+
+        assertThat(decode(QrCodeRenderer.render(qrCode, QrCodeFormat.PNG, qrCode.size() * 4))).isEqualTo(text);
+        assertThat(qrCode.errorCorrection().ordinal()).isGreaterThanOrEqualTo(errorCorrection.ordinal());
+    }
+
+    @Test
+    void utf8RoundTrip() throws Exception {
+        String text = "BEGIN:VCARD\r\nVERSION:4.0\r\nFN:山田 太郎\r\nORG:株式会社ミートリオ\r\nEND:VCARD\r\n";
+        QrCode qrCode = QrCode.encode(text.getBytes(StandardCharsets.UTF_8), QrCode.ErrorCorrection.M);
+
+        assertThat(decode(QrCodeRenderer.render(qrCode, QrCodeFormat.PNG, 400))).isEqualTo(text);
+    }
+
+    @Test
+    void selectsSmallestVersion() {
+        // 型番1・誤り訂正Mのデータ容量は14バイト
+        assertThat(QrCode.encode(new byte[14], QrCode.ErrorCorrection.M).version()).isEqualTo(1);
+        assertThat(QrCode.encode(new byte[15], QrCode.ErrorCorrection.M).version()).isEqualTo(2);
+    }
+
+    @Test
+    void rejectsTooLongData() {
+        assertThatThrownBy(() -> QrCode.encode(new byte[2954], QrCode.ErrorCorrection.L))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void canEncodeMatchesMaximumCapacity() {
+        // 型番40のデータ容量は誤り訂正Lで2953バイト、Mで2331バイト
+        assertThat(QrCode.canEncode(2953, QrCode.ErrorCorrection.L)).isTrue();
+        assertThat(QrCode.canEncode(2954, QrCode.ErrorCorrection.L)).isFalse();
+        assertThat(QrCode.canEncode(2331, QrCode.ErrorCorrection.M)).isTrue();
+        assertThat(QrCode.canEncode(2332, QrCode.ErrorCorrection.M)).isFalse();
+        assertThat(QrCode.encode(new byte[2331], QrCode.ErrorCorrection.M).version()).isEqualTo(40);
+    }
+
+    @Test
+    void svgHasDarkModulesAsPath() {
+        QrCode qrCode = QrCode.encode("https://example.com/".getBytes(StandardCharsets.UTF_8), QrCode.ErrorCorrection.M);
+        String svg = new String(QrCodeRenderer.render(qrCode, QrCodeFormat.SVG, 256), StandardCharsets.UTF_8);
+
+        assertThat(svg).contains("width=\"256\"", "viewBox=\"0 0 " + (qrCode.size() + 8) + " " + (qrCode.size() + 8) + "\"");
+        // 左上の位置検出パターンの最上段（7モジュール）
+        assertThat(svg).contains("M4,4h7v1h-7z");
+    }
+
+    private static String text(int length) {
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            text.append((char) ('!' + (i * 31 + i / 7) % 90));
+        }
+        return text.toString();
+    }
+
+    private static String decode(byte[] png) throws Exception {
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+        BinaryBitmap bitmap = new BinaryBitmap(new HybridBinarizer(new ImageLuminanceSource(image)));
+        return new QRCodeReader().decode(bitmap, Map.of(DecodeHintType.PURE_BARCODE, true,
+                DecodeHintType.CHARACTER_SET, StandardCharsets.UTF_8.name())).getText();
+    }
+
+    /** BufferedImageの輝度（ZXingのjavaseモジュールを使わないための最小限の実装） */
+    private static final class ImageLuminanceSource extends LuminanceSource {
+        private final byte[] luminances;
+
+        ImageLuminanceSource(BufferedImage image) throws IOException {
+            super(image.getWidth(), image.getHeight());
+            luminances = new byte[image.getWidth() * image.getHeight()];
+            for (int y = 0; y < image.getHeight(); y++) {
+                for (int x = 0; x < image.getWidth(); x++) {
+                    luminances[y * image.getWidth() + x] = (byte) ((image.getRGB(x, y) & 0xFF) > 127 ? 255 : 0);
+                }
+            }
+        }
+
+        @Override
+        public byte[] getRow(int y, byte[] row) {
+            if (row == null || row.length < getWidth()) {
+                row = new byte[getWidth()];
+            }
+            System.arraycopy(luminances, y * getWidth(), row, 0, getWidth());
+            return row;
+        }
+
+        @Override
+        public byte[] getMatrix() {
+            return luminances;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.meetolio.backend.common.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+/** TokenBucketLimiterの判定のテスト（時刻は差し替えて進める） */
+class TokenBucketLimiterTest {
+
+    /** 1秒に10回（100msごとに1つ回復）・バースト3 */
+    private static final int LIMIT = 10;
+
+    private static final int BURST = 3;
+
+    private static final long INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+
+    @Test
+    void burstIsAllowedThenRejected() {
+        TokenBucketLimiter limiter = limiter(100_000, false);
+
+        for (int i = 0; i < BURST; i++) {
+            assertThat(limiter.tryAcquire("key")).isZero();
+        }
+        assertThat(limiter.tryAcquire("key")).isEqualTo(INTERVAL_NANOS);
+        // 拒否されても消費しない
+        assertThat(limiter.tryAcquire("key")).isEqualTo(INTERVAL_NANOS);
+        // 別のキーは別のバケット
+        assertThat(limiter.tryAcquire("other")).isZero();
+    }
+
+    @Test
+    void tokensRefillOverTime() {
+        TokenBucketLimiter limiter = limiter(100_000, false);
+        for (int i = 0; i < BURST; i++) {
+            limiter.tryAcquire("key");
+        }
+
+        advance(INTERVAL_NANOS / 2);
+        assertThat(limiter.tryAcquire("key")).isEqualTo(INTERVAL_NANOS / 2);
+
+        advance(INTERVAL_NANOS / 2);
+        assertThat(limiter.tryAcquire("key")).isZero();
+        assertThat(limiter.tryAcquire("key")).isEqualTo(INTERVAL_NANOS);
+
+        // 長く空いてもバースト分までしか溜まらない
+        advance(INTERVAL_NANOS * 100);
+        for (int i = 0; i < BURST; i++) {
+            assertThat(limiter.tryAcquire("key")).isZero();
+        }
+        assertThat(limiter.tryAcquire("key")).isPositive();
+    }
+
+    @Test
+    void fullStripeAllowsUntrackedKeysAndCountsThem() {
+        // 分割ごとに1キー。Integerのキー0・64・128は同じ分割に入る
+        TokenBucketLimiter limiter = limiter(64, false);
+        assertThat(limiter.tryAcquire(0)).isZero();
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.tryAcquire(64)).isZero();
+        }
+        assertThat(limiter.tryAcquire(128)).isZero();
+        assertThat(limiter.size()).isEqualTo(1);
+        assertThat(limiter.untrackedCount()).isEqualTo(11);
+
+        // キー0のバケットが満杯に戻れば掃除され、新しいキーを記録できる
+        advance(INTERVAL_NANOS);
+        for (int i = 0; i < BURST; i++) {
+            assertThat(limiter.tryAcquire(64)).isZero();
+        }
+        assertThat(limiter.tryAcquire(64)).isPositive();
+        assertThat(limiter.size()).isEqualTo(1);
+        assertThat(limiter.untrackedCount()).isEqualTo(11);
+    }
+
+    @Test
+    void saturatedTableDoesNotGrantUnlimitedTokens() {
+        // 全分割を埋めた後、攻撃対象のキーを使い切ってから大量の新しいキーを送る
+        TokenBucketLimiter limiter = limiter(64, true);
+        for (int key = 0; key < 64; key++) {
+            assertThat(limiter.tryAcquire(key)).isZero();
+        }
+        for (int i = 1; i < BURST; i++) {
+            assertThat(limiter.tryAcquire(5)).isZero();
+        }
+        assertThat(limiter.tryAcquire(5)).isPositive();
+
+        long granted = 0;
+        for (int key = 64; key < 100_064; key++) {
+            if (limiter.tryAcquire(key) == 0) {
+                granted++;
+            }
+            // 拒否されたキーの再送も、トークン1つ分の回復時間を待たせる
+            assertThat(limiter.tryAcquire(key)).isEqualTo(INTERVAL_NANOS);
+        }
+        assertThat(granted).isZero();
+        assertThat(limiter.untrackedCount()).isEqualTo(200_000);
+        assertThat(limiter.tryAcquire(5)).isPositive();
+        assertThat(limiter.size()).isEqualTo(64);
+
+        // 攻撃対象のキーは通常どおり回復分だけ許可される
+        advance(INTERVAL_NANOS);
+        assertThat(limiter.tryAcquire(5)).isZero();
+        assertThat(limiter.tryAcquire(5)).isPositive();
+
+        // 満杯に戻ったバケットが掃除されれば、新しいキーも記録して制限する
+        advance(INTERVAL_NANOS);
+        for (int i = 0; i < BURST; i++) {
+            assertThat(limiter.tryAcquire(64)).isZero();
+        }
+        assertThat(limiter.tryAcquire(64)).isPositive();
+    }
+
+    @Test
+    void invalidSettingsAreRejected() {
+        assertThatThrownBy(() -> new TokenBucketLimiter(0, Duration.ofSeconds(1), 1, 1, false))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TokenBucketLimiter(1, Duration.ZERO, 1, 1, false))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TokenBucketLimiter(1, Duration.ofSeconds(1), 0, 1, false))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private TokenBucketLimiter limiter(long maxKeys, boolean denyWhenFull) {
+        return new TokenBucketLimiter(LIMIT, Duration.ofSeconds(1), BURST, maxKeys, denyWhenFull, now::get);
+    }
+
+    private void advance(long nanos) {
+        now.addAndGet(nanos);
+    }
+}
@@ -0,0 +1,90 @@
+package com.meetolio.backend.common.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/** InvertedIndexの候補の絞り込みと推定メモリ使用量のテスト */
+class InvertedIndexTest {
+
+    @Test
+    void candidatesContainAllGramsOfTerms() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(1, fields("やまだ", "acme"));
+        index.put(2, fields("やました", "globex"));
+        index.put(3, fields("たなか", "acme"));
+
+        assertThat(index.candidates(List.of("やま"))).containsExactlyInAnyOrder(1, 2);
+        assertThat(index.candidates(List.of("やまだ"))).containsExactly(1);
+        assertThat(index.candidates(List.of("acme", "たな"))).containsExactly(3);
+        assertThat(index.candidates(List.of("xyz"))).isEmpty();
+        // 1文字の語は索引で絞り込めないため全文書が候補
+        assertThat(index.candidates(List.of("た"))).containsExactlyInAnyOrder(1, 2, 3);
+    }
+
+    @Test
+    void replacedAndRemovedDocumentsLeaveNoPostings() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(1, fields("やまだ", "acme"));
+        index.put(2, fields("やました", "acme"));
+
+        index.put(1, fields("たなか", "globex"));
+        assertThat(index.candidates(List.of("やまだ"))).isEmpty();
+        assertThat(index.candidates(List.of("acme"))).containsExactly(2);
+        assertThat(index.document(1)).containsExactly("たなか", "globex");
+
+        index.remove(2);
+        index.remove(2);
+        assertThat(index.documentCount()).isEqualTo(1);
+        assertThat(index.candidates(List.of("acme"))).isEmpty();
+        assertThat(index.termCount()).isEqualTo(indexOf(1, "たなか", "globex").termCount());
+    }
+
+    @Test
+    void estimatedBytesFollowsUpdates() {
+        InvertedIndex index = new InvertedIndex();
+        assertThat(index.estimatedBytes()).isZero();
+
+        index.put(1, fields("やまだ", "acme"));
+        index.put(2, fields("やました", "acme"));
+        index.put(1, fields("たなか", "globex"));
+        index.remove(2);
+        // 同じ内容を直接登録した索引と一致する
+        assertThat(index.estimatedBytes()).isEqualTo(indexOf(1, "たなか", "globex").estimatedBytes());
+
+        index.remove(1);
+        assertThat(index.estimatedBytes()).isZero();
+    }
+
+    @Test
+    void estimatedBytesIncludesGrownPostingLists() {
+        InvertedIndex index = new InvertedIndex();
+        long[] bytes = new long[4];
+        for (int userId = 1; userId <= 3; userId++) {
+            index.put(userId, fields("acme"));
+            bytes[userId] = index.estimatedBytes();
+        }
+
+        // 3件目でbi-gram（ac, cm, me）ごとのポスティングリストの配列が2要素から4要素に伸びる
+        assertThat((bytes[3] - bytes[2]) - (bytes[2] - bytes[1])).isEqualTo(3 * 2 * Integer.BYTES);
+
+        for (int userId = 1; userId <= 3; userId++) {
+            index.remove(userId);
+        }
+        assertThat(index.estimatedBytes()).isZero();
+        assertThat(index.termCount()).isZero();
+    }
+
+    /** 指定した文書のみを登録した索引 */
+    private static InvertedIndex indexOf(int userId, String... fields) {
+        InvertedIndex index = new InvertedIndex();
+        index.put(userId, fields);
+        return index;
+    }
+
+    private static String[] fields(String... fields) {
+        return fields;
+    }
+}
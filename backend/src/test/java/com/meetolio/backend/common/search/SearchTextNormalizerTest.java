@@ -0,0 +1,40 @@
+package com.meetolio.backend.common.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/** SearchTextNormalizerの正規化・検索語分割のテスト */
+class SearchTextNormalizerTest {
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', nullValues = "NULL", value = {
+            "NULL | ''",
+            "ヤマダ | やまだ",
+            "ﾔﾏﾀﾞ | やまだ",
+            "やまだ | やまだ",
+            "ＡＣＭＥ | acme",
+            "Acme Inc. | acmeinc.",
+            "'山田　太郎' | 山田太郎",
+            "ヴァイオリン | ゔぁいおりん",
+            "ー | ー",
+            "１２３ | 123",
+    })
+    void normalize(String text, String expected) {
+        assertThat(SearchTextNormalizer.normalize(text)).isEqualTo(expected);
+    }
+
+    @Test
+    void termsAreSplitByAnyWhitespaceAndDeduplicated() {
+        assertThat(SearchTextNormalizer.terms("ヤマダ　ACME  やまだ\tｴﾝｼﾞﾆｱ")).containsExactly("やまだ", "acme", "えんじにあ");
+    }
+
+    @Test
+    void blankQueryHasNoTerms() {
+        assertThat(SearchTextNormalizer.terms(null)).isEmpty();
+        assertThat(SearchTextNormalizer.terms("")).isEmpty();
+        assertThat(SearchTextNormalizer.terms(" 　 ")).isEmpty();
+    }
+}
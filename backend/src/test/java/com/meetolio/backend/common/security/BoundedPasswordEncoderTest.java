@@ -0,0 +1,93 @@
+package com.meetolio.backend.common.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.meetolio.backend.common.error.ServiceUnavailableException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/** BoundedPasswordEncoderの過負荷時の動作のテスト（ハッシュ処理はreleaseまで止まるものに差し替える） */
+class BoundedPasswordEncoderTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        encoder.destroy();
+    }
+
+    @Test
+    void timeoutIsServiceUnavailable() {
+        encoder = encoder(Duration.ofMillis(200));
+        assertThatThrownBy(() -> encoder.encode("password"))
+                .isInstanceOfSatisfying(ServiceUnavailableException.class,
+                        e -> assertThat(e.getRetryAfterSeconds()).isEqualTo(3));
+        assertThat(meterRegistry.get("meetolio.password.hash.timeouts").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void fullQueueIsRejectedWithoutWaiting() throws Exception {
+        encoder = encoder(Duration.ofSeconds(10));
+        // 1件目が実行中、2件目が待ち行列にある状態で3件目を送る
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("first"));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("second"));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("executor.queued").gauge().value() < 1 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+
+        assertThatThrownBy(() -> encoder.encode("third")).isInstanceOf(ServiceUnavailableException.class);
+        assertThat(meterRegistry.get("meetolio.password.hash.rejected").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("encoded:first");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("encoded:second");
+    }
+
+    @Test
+    void completedWithinTimeout() {
+        encoder = encoder(Duration.ofSeconds(10));
+        release.countDown();
+        assertThat(encoder.encode("password")).isEqualTo("encoded:password");
+        assertThat(encoder.matches("password", "encoded:password")).isTrue();
+    }
+
+    /** スレッド数1・待ち行列1・Retry-After 3秒 */
+    private BoundedPasswordEncoder encoder(Duration timeout) {
+        return new BoundedPasswordEncoder(new BlockingPasswordEncoder(), 1, 1, 3, timeout, meterRegistry);
+    }
+
+    /** releaseまで止まるハッシュ処理 */
+    private final class BlockingPasswordEncoder implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "encoded:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.meetolio.backend.common.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Instant;
+
+import org.junit.jupiter.api.Test;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.exceptions.TokenExpiredException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/** JwtServiceの検証と検証結果ごとの計測のテスト */
+class JwtServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final JwtService jwtService = new JwtService(meterRegistry);
+
+    @Test
+    void validTokenIsRecordedAsSuccess() {
+        String token = jwtService.generateToken(42);
+
+        assertThat(jwtService.extractUserId(token)).isEqualTo("42");
+        assertThat(count("success")).isEqualTo(1);
+    }
+
+    @Test
+    void expiredTokenIsRecordedAsExpired() {
+        // 同じ鍵で署名した期限切れのトークン
+        String token = JWT.create().withSubject("42").withExpiresAt(Instant.now().minusSeconds(60))
+                .sign(Algorithm.HMAC256("sercret-key"));
+
+        assertThatThrownBy(() -> jwtService.verifyToken(token)).isInstanceOf(TokenExpiredException.class);
+        assertThat(count("expired")).isEqualTo(1);
+        assertThat(count("invalid")).isZero();
+    }
+
+    @Test
+    void tamperedTokenIsRecordedAsInvalid() {
+        String token = JWT.create().withSubject("42").sign(Algorithm.HMAC256("other-key"));
+
+        assertThatThrownBy(() -> jwtService.verifyToken(token)).isInstanceOf(JWTVerificationException.class);
+        assertThatThrownBy(() -> jwtService.verifyToken("not-a-jwt")).isInstanceOf(JWTVerificationException.class);
+        assertThat(count("invalid")).isEqualTo(2);
+        assertThat(count("success")).isZero();
+    }
+
+    private long count(String outcome) {
+        return meterRegistry.get("meetolio.jwt.verify").tag("outcome", outcome).timer().count();
+    }
+}
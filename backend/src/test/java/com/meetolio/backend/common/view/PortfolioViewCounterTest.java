@@ -0,0 +1,133 @@
+package com.meetolio.backend.common.view;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import com.meetolio.backend.repository.PortfolioViewRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/** PortfolioViewCounterの集計・書き込みのテスト（Repositoryはモックで、書き込まれた閲覧数を保持する） */
+class PortfolioViewCounterTest {
+
+    private final PortfolioViewRepository repository = mock(PortfolioViewRepository.class);
+
+    /** 書き込まれた閲覧数（ユーザーIDごと） */
+    private final Map<Integer, Long> written = new ConcurrentHashMap<>();
+
+    /** 失敗させる書き込みの残り回数 */
+    private final AtomicInteger failures = new AtomicInteger();
+
+    private PortfolioViewCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        doAnswer(invocation -> {
+            if (failures.getAndDecrement() > 0) {
+                throw new QueryTimeoutException("timeout");
+            }
+            Integer[] userIds = invocation.getArgument(0);
+            Long[] counts = invocation.getArgument(2);
+            for (int i = 0; i < userIds.length; i++) {
+                written.merge(userIds[i], counts[i], Long::sum);
+            }
+            return null;
+        }).when(repository).addColumns(any(), any(), any());
+        // 定期的な書き込みは行わず、テストから明示的に書き込む
+        counter = new PortfolioViewCounter(repository, Duration.ofHours(1), 1_000_000, Duration.ofMillis(10),
+                new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        counter.destroy();
+    }
+
+    @Test
+    void flushWritesPendingCounts() {
+        counter.record(1);
+        counter.record(1);
+        counter.record(2);
+        assertThat(counter.pendingCount(1, LocalDate.now())).isEqualTo(2);
+
+        counter.flush();
+
+        assertThat(written).containsEntry(1, 2L).containsEntry(2, 1L);
+        assertThat(counter.pendingCount(1, LocalDate.now())).isZero();
+    }
+
+    @Test
+    void concurrentRecordAndFlushLoseNothing() throws InterruptedException {
+        int threads = 4;
+        long deadline = System.nanoTime() + Duration.ofSeconds(1).toNanos();
+        LongAdder recorded = new LongAdder();
+        List<Thread> recorders = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            // 閲覧をまばらにし、前回から閲覧のないキーの削除と加算が重なるようにする
+            recorders.add(Thread.ofPlatform().start(() -> {
+                while (System.nanoTime() < deadline) {
+                    counter.record(ThreadLocalRandom.current().nextInt(1, 256));
+                    recorded.increment();
+                    for (int spin = 0; spin < 200; spin++) {
+                        Thread.onSpinWait();
+                    }
+                }
+            }));
+        }
+        Thread flusher = Thread.ofPlatform().start(() -> {
+            while (System.nanoTime() < deadline) {
+                counter.flush();
+            }
+        });
+        for (Thread recorder : recorders) {
+            recorder.join();
+        }
+        flusher.join();
+        counter.flush();
+
+        assertThat(written.values().stream().mapToLong(Long::longValue).sum()).isEqualTo(recorded.sum());
+    }
+
+    @Test
+    void failedWriteIsRetriedOnNextFlush() {
+        counter.record(1);
+        failures.set(1);
+
+        counter.flush();
+        assertThat(written).isEmpty();
+        assertThat(counter.pendingCount(1, LocalDate.now())).isEqualTo(1);
+
+        counter.flush();
+        assertThat(written).containsEntry(1, 1L);
+    }
+
+    @Test
+    void destroyRetriesFailedWrite() throws InterruptedException {
+        counter.record(1);
+        failures.set(2);
+
+        counter.destroy();
+
+        assertThat(written).containsEntry(1, 1L);
+        verify(repository, times(3)).addColumns(any(), any(), any());
+    }
+}
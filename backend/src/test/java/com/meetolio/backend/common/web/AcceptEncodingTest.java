@@ -0,0 +1,33 @@
+package com.meetolio.backend.common.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/** AcceptEncodingのgzip判定のテスト */
+class AcceptEncodingTest {
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', nullValues = "NULL", value = {
+            "NULL | false",
+            "'' | false",
+            "gzip | true",
+            "GZIP | true",
+            "'gzip, deflate, br' | true",
+            "br;q=1.0, gzip;q=0.8 | true",
+            "x-gzip | true",
+            "identity | false",
+            "gzip;q=0 | false",
+            "gzip; q=0.000 | false",
+            "gzip;q=abc | false",
+            "* | true",
+            "*;q=0 | false",
+            "'gzip;q=0, *' | false",
+            "'*;q=0, gzip' | true",
+            "deflate | false",
+    })
+    void acceptsGzip(String acceptEncoding, boolean expected) {
+        assertThat(AcceptEncoding.acceptsGzip(acceptEncoding)).isEqualTo(expected);
+    }
+}
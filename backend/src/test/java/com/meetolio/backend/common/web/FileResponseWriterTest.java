@@ -0,0 +1,46 @@
+package com.meetolio.backend.common.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/** FileResponseWriterのRangeヘッダー解析のテスト（ファイルは1000バイトとする） */
+class FileResponseWriterTest {
+
+    private static final long LENGTH = 1000;
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "bytes=0-499 | 0 | 500",
+            "bytes=500- | 500 | 1000",
+            "bytes=-200 | 800 | 1000",
+            "bytes=-5000 | 0 | 1000",
+            "bytes=900-5000 | 900 | 1000",
+            "bytes=5-5 | 5 | 6",
+            "bytes=0-9223372036854775807 | 0 | 1000",
+            "bytes= 10 - 19 | 10 | 20",
+    })
+    void satisfiableRange(String range, long start, long end) {
+        assertThat(FileResponseWriter.parseRange(range, LENGTH)).containsExactly(start, end);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "bytes=1000-", "bytes=1000-1999", "bytes=-0" })
+    void unsatisfiableRangeIsNull(String range) {
+        assertThat(FileResponseWriter.parseRange(range, LENGTH)).isNull();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "bytes=5-3", "bytes=abc-", "bytes=--5", "bytes=0-1,5-6", "items=0-1", "bytes=10", "bytes=-" })
+    void invalidOrUnsupportedRangeReturnsWholeFile(String range) {
+        assertThat(FileResponseWriter.parseRange(range, LENGTH)).isEmpty();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "bytes=0-", "bytes=-1" })
+    void anyRangeOfEmptyFileIsUnsatisfiable(String range) {
+        assertThat(FileResponseWriter.parseRange(range, 0)).isNull();
+    }
+}
@@ -0,0 +1,86 @@
+package com.meetolio.backend.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import com.meetolio.backend.common.web.PortfolioETag;
+import com.meetolio.backend.entity.PortfolioSnapshotEntity;
+import com.meetolio.backend.service.PortfolioCardService;
+import com.meetolio.backend.service.PortfolioService;
+import com.meetolio.backend.service.PortfolioViewService;
+
+/** PortfolioControllerのポートフォリオ詳細の条件付きGETのテスト（304ではスナップショットを読まない） */
+class PortfolioControllerTest {
+
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2026, 1, 2, 3, 4, 5, 678_000);
+
+    private final PortfolioService portfolioService = mock(PortfolioService.class);
+
+    private final PortfolioViewService portfolioViewService = mock(PortfolioViewService.class);
+
+    private final PortfolioController controller = new PortfolioController(portfolioService,
+            mock(PortfolioCardService.class), portfolioViewService);
+
+    @Test
+    void notModifiedDoesNotLoadSnapshot() {
+        when(portfolioService.getPortfolioUpdatedAt(1)).thenReturn(UPDATED_AT);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/portfolio/1");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, PortfolioETag.of(1, UPDATED_AT));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThat(controller.getPortfolio(2, 1, null, null, new ServletWebRequest(request, response))).isNull();
+
+        assertThat(response.getStatus()).isEqualTo(304);
+        verify(portfolioService, never()).getPortfolioSnapshot(1);
+        verify(portfolioViewService).recordView(2, 1);
+    }
+
+    @Test
+    void modifiedLoadsSnapshotAfterFreshnessCheck() {
+        when(portfolioService.getPortfolioUpdatedAt(1)).thenReturn(UPDATED_AT);
+        when(portfolioService.getPortfolioSnapshot(1)).thenReturn(snapshot());
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/portfolio/1");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, PortfolioETag.of(1, UPDATED_AT.minusSeconds(1)));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        ResponseEntity<?> entity = controller.getPortfolio(2, 1, null, null, new ServletWebRequest(request, response));
+
+        assertThat(entity.getStatusCode().value()).isEqualTo(200);
+        assertThat(entity.getBody()).isEqualTo("{}".getBytes(StandardCharsets.UTF_8));
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo(PortfolioETag.of(1, UPDATED_AT));
+    }
+
+    @Test
+    void unconditionalRequestSkipsFreshnessCheck() {
+        when(portfolioService.getPortfolioSnapshot(1)).thenReturn(snapshot());
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/portfolio/1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        ResponseEntity<?> entity = controller.getPortfolio(2, 1, null, null, new ServletWebRequest(request, response));
+
+        assertThat(entity.getStatusCode().value()).isEqualTo(200);
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo(PortfolioETag.of(1, UPDATED_AT));
+        verify(portfolioService, never()).getPortfolioUpdatedAt(1);
+    }
+
+    private static PortfolioSnapshotEntity snapshot() {
+        PortfolioSnapshotEntity snapshot = new PortfolioSnapshotEntity();
+        snapshot.setUserId(1);
+        snapshot.setUpdatedAt(UPDATED_AT);
+        snapshot.setJson("{}".getBytes(StandardCharsets.UTF_8));
+        return snapshot;
+    }
+}
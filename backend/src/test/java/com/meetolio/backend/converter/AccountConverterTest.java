@@ -0,0 +1,39 @@
+package com.meetolio.backend.converter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+
+import com.meetolio.backend.dto.AccountResponseDto;
+import com.meetolio.backend.entity.UserEntity;
+
+/** AccountConverterとModelMapperの変換結果の等価性テスト */
+class AccountConverterTest {
+
+    private final ModelMapper modelMapper = new ModelMapper();
+
+    @Test
+    void toResponseDtoMatchesModelMapper() {
+        UserEntity entity = new UserEntity();
+        entity.setId(1);
+        entity.setEmail("taro@example.com");
+        entity.setPasswordHash("$2a$10$abcdefghijklmnopqrstuv");
+        entity.setCreatedAt(LocalDateTime.of(2025, 1, 1, 9, 0));
+        entity.setUpdatedAt(LocalDateTime.of(2025, 1, 2, 9, 0));
+
+        assertThat(AccountConverter.toResponseDto(entity))
+                .isEqualTo(modelMapper.map(entity, AccountResponseDto.class));
+    }
+
+    @Test
+    void toResponseDtoMatchesModelMapperWithNullFields() {
+        UserEntity entity = new UserEntity();
+        entity.setId(2);
+
+        assertThat(AccountConverter.toResponseDto(entity))
+                .isEqualTo(modelMapper.map(entity, AccountResponseDto.class));
+    }
+}
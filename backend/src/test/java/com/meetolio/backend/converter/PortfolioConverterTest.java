@@ -0,0 +1,130 @@
+package com.meetolio.backend.converter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meetolio.backend.common.web.PortfolioFields;
+import com.meetolio.backend.dto.PortfolioCreateRequestDto;
+import com.meetolio.backend.dto.PortfolioResponseDto;
+import com.meetolio.backend.dto.PortfolioUpdateRequestDto;
+import com.meetolio.backend.entity.PortfolioEntity;
+
+/** PortfolioConverterとModelMapperの変換結果の等価性テスト */
+class PortfolioConverterTest {
+
+    private final ModelMapper modelMapper = new ModelMapper();
+
+    @Test
+    void toResponseDtoMatchesModelMapperWithAllFields() {
+        PortfolioEntity entity = fullEntity();
+
+        assertThat(PortfolioConverter.toResponseDto(entity))
+                .isEqualTo(modelMapper.map(entity, PortfolioResponseDto.class));
+    }
+
+    @Test
+    void toResponseDtoMatchesModelMapperWithNullFields() {
+        PortfolioEntity entity = new PortfolioEntity();
+        entity.setUserId(2);
+        entity.setNameKana("ヤマダ");
+
+        assertThat(PortfolioConverter.toResponseDto(entity))
+                .isEqualTo(modelMapper.map(entity, PortfolioResponseDto.class));
+    }
+
+    @Test
+    void toResponseDtoWithoutFieldsMatchesAllFields() {
+        PortfolioEntity entity = fullEntity();
+
+        assertThat(PortfolioConverter.toResponseDto(entity, null)).isEqualTo(PortfolioConverter.toResponseDto(entity));
+    }
+
+    @Test
+    void toResponseDtoWithFieldsOutputsOnlySelectedFields() throws Exception {
+        // 指定できる項目がすべて変換されること（項目の追加時に変換漏れがないこと）
+        ObjectMapper objectMapper = new ObjectMapper();
+        for (String field : PortfolioFields.SELECTABLE) {
+            PortfolioResponseDto dto = PortfolioConverter.toResponseDto(fullEntity(), Set.of(field));
+
+            assertThat(objectMapper.valueToTree(dto).properties())
+                    .extracting(property -> property.getKey())
+                    .containsExactlyInAnyOrderElementsOf(new HashSet<>(List.of("userId", field)));
+        }
+    }
+
+    @Test
+    void toEntityMatchesModelMapper() {
+        PortfolioCreateRequestDto request = new PortfolioCreateRequestDto();
+        request.setUserId(3);
+        request.setName("山田 太郎");
+        request.setNameKana("ヤマダ タロウ");
+        request.setCompany("Meetolio");
+        request.setOccupation("エンジニア");
+        request.setDescription("よろしくお願いします");
+        request.setNameCardImgUrl("/img/card.png");
+        request.setEmail("taro@example.com");
+        request.setTwitter("https://x.com/taro");
+        request.setLinkedin("https://www.linkedin.com/in/taro");
+        request.setGithub("https://github.com/taro");
+        request.setWebsite("https://taro.example.com");
+
+        assertThat(PortfolioConverter.toEntity(request))
+                .isEqualTo(modelMapper.map(request, PortfolioEntity.class));
+    }
+
+    @Test
+    void toEntityMatchesModelMapperWithNullFields() {
+        PortfolioCreateRequestDto request = new PortfolioCreateRequestDto();
+        request.setUserId(4);
+
+        assertThat(PortfolioConverter.toEntity(request))
+                .isEqualTo(modelMapper.map(request, PortfolioEntity.class));
+    }
+
+    @Test
+    void copyToEntityMatchesModelMapper() {
+        PortfolioUpdateRequestDto request = new PortfolioUpdateRequestDto();
+        request.setName("佐藤 花子");
+        request.setCompany("Example Inc.");
+        request.setDescription(null);
+        request.setGithub("https://github.com/hanako");
+
+        PortfolioEntity actual = fullEntity();
+        PortfolioConverter.copyToEntity(request, actual);
+
+        // ModelMapperは既定でnullも上書きするため、同じ結果になること
+        PortfolioEntity expected = fullEntity();
+        modelMapper.map(request, expected);
+
+        assertThat(actual).isEqualTo(expected);
+        assertThat(actual.getUserId()).isEqualTo(1);
+        assertThat(actual.getCreatedAt()).isEqualTo(LocalDateTime.of(2025, 1, 1, 9, 0));
+    }
+
+    private static PortfolioEntity fullEntity() {
+        PortfolioEntity entity = new PortfolioEntity();
+        entity.setUserId(1);
+        entity.setName("山田 太郎");
+        entity.setNameKana("ヤマダ タロウ");
+        entity.setCompany("Meetolio");
+        entity.setOccupation("エンジニア");
+        entity.setDescription("よろしくお願いします");
+        entity.setNameCardImgUrl("/img/card.png");
+        entity.setEmail("taro@example.com");
+        entity.setTwitter("https://x.com/taro");
+        entity.setLinkedin("https://www.linkedin.com/in/taro");
+        entity.setGithub("https://github.com/taro");
+        entity.setWebsite("https://taro.example.com");
+        entity.setCreatedAt(LocalDateTime.of(2025, 1, 1, 9, 0));
+        entity.setUpdatedAt(LocalDateTime.of(2025, 1, 2, 9, 0, 0, 123_456_000));
+        return entity;
+    }
+}
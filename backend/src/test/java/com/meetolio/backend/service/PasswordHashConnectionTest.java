@@ -0,0 +1,224 @@
+package com.meetolio.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.support.JdbcTransactionManager;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.meetolio.backend.entity.UserEntity;
+import com.meetolio.backend.form.EmailUpdateForm;
+import com.meetolio.backend.form.LoginForm;
+import com.meetolio.backend.form.PasswordUpdateForm;
+import com.meetolio.backend.form.SignupForm;
+import com.meetolio.backend.repository.PortfolioRepository;
+import com.meetolio.backend.repository.UserRepository;
+
+/**
+ * パスワードのハッシュ化・照合の間にDB接続を保持しないことのテスト
+ *
+ * トランザクションはSpringのプロキシ・LazyConnectionDataSourceProxyを本番と同じ構成で使い、
+ * Repositoryのモックは MyBatis と同じくDataSourceUtilsで接続を取得してSQLを実行する。
+ */
+@SpringJUnitConfig(PasswordHashConnectionTest.Config.class)
+class PasswordHashConnectionTest {
+
+    private static final AtomicInteger openConnections = new AtomicInteger();
+
+    /** ハッシュ化・照合の開始時に使用中だった接続数 */
+    private static final List<Integer> connectionsWhileHashing = new ArrayList<>();
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        connectionsWhileHashing.clear();
+        when(userRepository.findByEmail("user@example.com")).thenAnswer(invocation -> query(user()));
+        when(userRepository.findById(1)).thenAnswer(invocation -> query(user()));
+        when(userRepository.replacePasswordHash(eq(1), eq("hash:old"), anyString(), any()))
+                .thenAnswer(invocation -> write(1));
+        when(userRepository.updateEmail(eq(1), eq("hash:old"), anyString(), any()))
+                .thenAnswer(invocation -> write(1));
+        doAnswer(invocation -> {
+            write(1);
+            invocation.<UserEntity>getArgument(0).setId(2);
+            return null;
+        }).when(userRepository).save(any());
+    }
+
+    @Test
+    void loginAndRehashDoNotHoldConnection() {
+        LoginForm form = new LoginForm();
+        form.setEmail("user@example.com");
+        form.setPassword("old");
+
+        assertThat(authService.login(form)).isEqualTo(1);
+
+        // 照合と再ハッシュの2回
+        assertThat(connectionsWhileHashing).containsExactly(0, 0);
+        verify(userRepository).replacePasswordHash(eq(1), eq("hash:old"), eq("hash:old"), isNull());
+        assertThat(openConnections).hasValue(0);
+    }
+
+    @Test
+    void registerDoesNotHoldConnection() {
+        SignupForm form = new SignupForm();
+        form.setEmail("new@example.com");
+        form.setPassword("new");
+
+        assertThat(authService.register(form)).isEqualTo(2);
+
+        assertThat(connectionsWhileHashing).containsExactly(0);
+        assertThat(openConnections).hasValue(0);
+    }
+
+    @Test
+    void accountChangesDoNotHoldConnection() {
+        EmailUpdateForm emailForm = new EmailUpdateForm();
+        emailForm.setEmail("changed@example.com");
+        emailForm.setPassword("old");
+        PasswordUpdateForm passwordForm = new PasswordUpdateForm();
+        passwordForm.setCurrentPassword("old");
+        passwordForm.setNewPassword("new");
+
+        accountService.updateEmail(1, emailForm);
+        accountService.updatePassword(1, passwordForm);
+
+        assertThat(connectionsWhileHashing).containsExactly(0, 0, 0);
+        assertThat(openConnections).hasValue(0);
+    }
+
+    private static UserEntity user() {
+        UserEntity userEntity = new UserEntity();
+        userEntity.setId(1);
+        userEntity.setEmail("user@example.com");
+        userEntity.setPasswordHash("hash:old");
+        return userEntity;
+    }
+
+    /** MyBatisと同様に接続を取得してSQLを実行し、解放する（トランザクション中はコミットまで保持される） */
+    private <T> T query(T result) throws SQLException {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            connection.prepareStatement("SELECT 1");
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+        return result;
+    }
+
+    /** 書き込みは短いトランザクション内で行われること */
+    private int write(int rows) throws SQLException {
+        assertThat(TransactionSynchronizationManager.isActualTransactionActive()).isTrue();
+        return query(rows);
+    }
+
+    @Configuration
+    @EnableTransactionManagement
+    static class Config {
+
+        @Bean
+        DataSource dataSource() throws SQLException {
+            // 取得中の接続数を数える接続プール
+            DataSource pool = mock(DataSource.class);
+            when(pool.getConnection()).thenAnswer(invocation -> {
+                openConnections.incrementAndGet();
+                Connection connection = mock(Connection.class);
+                when(connection.getAutoCommit()).thenReturn(true);
+                doAnswer(close -> openConnections.decrementAndGet()).when(connection).close();
+                return connection;
+            });
+            LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(pool);
+            dataSource.setDefaultAutoCommit(true);
+            dataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+            return dataSource;
+        }
+
+        @Bean
+        PlatformTransactionManager transactionManager(DataSource dataSource) {
+            return new JdbcTransactionManager(dataSource);
+        }
+
+        @Bean
+        UserRepository userRepository() {
+            return mock(UserRepository.class);
+        }
+
+        @Bean
+        PasswordEncoder passwordEncoder() {
+            return new RecordingPasswordEncoder();
+        }
+
+        @Bean
+        AuthService authService(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                PlatformTransactionManager transactionManager) {
+            return new AuthService(userRepository, passwordEncoder, transactionManager);
+        }
+
+        @Bean
+        AccountService accountService(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                ApplicationEventPublisher eventPublisher,
+                PlatformTransactionManager transactionManager) {
+            return new AccountService(userRepository, mock(PortfolioRepository.class), passwordEncoder,
+                    eventPublisher, transactionManager);
+        }
+    }
+
+    /** 処理開始時の使用中の接続数を記録するPasswordEncoder（ハッシュは "hash:" + 平文、常に再ハッシュ対象） */
+    private static final class RecordingPasswordEncoder implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            connectionsWhileHashing.add(openConnections.get());
+            return "hash:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            connectionsWhileHashing.add(openConnections.get());
+            return ("hash:" + rawPassword).equals(encodedPassword);
+        }
+
+        @Override
+        public boolean upgradeEncoding(String encodedPassword) {
+            return true;
+        }
+    }
+}
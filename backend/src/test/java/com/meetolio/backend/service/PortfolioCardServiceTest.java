@@ -0,0 +1,77 @@
+package com.meetolio.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import com.meetolio.backend.common.cache.PortfolioCache;
+import com.meetolio.backend.common.cache.PortfolioCardCache;
+import com.meetolio.backend.common.card.PortfolioVCardRenderer;
+import com.meetolio.backend.common.datasource.ReadYourWrites;
+import com.meetolio.backend.common.error.BadRequestException;
+import com.meetolio.backend.common.qr.QrCodeFormat;
+import com.meetolio.backend.entity.PortfolioEntity;
+import com.meetolio.backend.repository.PortfolioRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/** PortfolioCardServiceのQRコード生成のテスト（キャッシュは実物を使う） */
+class PortfolioCardServiceTest {
+
+    private final PortfolioCache portfolioCache = mock(PortfolioCache.class);
+
+    private PortfolioCardService service;
+
+    @BeforeEach
+    void setUp() {
+        PortfolioCardCache portfolioCardCache = new PortfolioCardCache(DataSize.ofMegabytes(1), Duration.ofMinutes(1),
+                new SimpleMeterRegistry());
+        service = new PortfolioCardService(mock(PortfolioRepository.class), portfolioCache,
+                new ReadYourWrites(Duration.ofSeconds(5)), portfolioCardCache,
+                new PortfolioVCardRenderer("https://meetolio.example.com/portfolio/{userId}"), 256, 64, 1024);
+    }
+
+    @Test
+    void vCardQrCodeOmitsLongDescription() {
+        PortfolioEntity entity = entity(1);
+        entity.setDescription("自己紹介".repeat(5000));
+        when(portfolioCache.get(eq(1), any())).thenReturn(entity);
+
+        // 自己紹介はvCardには含めるが、QRコードには含めないため生成できる
+        assertThat(new String(service.getVCard(1).body(), StandardCharsets.UTF_8)).contains("NOTE:");
+        assertThat(service.getQrCode(1, QrCodeFormat.PNG, "vcard", null).body()).isNotEmpty();
+        // 同じキャッシュのvCard・QRコードを続けて取得してもよい
+        assertThat(service.getQrCode(1, QrCodeFormat.SVG, "vcard", 128).body()).isNotEmpty();
+    }
+
+    @Test
+    void vCardQrCodeTooLongIsBadRequest() {
+        PortfolioEntity entity = entity(2);
+        entity.setCompany("株式会社".repeat(1000));
+        when(portfolioCache.get(eq(2), any())).thenReturn(entity);
+
+        assertThatThrownBy(() -> service.getQrCode(2, QrCodeFormat.PNG, "vcard", null))
+                .isInstanceOf(BadRequestException.class);
+        // URLのQRコードは内容の長さによらず生成できる
+        assertThat(service.getQrCode(2, QrCodeFormat.PNG, "url", null).body()).isNotEmpty();
+    }
+
+    private static PortfolioEntity entity(int userId) {
+        PortfolioEntity entity = new PortfolioEntity();
+        entity.setUserId(userId);
+        entity.setName("山田 太郎");
+        entity.setUpdatedAt(LocalDateTime.of(2025, 1, 2, 9, 0));
+        return entity;
+    }
+}